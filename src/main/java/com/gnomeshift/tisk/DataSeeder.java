@@ -1,5 +1,6 @@
 package com.gnomeshift.tisk;
 
+import com.gnomeshift.tisk.etag.ChangeCounters;
 import com.gnomeshift.tisk.ticket.*;
 import com.gnomeshift.tisk.user.*;
 import jakarta.persistence.EntityManager;
@@ -23,6 +24,8 @@ public class DataSeeder implements CommandLineRunner {
     private final TicketRepository ticketRepository;
     private final PasswordEncoder passwordEncoder;
     private final EntityManager entityManager;
+    private final ChangeCounters changeCounters;
+    private final TicketChangeLog ticketChangeLog;
 
     @Value("${app.seed-demo-data.force:false}")
     private boolean forceSeed;
@@ -43,6 +46,8 @@ public class DataSeeder implements CommandLineRunner {
 
         List<User> users = createUsers();
         List<Ticket> tickets = createTickets(users);
+        ticketChangeLog.recordChanged(tickets.stream().map(Ticket::getId).toList());
+        changeCounters.touch(ChangeCounters.USERS);
 
         log.info("Data seeding completed! Created {} users and {} tickets", users.size(), tickets.size());
     }
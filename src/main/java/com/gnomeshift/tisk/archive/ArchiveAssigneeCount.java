@@ -0,0 +1,9 @@
+package com.gnomeshift.tisk.archive;
+
+import java.util.UUID;
+
+public interface ArchiveAssigneeCount {
+    UUID getAssigneeId();
+    Long getTicketCount();
+    Double getResolutionSeconds();
+}
@@ -0,0 +1,66 @@
+package com.gnomeshift.tisk.archive;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Closed ticket moved out of {@code tickets} by {@link TicketArchiver}. Read-only, keeps the id and version it had.
+ */
+@Entity
+@NamedEntityGraph(name = ArchivedTicket.WITH_USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("reporter"),
+        @NamedAttributeNode("assignee")
+})
+@Table(name = "ticket_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"reporter", "assignee"})
+public class ArchivedTicket {
+    public static final String WITH_USERS_GRAPH = "ArchivedTicket.withUsers";
+
+    @Id
+    private UUID id;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private TicketPriority priority;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reporter_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private User reporter;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private User assignee;
+
+    private UUID duplicateOf;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private LocalDateTime archivedAt;
+}
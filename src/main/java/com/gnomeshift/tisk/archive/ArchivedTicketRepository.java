@@ -0,0 +1,13 @@
+package com.gnomeshift.tisk.archive;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, UUID> {
+    @Override
+    @EntityGraph(ArchivedTicket.WITH_USERS_GRAPH)
+    Optional<ArchivedTicket> findById(UUID id);
+}
@@ -0,0 +1,21 @@
+package com.gnomeshift.tisk.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketArchiveProperties {
+    // Closed tickets untouched for this long are moved to the archive
+    @Value("${app.tickets.archive.after-days:365}")
+    private int afterDays;
+
+    // Tickets moved per transaction
+    @Value("${app.tickets.archive.chunk-size:500}")
+    private int chunkSize;
+}
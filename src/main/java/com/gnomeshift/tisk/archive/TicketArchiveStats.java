@@ -0,0 +1,45 @@
+package com.gnomeshift.tisk.archive;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Partial aggregate of archived tickets sharing the same dimensions. Each archived chunk appends its own rows,
+ * so readers always sum them up. The department is the reporter's at the time of archiving.
+ */
+@Entity
+@Table(name = "ticket_archive_stats", indexes = {
+        @Index(name = "idx_ticket_archive_stats_created_date", columnList = "created_date"),
+        @Index(name = "idx_ticket_archive_stats_closed_date", columnList = "closed_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketArchiveStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private LocalDate createdDate;
+    private LocalDate closedDate;
+
+    @Enumerated(EnumType.STRING)
+    private TicketPriority priority;
+
+    private UUID assigneeId;
+    private String department;
+    private long ticketCount;
+
+    // Sum over the tickets, divided by ticketCount for the average
+    private double resolutionSeconds;
+}
@@ -0,0 +1,70 @@
+package com.gnomeshift.tisk.archive;
+
+import com.gnomeshift.tisk.stats.DailyCount;
+import com.gnomeshift.tisk.stats.PriorityCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketArchiveStatsRepository extends JpaRepository<TicketArchiveStats, UUID> {
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s")
+    long sumTickets();
+
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s WHERE s.assigneeId IS NULL")
+    long sumUnassigned();
+
+    @Query("SELECT COALESCE(SUM(s.resolutionSeconds), 0) FROM TicketArchiveStats s")
+    double sumResolutionSeconds();
+
+    @Query("SELECT s.priority as priority, SUM(s.ticketCount) as count FROM TicketArchiveStats s GROUP BY s.priority")
+    List<PriorityCount> countByPriority();
+
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s WHERE s.createdDate >= :date")
+    long sumCreatedSince(LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s WHERE s.closedDate >= :date")
+    long sumClosedSince(LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s WHERE s.createdDate BETWEEN :startDate AND :endDate")
+    long sumCreatedBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(s.ticketCount), 0) FROM TicketArchiveStats s WHERE s.closedDate BETWEEN :startDate AND :endDate")
+    long sumClosedBetween(LocalDate startDate, LocalDate endDate);
+
+    // Every archived ticket is closed, so both counts are the same
+    @Query("""
+        SELECT s.createdDate AS date, SUM(s.ticketCount) AS created, SUM(s.ticketCount) AS closed
+        FROM TicketArchiveStats s
+        WHERE s.createdDate BETWEEN :startDate AND :endDate
+        GROUP BY s.createdDate
+        """)
+    List<DailyCount> getDailyStatistics(LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+        SELECT s.assigneeId AS assigneeId, SUM(s.ticketCount) AS ticketCount, SUM(s.resolutionSeconds) AS resolutionSeconds
+        FROM TicketArchiveStats s
+        WHERE s.assigneeId IS NOT NULL
+        GROUP BY s.assigneeId
+        """)
+    List<ArchiveAssigneeCount> countAllAssignees();
+
+    @Query("""
+        SELECT s.assigneeId AS assigneeId, SUM(s.ticketCount) AS ticketCount, SUM(s.resolutionSeconds) AS resolutionSeconds
+        FROM TicketArchiveStats s
+        WHERE s.assigneeId = :assigneeId
+        GROUP BY s.assigneeId
+        """)
+    Optional<ArchiveAssigneeCount> countByAssigneeId(UUID assigneeId);
+
+    @Query("""
+        SELECT s.department, SUM(s.ticketCount)
+        FROM TicketArchiveStats s
+        WHERE s.department IS NOT NULL
+        GROUP BY s.department
+        """)
+    List<Object[]> countByDepartment();
+}
@@ -0,0 +1,129 @@
+package com.gnomeshift.tisk.archive;
+
+import com.gnomeshift.tisk.search.TicketSearchEngine;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketChangeLog;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves closed tickets that haven't changed for {@code app.tickets.archive.after-days} out of the hot table.
+ * Each chunk is archived in its own short transaction: the rows are copied to {@code ticket_archive},
+ * folded into {@code ticket_archive_stats} and deleted from {@code tickets}. Once a chunk committed,
+ * its tickets are removed from the search index, since the bulk delete publishes no ticket events.
+ * For the same reason the chunk records its tickets as deleted in the {@link TicketChangeLog} itself,
+ * which also bumps the tickets change counter.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tickets.archive.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TicketArchiver {
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TicketArchiveStatsRepository ticketArchiveStatsRepository;
+    private final TicketArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketSearchEngine searchEngine;
+    private final TicketChangeLog ticketChangeLog;
+
+    @Scheduled(cron = "${app.tickets.archive.cron:0 30 3 * * *}")
+    public long archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getAfterDays());
+        log.info("Archiving tickets closed before {}", cutoff);
+
+        long total = 0;
+        List<UUID> archived;
+
+        // A short chunk means rows are locked elsewhere or nothing is left
+        do {
+            archived = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived.forEach(searchEngine::remove);
+            total += archived.size();
+        } while (archived.size() == properties.getChunkSize());
+
+        log.info("Archived {} tickets", total);
+        return total;
+    }
+
+    private List<UUID> archiveChunk(LocalDateTime cutoff) {
+        List<Ticket> tickets = ticketRepository.findArchivable(cutoff, Limit.of(properties.getChunkSize()));
+
+        if (tickets.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedTicketRepository.saveAll(tickets.stream().map(ticket -> toArchived(ticket, archivedAt)).toList());
+        ticketArchiveStatsRepository.saveAll(aggregate(tickets));
+        ticketRepository.deleteAllInBatch(tickets);
+
+        List<UUID> ids = tickets.stream().map(Ticket::getId).toList();
+        ticketChangeLog.recordDeleted(ids);
+        return ids;
+    }
+
+    private ArchivedTicket toArchived(Ticket ticket, LocalDateTime archivedAt) {
+        return ArchivedTicket.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .reporter(ticket.getReporter())
+                .assignee(ticket.getAssignee())
+                .duplicateOf(ticket.getDuplicateOf())
+                .createdAt(ticket.getCreatedAt())
+                .updatedAt(ticket.getUpdatedAt())
+                .version(ticket.getVersion())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    private List<TicketArchiveStats> aggregate(List<Ticket> tickets) {
+        Map<StatsKey, TicketArchiveStats> stats = new LinkedHashMap<>();
+
+        for (Ticket ticket : tickets) {
+            // Closing is the last change of an archived ticket
+            StatsKey key = new StatsKey(ticket.getCreatedAt().toLocalDate(), ticket.getUpdatedAt().toLocalDate(),
+                    ticket.getPriority(), idOf(ticket.getAssignee()),
+                    ticket.getReporter() != null ? ticket.getReporter().getDepartment() : null);
+            TicketArchiveStats row = stats.computeIfAbsent(key, k -> TicketArchiveStats.builder()
+                    .createdDate(k.createdDate())
+                    .closedDate(k.closedDate())
+                    .priority(k.priority())
+                    .assigneeId(k.assigneeId())
+                    .department(k.department())
+                    .build());
+
+            row.setTicketCount(row.getTicketCount() + 1);
+            row.setResolutionSeconds(row.getResolutionSeconds()
+                    + Duration.between(ticket.getCreatedAt(), ticket.getUpdatedAt()).toMillis() / 1000.0);
+        }
+        return List.copyOf(stats.values());
+    }
+
+    private UUID idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private record StatsKey(LocalDate createdDate, LocalDate closedDate, TicketPriority priority, UUID assigneeId,
+                            String department) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.gnomeshift.tisk.assignment;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentProperties {
+    // Assign new tickets to a support user on creation
+    @Value("${app.tickets.assignment.enabled:false}")
+    private boolean enabled;
+
+    // Workload each open ticket adds to its assignee, by priority
+    @Value("${app.tickets.assignment.weights.low:1}")
+    private int lowWeight;
+
+    @Value("${app.tickets.assignment.weights.medium:2}")
+    private int mediumWeight;
+
+    @Value("${app.tickets.assignment.weights.high:3}")
+    private int highWeight;
+
+    @Value("${app.tickets.assignment.weights.very-high:5}")
+    private int veryHighWeight;
+
+    public int weight(TicketPriority priority) {
+        return switch (priority) {
+            case LOW -> lowWeight;
+            case MEDIUM -> mediumWeight;
+            case HIGH -> highWeight;
+            case VERY_HIGH -> veryHighWeight;
+        };
+    }
+}
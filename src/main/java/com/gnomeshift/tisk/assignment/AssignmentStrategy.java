@@ -0,0 +1,15 @@
+package com.gnomeshift.tisk.assignment;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Chooses the support user a new ticket goes to. Exactly one implementation is active,
+ * selected by {@code app.tickets.assignment.strategy}.
+ */
+public interface AssignmentStrategy {
+    /**
+     * @param department department of the ticket's reporter, may be null
+     */
+    Optional<UUID> pick(WorkloadIndex index, String department);
+}
@@ -0,0 +1,193 @@
+package com.gnomeshift.tisk.assignment;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Picks an assignee for new tickets from an in-memory {@link WorkloadIndex} of active support users.
+ * The index is built from the database on startup and periodically, and kept current in between by
+ * committed ticket events. The periodic rebuild picks up user changes, which publish no events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AutoAssigner {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AssignmentProperties properties;
+    private final AssignmentStrategy strategy;
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by this, as is the journal of changes made while a rebuild is running
+    private WorkloadIndex index = new WorkloadIndex();
+    private List<Consumer<WorkloadIndex>> journal;
+
+    /**
+     * Chooses an assignee and counts the ticket against them right away, so concurrent creations spread out.
+     * The reservation is moved to the ticket with {@link #bind} once it has an id.
+     */
+    public Optional<Pick> pick(TicketPriority priority, String department) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            UUID reservation = UUID.randomUUID();
+            int weight = properties.weight(priority);
+            Optional<UUID> agentId;
+
+            synchronized (this) {
+                agentId = strategy.pick(index, department);
+                agentId.ifPresent(id -> apply(index -> {
+                    index.markPicked(id);
+                    index.track(reservation, id, weight);
+                }));
+            }
+
+            if (agentId.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // Served from the entity cache; catches role and status changes made since the last rebuild
+            Optional<User> agent = userRepository.findById(agentId.get()).filter(AutoAssigner::isAgent);
+
+            if (agent.isPresent()) {
+                return Optional.of(new Pick(reservation, agent.get(), weight));
+            }
+
+            log.info("User {} is no longer an active support agent, removing from workload index", agentId.get());
+            apply(index -> {
+                index.untrack(reservation);
+                index.removeAgent(agentId.get());
+            });
+        }
+        return Optional.empty();
+    }
+
+    public void bind(Pick pick, UUID ticketId) {
+        apply(index -> {
+            index.untrack(pick.reservation());
+            index.track(ticketId, pick.assignee().getId(), pick.weight());
+        });
+    }
+
+    /**
+     * Drops a reservation whose ticket was never saved.
+     */
+    public void release(Pick pick) {
+        apply(index -> index.untrack(pick.reservation()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        TicketDTO ticket = event.getTicket();
+
+        if (event.getType() == TicketEventType.DELETED || ticket.getStatus() == TicketStatus.CLOSED) {
+            apply(index -> index.untrack(event.getTicketId()));
+            return;
+        }
+
+        UUID assigneeId = ticket.getAssignee() != null ? ticket.getAssignee().getId() : null;
+        int weight = properties.weight(ticket.getPriority());
+        apply(index -> index.track(ticket.getId(), assigneeId, weight));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onTicketRollback(TicketEvent event) {
+        if (properties.isEnabled() && event.getType() == TicketEventType.CREATED) {
+            apply(index -> index.untrack(event.getTicketId()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tickets.assignment.refresh-interval-ms:300000}",
+            initialDelayString = "${app.tickets.assignment.refresh-interval-ms:300000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+
+        WorkloadIndex rebuilt = new WorkloadIndex();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.findByRoleAndStatus(UserRole.SUPPORT, UserStatus.ACTIVE)
+                        .forEach(user -> rebuilt.addAgent(user.getId(), user.getDepartment()));
+
+                try (Stream<OpenAssignment> assignments = ticketRepository.streamOpenAssignments()) {
+                    assignments.forEach(assignment -> rebuilt.track(assignment.getTicketId(),
+                            assignment.getAssigneeId(), properties.weight(assignment.getPriority())));
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            synchronized (this) {
+                journal = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            journal.forEach(change -> change.accept(rebuilt));
+            journal = null;
+            index = rebuilt;
+        }
+        log.info("Workload index rebuilt with {} support agents", rebuilt.agentCount());
+    }
+
+    public synchronized long loadOf(UUID userId) {
+        return index.loadOf(userId);
+    }
+
+    private synchronized void apply(Consumer<WorkloadIndex> change) {
+        change.accept(index);
+
+        if (journal != null) {
+            journal.add(change);
+        }
+    }
+
+    private static boolean isAgent(User user) {
+        return user.getRole() == UserRole.SUPPORT && user.getStatus() == UserStatus.ACTIVE;
+    }
+
+    /**
+     * @param reservation key the ticket counts under until {@link #bind} moves it to the ticket id
+     */
+    public record Pick(UUID reservation, User assignee, int weight) {
+    }
+}
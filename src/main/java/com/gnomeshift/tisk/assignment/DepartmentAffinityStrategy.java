@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.assignment;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Least loaded agent of the reporter's department, or of everyone if the department has no agents.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tickets.assignment.strategy", havingValue = "department")
+public class DepartmentAffinityStrategy implements AssignmentStrategy {
+    @Override
+    public Optional<UUID> pick(WorkloadIndex index, String department) {
+        return index.leastLoaded(department).or(index::leastLoaded);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.assignment;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Agent with the smallest weighted open workload, ties go to whoever was picked longest ago.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tickets.assignment.strategy", havingValue = "least-loaded", matchIfMissing = true)
+public class LeastLoadedStrategy implements AssignmentStrategy {
+    @Override
+    public Optional<UUID> pick(WorkloadIndex index, String department) {
+        return index.leastLoaded();
+    }
+}
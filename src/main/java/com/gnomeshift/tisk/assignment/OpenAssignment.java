@@ -0,0 +1,17 @@
+package com.gnomeshift.tisk.assignment;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenAssignment {
+    private UUID ticketId;
+    private UUID assigneeId;
+    private TicketPriority priority;
+}
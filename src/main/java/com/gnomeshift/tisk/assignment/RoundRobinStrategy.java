@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.assignment;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Agents take turns regardless of workload.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tickets.assignment.strategy", havingValue = "round-robin")
+public class RoundRobinStrategy implements AssignmentStrategy {
+    @Override
+    public Optional<UUID> pick(WorkloadIndex index, String department) {
+        return index.leastRecentlyPicked();
+    }
+}
@@ -0,0 +1,160 @@
+package com.gnomeshift.tisk.assignment;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Weighted open workload per support user, kept in ordered sets so every pick and update is O(log n).
+ * Tracks which agent each open ticket counts against, so events can be applied without knowing
+ * what the ticket looked like before. Not thread-safe,
+ * {@link AutoAssigner} serializes access and strategies only read it.
+ */
+public class WorkloadIndex {
+    private static final Comparator<Agent> BY_LOAD = Comparator.<Agent>comparingLong(agent -> agent.load)
+            .thenComparingLong(agent -> agent.lastPicked)
+            .thenComparing(agent -> agent.id);
+    private static final Comparator<Agent> BY_LAST_PICKED = Comparator.<Agent>comparingLong(agent -> agent.lastPicked)
+            .thenComparing(agent -> agent.id);
+
+    private final Map<UUID, Agent> agents = new HashMap<>();
+    private final Map<UUID, Load> tickets = new HashMap<>();
+    private final NavigableSet<Agent> byLoad = new TreeSet<>(BY_LOAD);
+    private final NavigableSet<Agent> byLastPicked = new TreeSet<>(BY_LAST_PICKED);
+    private final Map<String, NavigableSet<Agent>> byDepartment = new HashMap<>();
+    private long picks;
+
+    void addAgent(UUID id, String department) {
+        if (agents.containsKey(id)) {
+            return;
+        }
+
+        Agent agent = new Agent(id, department);
+
+        // Open tickets already tracked for this user start counting now
+        tickets.values().stream()
+                .filter(load -> id.equals(load.assigneeId()))
+                .forEach(load -> agent.load += load.weight());
+
+        agents.put(id, agent);
+        link(agent);
+    }
+
+    void removeAgent(UUID id) {
+        Agent agent = agents.remove(id);
+
+        if (agent != null) {
+            unlink(agent);
+        }
+    }
+
+    /**
+     * Records that an open ticket counts against the assignee with the given weight,
+     * replacing whatever it counted against before. A null assignee stops counting it.
+     */
+    void track(UUID ticketId, UUID assigneeId, int weight) {
+        untrack(ticketId);
+
+        if (assigneeId != null) {
+            tickets.put(ticketId, new Load(assigneeId, weight));
+            adjust(assigneeId, weight);
+        }
+    }
+
+    void untrack(UUID ticketId) {
+        Load previous = tickets.remove(ticketId);
+
+        if (previous != null) {
+            adjust(previous.assigneeId(), -previous.weight());
+        }
+    }
+
+    public Optional<UUID> leastLoaded() {
+        return byLoad.isEmpty() ? Optional.empty() : Optional.of(byLoad.first().id);
+    }
+
+    public Optional<UUID> leastLoaded(String department) {
+        NavigableSet<Agent> members = department == null ? null : byDepartment.get(department);
+        return members == null ? Optional.empty() : Optional.of(members.first().id);
+    }
+
+    public Optional<UUID> leastRecentlyPicked() {
+        return byLastPicked.isEmpty() ? Optional.empty() : Optional.of(byLastPicked.first().id);
+    }
+
+    /**
+     * Moves the agent behind everyone else in round-robin order and among equally loaded agents.
+     */
+    void markPicked(UUID id) {
+        Agent agent = agents.get(id);
+
+        if (agent != null) {
+            unlink(agent);
+            agent.lastPicked = ++picks;
+            link(agent);
+        }
+    }
+
+    public long loadOf(UUID id) {
+        Agent agent = agents.get(id);
+        return agent == null ? 0 : agent.load;
+    }
+
+    int agentCount() {
+        return agents.size();
+    }
+
+    private void adjust(UUID assigneeId, int delta) {
+        Agent agent = agents.get(assigneeId);
+
+        // Tickets of users that aren't active support agents are tracked, but weigh on nobody
+        if (agent != null) {
+            unlink(agent);
+            agent.load += delta;
+            link(agent);
+        }
+    }
+
+    private void link(Agent agent) {
+        byLoad.add(agent);
+        byLastPicked.add(agent);
+
+        if (agent.department != null) {
+            byDepartment.computeIfAbsent(agent.department, key -> new TreeSet<>(BY_LOAD)).add(agent);
+        }
+    }
+
+    private void unlink(Agent agent) {
+        byLoad.remove(agent);
+        byLastPicked.remove(agent);
+
+        if (agent.department != null) {
+            NavigableSet<Agent> members = byDepartment.get(agent.department);
+            members.remove(agent);
+
+            if (members.isEmpty()) {
+                byDepartment.remove(agent.department);
+            }
+        }
+    }
+
+    // Sort keys change only while unlinked from the sets
+    private static class Agent {
+        private final UUID id;
+        private final String department;
+        private long load;
+        private long lastPicked;
+
+        private Agent(UUID id, String department) {
+            this.id = id;
+            this.department = department;
+        }
+    }
+
+    private record Load(UUID assigneeId, int weight) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.gnomeshift.tisk.attachment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * File attached to a ticket. The content lives in {@link AttachmentStorage} under its SHA-256,
+ * so identical files uploaded to several tickets are stored once.
+ */
+@Entity
+@Table(name = "ticket_attachments", indexes = {
+        @Index(name = "idx_ticket_attachments_ticket_id", columnList = "ticket_id"),
+        @Index(name = "idx_ticket_attachments_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class Attachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // No association, tickets is partitioned and archived tickets keep their attachments
+    @Column(nullable = false)
+    private UUID ticketId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    private UUID uploadedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Removes attachments of deleted tickets. Archiving doesn't publish events, archived tickets keep theirs.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentCleanupListener {
+    private final AttachmentService attachmentService;
+
+    // Suspends the committed transaction, otherwise the deletes would join it and never be committed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onTicketEvent(TicketEvent event) {
+        if (event.getType() == TicketEventType.DELETED) {
+            attachmentService.deleteAttachments(event.getTicketId());
+        }
+    }
+}
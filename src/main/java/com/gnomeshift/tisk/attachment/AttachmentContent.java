@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.attachment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lock row of a file in {@link AttachmentStorage}. Uploads and deletes of the same content lock it,
+ * so a file is never removed while an upload that needs it is about to commit.
+ */
+@Entity
+@Table(name = "attachment_contents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentContent {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+}
@@ -0,0 +1,12 @@
+package com.gnomeshift.tisk.attachment;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Optional;
+
+public interface AttachmentContentRepository extends JpaRepository<AttachmentContent, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AttachmentContent> findLockedBySha256(String sha256);
+}
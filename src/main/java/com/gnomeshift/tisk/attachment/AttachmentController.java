@@ -0,0 +1,67 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.user.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tickets/{ticketId}/attachments")
+@RequiredArgsConstructor
+public class AttachmentController {
+    private final AttachmentService attachmentService;
+
+    @GetMapping
+    public ResponseEntity<List<AttachmentDTO>> getAttachments(@PathVariable UUID ticketId) {
+        return ResponseEntity.ok(attachmentService.getAttachments(ticketId));
+    }
+
+    @GetMapping("/{id}")
+    public void downloadAttachment(@PathVariable UUID ticketId, @PathVariable UUID id,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentDTO attachment = attachmentService.getAttachment(ticketId, id);
+        AttachmentResponses.send(attachment, attachmentService.getContent(attachment), request, response);
+    }
+
+    /**
+     * The file is the raw request body, multipart would be spooled to disk once more before it could be hashed.
+     */
+    @PostMapping(consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<AttachmentDTO> uploadAttachment(@PathVariable UUID ticketId,
+                                                          @RequestParam String filename,
+                                                          @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                          @AuthenticationPrincipal User user,
+                                                          HttpServletRequest request) throws IOException {
+        if (contentType != null && (contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE))) {
+            throw new ValidationException("Send the file as the raw request body");
+        }
+
+        AttachmentDTO attachment = attachmentService.upload(ticketId, filename, contentType,
+                request.getContentLengthLong(), request.getInputStream(), user.getId());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .location(URI.create("/api/tickets/" + ticketId + "/attachments/" + attachment.getId()))
+                .body(attachment);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable UUID ticketId, @PathVariable UUID id) {
+        attachmentService.deleteAttachment(ticketId, id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.gnomeshift.tisk.attachment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentDTO {
+    private UUID id;
+    private UUID ticketId;
+    private String filename;
+    private String contentType;
+    private long size;
+    private String sha256;
+    private UUID uploadedBy;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package com.gnomeshift.tisk.attachment;
+
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AttachmentMapper {
+    AttachmentDTO toDto(Attachment attachment);
+    List<AttachmentDTO> toDtoList(List<Attachment> attachments);
+}
@@ -0,0 +1,25 @@
+package com.gnomeshift.tisk.attachment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentProperties {
+    // Directory holding attachment content, created on startup
+    @Value("${app.attachments.path:attachments}")
+    private String path;
+
+    // Largest single file, in bytes
+    @Value("${app.attachments.max-file-size:104857600}")
+    private long maxFileSize;
+
+    // Total size of all attachments of one ticket, in bytes
+    @Value("${app.attachments.ticket-quota:524288000}")
+    private long ticketQuota;
+}
@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.attachment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, UUID> {
+    List<Attachment> findByTicketIdOrderByCreatedAtAscIdAsc(UUID ticketId);
+
+    Optional<Attachment> findByIdAndTicketId(UUID id, UUID ticketId);
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT COALESCE(SUM(a.size), 0) FROM Attachment a WHERE a.ticketId = :ticketId")
+    long sumSizeByTicketId(UUID ticketId);
+}
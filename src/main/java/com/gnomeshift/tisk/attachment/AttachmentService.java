@@ -0,0 +1,246 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.archive.ArchivedTicketRepository;
+import com.gnomeshift.tisk.exception.PayloadTooLargeException;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentService {
+    private static final int MAX_FILENAME_LENGTH = 255;
+
+    // Requests that create the lock row of the same content at once collide on its key, the losers run again
+    private static final int CONTENT_LOCK_ATTEMPTS = 3;
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentContentRepository attachmentContentRepository;
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentMapper attachmentMapper;
+    private final AttachmentProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional(readOnly = true)
+    public List<AttachmentDTO> getAttachments(UUID ticketId) {
+        requireTicket(ticketId);
+        return attachmentMapper.toDtoList(attachmentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticketId));
+    }
+
+    @Transactional(readOnly = true)
+    public AttachmentDTO getAttachment(UUID ticketId, UUID id) {
+        return attachmentRepository.findByIdAndTicketId(id, ticketId)
+                .map(attachmentMapper::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment not found with id: " + id));
+    }
+
+    public Path getContent(AttachmentDTO attachment) {
+        if (!attachmentStorage.exists(attachment.getSha256())) {
+            log.error("Content of attachment {} is missing: {}", attachment.getId(), attachment.getSha256());
+            throw new EntityNotFoundException("Attachment content not found");
+        }
+        return attachmentStorage.path(attachment.getSha256());
+    }
+
+    /**
+     * Streams the body to disk outside of any transaction, so a slow upload doesn't hold a connection.
+     *
+     * @param contentLength declared body length, -1 if unknown
+     */
+    public AttachmentDTO upload(UUID ticketId, String filename, String contentType, long contentLength,
+                                InputStream body, UUID uploadedBy) throws IOException {
+        log.info("Uploading attachment {} to ticket {}", filename, ticketId);
+
+        String name = sanitizeFilename(filename);
+        String type = normalizeContentType(contentType);
+
+        // Archived tickets are read-only
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found with id: " + ticketId);
+        }
+
+        long remaining = properties.getTicketQuota() - attachmentRepository.sumSizeByTicketId(ticketId);
+        long limit = Math.min(properties.getMaxFileSize(), remaining);
+
+        // Fail before reading anything when the client announced the size
+        if (contentLength > limit) {
+            throw tooLarge(limit, remaining);
+        }
+
+        AttachmentStorage.StoredContent content;
+
+        try {
+            content = attachmentStorage.store(body, limit);
+        }
+        catch (PayloadTooLargeException e) {
+            throw tooLarge(limit, remaining);
+        }
+
+        if (content.size() == 0) {
+            attachmentStorage.discard(content);
+            throw new ValidationException("Attachment is empty");
+        }
+
+        try {
+            Attachment attachment = withContentLock(content.sha256(), locked -> save(ticketId, name, type, content, uploadedBy));
+            log.info("Attachment uploaded successfully: {}", attachment.getId());
+            return attachmentMapper.toDto(attachment);
+        }
+        catch (RuntimeException e) {
+            deleteIfUnused(content.sha256());
+            throw e;
+        }
+        finally {
+            attachmentStorage.discard(content);
+        }
+    }
+
+    public void deleteAttachment(UUID ticketId, UUID id) {
+        log.info("Deleting attachment {} of ticket {}", id, ticketId);
+
+        Attachment attachment = transactionTemplate.execute(status -> {
+            Attachment found = attachmentRepository.findByIdAndTicketId(id, ticketId)
+                    .orElseThrow(() -> new EntityNotFoundException("Attachment not found with id: " + id));
+            attachmentRepository.delete(found);
+            return found;
+        });
+
+        deleteIfUnused(attachment.getSha256());
+        log.info("Attachment deleted successfully: {}", id);
+    }
+
+    public void deleteAttachments(UUID ticketId) {
+        List<Attachment> attachments = transactionTemplate.execute(status -> {
+            List<Attachment> found = attachmentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticketId);
+            attachmentRepository.deleteAllInBatch(found);
+            return found;
+        });
+
+        attachments.stream().map(Attachment::getSha256).distinct().forEach(this::deleteIfUnused);
+
+        if (!attachments.isEmpty()) {
+            log.info("Deleted {} attachments of ticket {}", attachments.size(), ticketId);
+        }
+    }
+
+    private Attachment save(UUID ticketId, String filename, String contentType,
+                            AttachmentStorage.StoredContent content, UUID uploadedBy) {
+        // Serializes uploads to the same ticket, so concurrent ones can't both fit into the last free space
+        ticketRepository.findLockedById(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id: " + ticketId));
+
+        if (attachmentRepository.sumSizeByTicketId(ticketId) + content.size() > properties.getTicketQuota()) {
+            throw new PayloadTooLargeException("Ticket attachment quota of " + properties.getTicketQuota() + " bytes exceeded");
+        }
+
+        Attachment attachment = attachmentRepository.save(Attachment.builder()
+                .ticketId(ticketId)
+                .filename(filename)
+                .contentType(contentType)
+                .size(content.size())
+                .sha256(content.sha256())
+                .uploadedBy(uploadedBy)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // Also puts the file back if a delete of the same content removed it since it was stored
+        attachmentStorage.place(content);
+        return attachment;
+    }
+
+    private void deleteIfUnused(String sha256) {
+        withContentLock(sha256, content -> {
+            if (!attachmentRepository.existsBySha256(sha256)) {
+                attachmentStorage.delete(sha256);
+                attachmentContentRepository.delete(content);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code action} in a transaction holding the lock row of the content, creating the row if there is none.
+     * Uploads and deletes of the same content take turns, so a delete either sees the committed attachment row
+     * or runs before the upload puts its file in place.
+     */
+    private <T> T withContentLock(String sha256, Function<AttachmentContent, T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    AttachmentContent content = attachmentContentRepository.findLockedBySha256(sha256)
+                            .orElseGet(() -> attachmentContentRepository.saveAndFlush(new AttachmentContent(sha256)));
+                    return action.apply(content);
+                });
+            }
+            catch (DataIntegrityViolationException e) {
+                if (attempt == CONTENT_LOCK_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Lock row of content {} created concurrently, retrying", sha256);
+            }
+        }
+    }
+
+    private void requireTicket(UUID ticketId) {
+        if (!ticketRepository.existsById(ticketId) && !archivedTicketRepository.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found with id: " + ticketId);
+        }
+    }
+
+    private PayloadTooLargeException tooLarge(long limit, long remaining) {
+        return limit == remaining
+                ? new PayloadTooLargeException("Ticket attachment quota of " + properties.getTicketQuota() + " bytes exceeded")
+                : new PayloadTooLargeException("Attachment exceeds the limit of " + limit + " bytes");
+    }
+
+    private static String sanitizeFilename(String filename) {
+        if (filename == null) {
+            throw new ValidationException("Filename is required");
+        }
+
+        // Browsers on Windows send full paths
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1).strip();
+
+        if (name.isEmpty() || name.length() > MAX_FILENAME_LENGTH || name.chars().anyMatch(Character::isISOControl)) {
+            throw new ValidationException("Invalid filename");
+        }
+        return name;
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+            }
+            return mediaType.toString();
+        }
+        catch (InvalidMediaTypeException e) {
+            throw new ValidationException("Invalid content type");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.exception.PayloadTooLargeException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store: every file is kept once under {@code ab/cd/<sha256>}.
+ * Uploads are streamed through a small buffer into a temporary file while hashing,
+ * then moved into place, so neither the request body nor the file is ever held in memory.
+ * Storing and placing are separate steps, so the caller can place the file while it holds the content's lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentStorage {
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttachmentProperties properties;
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Path.of(properties.getPath()).toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+        log.info("Attachment storage at {}", root);
+    }
+
+    /**
+     * Writes the stream to a temporary file and returns its hash and size. The file stays there until
+     * {@link #place} moves it under its hash or {@link #discard} removes it.
+     *
+     * @throws PayloadTooLargeException if the stream is longer than {@code limit} bytes, nothing is kept then
+     */
+    public StoredContent store(InputStream body, long limit) throws IOException {
+        Path temp = Files.createTempFile(root.resolve(TEMP_DIRECTORY), "upload-", null);
+
+        try {
+            MessageDigest digest = sha256();
+            long size = copy(body, temp, digest, limit);
+            return new StoredContent(HexFormat.of().formatHex(digest.digest()), size, temp);
+        }
+        catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves stored content under its hash, unless a file with the same content is already there.
+     */
+    public void place(StoredContent content) {
+        Path target = path(content.sha256());
+
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(content.temp(), target);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Removes the temporary file of content that was not placed, or placed as a duplicate
+    public void discard(StoredContent content) {
+        try {
+            Files.deleteIfExists(content.temp());
+        }
+        catch (IOException e) {
+            log.warn("Failed to delete temporary upload {}: {}", content.temp(), e.getMessage());
+        }
+    }
+
+    public Path path(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    public boolean exists(String sha256) {
+        return Files.isRegularFile(path(sha256));
+    }
+
+    public void delete(String sha256) {
+        try {
+            Files.deleteIfExists(path(sha256));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long copy(InputStream body, Path temp, MessageDigest digest, long limit) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            int read;
+
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+
+                if (size > limit) {
+                    throw new PayloadTooLargeException("Attachment exceeds the limit of " + limit + " bytes");
+                }
+
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+
+            // The metadata row is committed right after, the content must not be lost on a crash
+            channel.force(true);
+        }
+        return size;
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (FileAlreadyExistsException e) {
+            // Same content uploaded concurrently
+            Files.delete(temp);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredContent(String sha256, long size, Path temp) {
+    }
+}
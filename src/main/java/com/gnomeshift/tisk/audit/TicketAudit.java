@@ -0,0 +1,55 @@
+package com.gnomeshift.tisk.audit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One changed field of a ticket. Rows are only ever inserted, by {@link TicketAuditWriter}.
+ */
+@Entity
+@Table(name = "ticket_audit", indexes = {
+        @Index(name = "idx_ticket_audit_ticket_id_changed_at_id", columnList = "ticket_id, changed_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TicketAudit {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID ticketId;
+
+    @Column(nullable = false)
+    private String field;
+
+    @Column(columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(columnDefinition = "TEXT")
+    private String newValue;
+
+    // Null for changes made outside a request, e.g. by scheduled jobs
+    private UUID changedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    // Ticket version the change produced
+    private Long version;
+}
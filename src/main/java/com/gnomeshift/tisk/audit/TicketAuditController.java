@@ -0,0 +1,28 @@
+package com.gnomeshift.tisk.audit;
+
+import com.gnomeshift.tisk.pagination.CursorPageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tickets")
+@RequiredArgsConstructor
+public class TicketAuditController {
+    private final TicketAuditService ticketAuditService;
+
+    @GetMapping("/{id}/audit")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<CursorPageDTO<TicketAuditDTO>> getAudit(@PathVariable UUID id,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketAuditService.getAudit(id, cursor, size));
+    }
+}
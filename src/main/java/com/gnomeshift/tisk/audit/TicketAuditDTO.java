@@ -0,0 +1,23 @@
+package com.gnomeshift.tisk.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketAuditDTO {
+    private UUID id;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private UUID changedBy;
+    private LocalDateTime changedAt;
+    private Long version;
+}
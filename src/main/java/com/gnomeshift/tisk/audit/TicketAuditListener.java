@@ -0,0 +1,86 @@
+package com.gnomeshift.tisk.audit;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Turns committed ticket updates into one audit row per changed field.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketAuditListener {
+    private static final Map<String, Function<TicketDTO, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("title", TicketDTO::getTitle);
+        FIELDS.put("description", TicketDTO::getDescription);
+        FIELDS.put("status", TicketDTO::getStatus);
+        FIELDS.put("priority", TicketDTO::getPriority);
+        FIELDS.put("reporter", ticket -> idOf(ticket.getReporter()));
+        FIELDS.put("assignee", ticket -> idOf(ticket.getAssignee()));
+    }
+
+    private final TicketAuditWriter writer;
+
+    // Runs on the request thread, so the security context is still the one of the change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (event.getPrevious() == null) {
+            return;
+        }
+
+        List<TicketAudit> audits = diff(event.getPrevious(), event.getTicket(), currentUserId());
+
+        if (!audits.isEmpty()) {
+            writer.enqueue(audits);
+        }
+    }
+
+    static List<TicketAudit> diff(TicketDTO previous, TicketDTO ticket, UUID changedBy) {
+        List<TicketAudit> audits = new ArrayList<>();
+
+        FIELDS.forEach((field, getter) -> {
+            Object oldValue = getter.apply(previous);
+            Object newValue = getter.apply(ticket);
+
+            if (!Objects.equals(oldValue, newValue)) {
+                audits.add(TicketAudit.builder()
+                        .id(UUID.randomUUID())
+                        .ticketId(ticket.getId())
+                        .field(field)
+                        .oldValue(Objects.toString(oldValue, null))
+                        .newValue(Objects.toString(newValue, null))
+                        .changedBy(changedBy)
+                        .changedAt(ticket.getUpdatedAt())
+                        .version(ticket.getVersion())
+                        .build());
+            }
+        });
+        return audits;
+    }
+
+    private static UUID idOf(UserDTO user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gnomeshift.tisk.audit;
+
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface TicketAuditMapper {
+    TicketAuditDTO toDto(TicketAudit audit);
+    List<TicketAuditDTO> toDtoList(List<TicketAudit> audits);
+}
@@ -0,0 +1,25 @@
+package com.gnomeshift.tisk.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAuditProperties {
+    // Changes waiting to be written
+    @Value("${app.tickets.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Rows per INSERT batch
+    @Value("${app.tickets.audit.batch-size:500}")
+    private int batchSize;
+
+    // How long writers wait for room in a full queue before inserting their rows themselves
+    @Value("${app.tickets.audit.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+}
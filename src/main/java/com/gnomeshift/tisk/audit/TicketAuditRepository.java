@@ -0,0 +1,21 @@
+package com.gnomeshift.tisk.audit;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketAuditRepository extends JpaRepository<TicketAudit, UUID> {
+    List<TicketAudit> findByTicketIdOrderByChangedAtDescIdDesc(UUID ticketId, Limit limit);
+
+    @Query("""
+        SELECT a FROM TicketAudit a
+        WHERE a.ticketId = :ticketId
+          AND (a.changedAt < :changedAt OR (a.changedAt = :changedAt AND a.id < :id))
+        ORDER BY a.changedAt DESC, a.id DESC
+        """)
+    List<TicketAudit> findByTicketIdBefore(UUID ticketId, LocalDateTime changedAt, UUID id, Limit limit);
+}
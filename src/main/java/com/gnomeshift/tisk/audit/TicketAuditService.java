@@ -0,0 +1,54 @@
+package com.gnomeshift.tisk.audit;
+
+import com.gnomeshift.tisk.archive.ArchivedTicketRepository;
+import com.gnomeshift.tisk.pagination.Cursor;
+import com.gnomeshift.tisk.pagination.CursorPageDTO;
+import com.gnomeshift.tisk.pagination.PaginationProperties;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TicketAuditService {
+    private final TicketAuditRepository ticketAuditRepository;
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TicketAuditMapper ticketAuditMapper;
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Changes of a ticket, newest first. Changes still queued in {@link TicketAuditWriter} are not visible yet.
+     */
+    public CursorPageDTO<TicketAuditDTO> getAudit(UUID ticketId, String cursor, Integer size) {
+        if (!ticketRepository.existsById(ticketId) && !archivedTicketRepository.existsById(ticketId)) {
+            throw new EntityNotFoundException("Ticket not found");
+        }
+
+        int pageSize = paginationProperties.resolveSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        Cursor position = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        List<TicketAudit> rows = position == null
+                ? ticketAuditRepository.findByTicketIdOrderByChangedAtDescIdDesc(ticketId, limit)
+                : ticketAuditRepository.findByTicketIdBefore(ticketId, position.getTimestamp(), position.getId(), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TicketAudit> content = hasNext ? rows.subList(0, pageSize) : rows;
+        TicketAudit last = content.isEmpty() ? null : content.getLast();
+
+        return CursorPageDTO.<TicketAuditDTO>builder()
+                .content(ticketAuditMapper.toDtoList(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new Cursor(last.getChangedAt(), last.getId()).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.gnomeshift.tisk.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit rows in a bounded queue and writes them in batched inserts off the request path.
+ * A batch is only dropped from memory once its transaction committed, failed batches are retried
+ * on the next flush, so every queued row is written at least once while the process is running.
+ * When the queue stays full for longer than the offer timeout, callers write their rows themselves
+ * instead of waiting for the flusher to catch up.
+ */
+@Component
+@Slf4j
+public class TicketAuditWriter {
+    private static final String INSERT = """
+            INSERT INTO ticket_audit (id, ticket_id, field, old_value, new_value, changed_by, changed_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate directTransactionTemplate;
+    private final TicketAuditProperties properties;
+    private final BlockingQueue<TicketAudit> queue;
+    private final Counter overflowed;
+    private final Counter lost;
+
+    // Drained but not yet committed, only touched by flush()
+    private final List<TicketAudit> pending = new ArrayList<>();
+
+    public TicketAuditWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             TicketAuditProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.overflowed = meterRegistry.counter("ticket.audit.rows", "outcome", "overflowed");
+        this.lost = meterRegistry.counter("ticket.audit.rows", "outcome", "lost");
+        Gauge.builder("ticket.audit.queue.size", queue, Collection::size).register(meterRegistry);
+
+        // Callers run after their own transaction committed, joining it would never commit the rows
+        this.directTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.directTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void enqueue(List<TicketAudit> audits) {
+        for (int i = 0; i < audits.size(); i++) {
+            if (!offer(audits.get(i))) {
+                writeDirectly(audits.subList(i, audits.size()));
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tickets.audit.flush-interval-ms:500}")
+    public synchronized void flush() {
+        while (true) {
+            if (pending.isEmpty()) {
+                queue.drainTo(pending, properties.getBatchSize());
+            }
+
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(pending));
+                pending.clear();
+            }
+            catch (DataAccessException e) {
+                log.warn("Failed to write {} audit rows, retrying on next flush: {}", pending.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size() + pending.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+
+        if (getQueueSize() > 0) {
+            log.error("Shutting down with {} audit rows not written", getQueueSize());
+        }
+    }
+
+    private boolean offer(TicketAudit audit) {
+        try {
+            return queue.offer(audit, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes rows the queue had no room for on the caller's thread, so a flusher that can't keep up slows
+     * requests down by one insert instead of blocking them. If the database is what's failing, the rows
+     * are logged, since there is nowhere left to keep them.
+     */
+    private void writeDirectly(List<TicketAudit> audits) {
+        overflowed.increment(audits.size());
+
+        try {
+            directTransactionTemplate.executeWithoutResult(status -> insert(audits));
+        }
+        catch (DataAccessException e) {
+            lost.increment(audits.size());
+            log.error("Failed to write {} audit rows for ticket {} with the queue full: {} {}", audits.size(),
+                    audits.getFirst().getTicketId(), e.getMessage(), audits);
+        }
+    }
+
+    private void insert(List<TicketAudit> audits) {
+        jdbcTemplate.batchUpdate(INSERT, audits, audits.size(), (ps, audit) -> {
+            ps.setObject(1, audit.getId());
+            ps.setObject(2, audit.getTicketId());
+            ps.setString(3, audit.getField());
+            ps.setString(4, audit.getOldValue());
+            ps.setString(5, audit.getNewValue());
+            ps.setObject(6, audit.getChangedBy());
+            ps.setObject(7, audit.getChangedAt());
+            ps.setObject(8, audit.getVersion());
+        });
+    }
+}
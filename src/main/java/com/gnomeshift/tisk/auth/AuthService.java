@@ -1,5 +1,6 @@
 package com.gnomeshift.tisk.auth;
 
+import com.gnomeshift.tisk.etag.ChangeCounters;
 import com.gnomeshift.tisk.user.*;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
@@ -25,6 +26,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
     private final JwtProperties jwtProperties;
+    private final ChangeCounters changeCounters;
 
     public AuthResponseDTO register(RegisterDTO registerDTO) {
         log.info("Registering new user with email: {}", registerDTO.getEmail());
@@ -53,6 +55,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("User registered successfully with id: {}", savedUser.getId());
 
         String accessToken = jwtService.generateAccessToken(savedUser);
@@ -91,6 +94,7 @@ public class AuthService {
 
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
+        changeCounters.touch(ChangeCounters.LOGINS);
         log.info("User logged in successfully: {}", user.getId());
 
         return AuthResponseDTO.builder()
@@ -141,6 +145,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
         userRepository.save(user);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("Password changed successfully for user: {}", user.getId());
     }
 
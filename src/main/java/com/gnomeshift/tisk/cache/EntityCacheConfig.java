@@ -0,0 +1,70 @@
+package com.gnomeshift.tisk.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache regions for Hibernate. Every region is created here with an explicit
+ * size and TTL, Hibernate is configured to fail on any region not listed.
+ * Hit/miss counters are published by Hibernate statistics as {@code hibernate.*} meters.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheConfig {
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String TICKETS = "tickets";
+
+    private final EntityCacheProperties properties;
+
+    @Bean
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        createRegion(cacheManager, USERS, properties.getUsersMaxSize(), properties.getUsersTtlMinutes());
+        createRegion(cacheManager, USERS_BY_EMAIL, properties.getUsersMaxSize(), properties.getUsersTtlMinutes());
+        createRegion(cacheManager, TICKETS, properties.getTicketsMaxSize(), properties.getTicketsTtlMinutes());
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                properties.getQueriesMaxSize(), properties.getQueriesTtlMinutes());
+
+        // One entry per table, must never expire before the query results it validates
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlMinutes) {
+        createRegion(cacheManager, name, OptionalLong.of(maxSize),
+                OptionalLong.of(Duration.ofMinutes(ttlMinutes).toNanos()));
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, OptionalLong maxSize, OptionalLong expireAfterWriteNanos) {
+        // The caching provider is JVM-wide, several application contexts (tests) may share it
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        // Hibernate stores immutable cache entries, copying them on every read is wasted work
+        configuration.setStoreByValue(false);
+        cacheManager.createCache(name, configuration);
+    }
+}
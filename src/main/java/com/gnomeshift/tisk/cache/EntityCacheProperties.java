@@ -0,0 +1,31 @@
+package com.gnomeshift.tisk.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityCacheProperties {
+    @Value("${app.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl-minutes:30}")
+    private long usersTtlMinutes;
+
+    @Value("${app.cache.tickets.max-size:50000}")
+    private long ticketsMaxSize;
+
+    @Value("${app.cache.tickets.ttl-minutes:10}")
+    private long ticketsTtlMinutes;
+
+    @Value("${app.cache.queries.max-size:1000}")
+    private long queriesMaxSize;
+
+    @Value("${app.cache.queries.ttl-minutes:5}")
+    private long queriesTtlMinutes;
+}
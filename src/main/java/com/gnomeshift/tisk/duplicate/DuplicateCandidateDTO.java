@@ -0,0 +1,18 @@
+package com.gnomeshift.tisk.duplicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+    private UUID id;
+    private String title;
+
+    // Estimated Jaccard similarity of title and description, 0 to 1
+    private double similarity;
+}
@@ -0,0 +1,185 @@
+package com.gnomeshift.tisk.duplicate;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Finds near-duplicates of a new ticket among recent open tickets, using an in-memory
+ * {@link MinHashIndex} over title and description. The index is rebuilt from the database
+ * on startup and periodically, the latter also picks up changes made outside the service.
+ */
+@Component
+@Slf4j
+public class DuplicateDetector {
+    private static final long SEED = 0x5eed5eedL;
+
+    private final DuplicateProperties properties;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MinHash minHash;
+    private final Timer checkTimer;
+    private volatile MinHashIndex index;
+
+    // Changes made while a rebuild is running, replayed onto the new index; guarded by this
+    private List<Consumer<MinHashIndex>> journal;
+
+    public DuplicateDetector(DuplicateProperties properties, TicketRepository ticketRepository,
+                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.minHash = new MinHash(properties.getBands() * properties.getRows(), properties.getShingleSize(), SEED);
+        this.index = newIndex();
+        this.checkTimer = Timer.builder("ticket.duplicates.check").register(meterRegistry);
+        Gauge.builder("ticket.duplicates.index.size", this, detector -> detector.index.size()).register(meterRegistry);
+    }
+
+    /**
+     * Candidates for a ticket about to be created, most similar first.
+     */
+    public List<DuplicateCandidateDTO> findCandidates(String title, String description) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+
+        return checkTimer.record(() -> {
+            int[] signature = minHash.signature(text(title, description));
+            return signature == null
+                    ? List.<DuplicateCandidateDTO>of()
+                    : index.query(signature, properties.getThreshold(), properties.getMaxCandidates());
+        });
+    }
+
+    /**
+     * The ticket a new one should be linked to, if auto-linking is on and the best candidate is similar enough.
+     */
+    public Optional<UUID> autoLinkTarget(List<DuplicateCandidateDTO> candidates) {
+        if (!properties.isAutoLink() || candidates.isEmpty()
+                || candidates.getFirst().getSimilarity() < properties.getAutoLinkThreshold()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.getFirst().getId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tickets.duplicates.refresh-interval-ms:900000}",
+            initialDelayString = "${app.tickets.duplicates.refresh-interval-ms:900000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        log.info("Rebuilding duplicate detection index");
+
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+
+        MinHashIndex rebuilt = newIndex();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<DuplicateDocument> documents = ticketRepository.streamDuplicateDocuments(windowStart())) {
+                    documents.forEach(document -> put(rebuilt, document.getId(), document.getTitle(),
+                            document.getDescription(), document.getCreatedAt()));
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            synchronized (this) {
+                journal = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            journal.forEach(change -> change.accept(rebuilt));
+            journal = null;
+            index = rebuilt;
+        }
+        log.info("Duplicate detection index rebuilt with {} tickets", rebuilt.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        TicketDTO ticket = event.getTicket();
+
+        if (event.getType() == TicketEventType.DELETED || ticket.getStatus() == TicketStatus.CLOSED
+                || ticket.getCreatedAt().isBefore(windowStart())) {
+            apply(index -> index.remove(event.getTicketId()));
+            return;
+        }
+
+        // Assignments don't change the text
+        if (event.getType() == TicketEventType.ASSIGNED) {
+            return;
+        }
+
+        int[] signature = minHash.signature(text(ticket.getTitle(), ticket.getDescription()));
+        apply(index -> {
+            if (signature != null) {
+                index.put(ticket.getId(), ticket.getTitle(), ticket.getCreatedAt(), signature);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.tickets.duplicates.evict-cron:0 0 * * * *}")
+    public void evictExpired() {
+        LocalDateTime cutoff = windowStart();
+        apply(index -> index.removeCreatedBefore(cutoff));
+    }
+
+    private synchronized void apply(Consumer<MinHashIndex> change) {
+        change.accept(index);
+
+        if (journal != null) {
+            journal.add(change);
+        }
+    }
+
+    private void put(MinHashIndex target, UUID id, String title, String description, LocalDateTime createdAt) {
+        int[] signature = minHash.signature(text(title, description));
+
+        if (signature != null) {
+            target.put(id, title, createdAt, signature);
+        }
+    }
+
+    private MinHashIndex newIndex() {
+        return new MinHashIndex(properties.getBands(), properties.getRows());
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(properties.getWindowDays());
+    }
+
+    private static String text(String title, String description) {
+        return (title == null ? "" : title) + " " + (description == null ? "" : description);
+    }
+}
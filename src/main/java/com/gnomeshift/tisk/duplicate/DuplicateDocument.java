@@ -0,0 +1,18 @@
+package com.gnomeshift.tisk.duplicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateDocument {
+    private UUID id;
+    private String title;
+    private String description;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,45 @@
+package com.gnomeshift.tisk.duplicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateProperties {
+    @Value("${app.tickets.duplicates.enabled:true}")
+    private boolean enabled;
+
+    // Open tickets created within this many days are checked against
+    @Value("${app.tickets.duplicates.window-days:7}")
+    private int windowDays;
+
+    // Minimum estimated similarity of a reported candidate
+    @Value("${app.tickets.duplicates.threshold:0.5}")
+    private double threshold;
+
+    @Value("${app.tickets.duplicates.max-candidates:5}")
+    private int maxCandidates;
+
+    // Link a new ticket to its best candidate when at least this similar
+    @Value("${app.tickets.duplicates.auto-link:false}")
+    private boolean autoLink;
+
+    @Value("${app.tickets.duplicates.auto-link-threshold:0.9}")
+    private double autoLinkThreshold;
+
+    // Signature length is bands * rows; more rows per band make candidates stricter
+    @Value("${app.tickets.duplicates.bands:32}")
+    private int bands;
+
+    @Value("${app.tickets.duplicates.rows:4}")
+    private int rows;
+
+    // Characters per shingle
+    @Value("${app.tickets.duplicates.shingle-size:5}")
+    private int shingleSize;
+}
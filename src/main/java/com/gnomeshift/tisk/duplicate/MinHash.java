@@ -0,0 +1,140 @@
+package com.gnomeshift.tisk.duplicate;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character shingles of normalized text. Two signatures agree in a position
+ * with probability equal to the Jaccard similarity of the shingle sets, so the share of equal positions
+ * estimates it.
+ */
+final class MinHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    MinHash(int hashCount, int shingleSize, long seed) {
+        this.shingleSize = shingleSize;
+        this.multipliers = new long[hashCount];
+        this.increments = new long[hashCount];
+
+        // Fixed seed: signatures must stay comparable across restarts and rebuilds
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int i = 0; i < hashCount; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @return the signature, or null if the text has no letters or digits
+     */
+    int[] signature(String text) {
+        long[] shingles = shingles(normalize(text));
+
+        if (shingles.length == 0) {
+            return null;
+        }
+
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (long shingle : shingles) {
+            for (int i = 0; i < signature.length; i++) {
+                // Multiply-shift hashing, the high bits are the well mixed ones
+                int hash = (int) ((multipliers[i] * shingle + increments[i]) >>> 33);
+
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] first, int[] second) {
+        int equal = 0;
+
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+
+    /**
+     * Lower case, every run of characters other than letters and digits collapsed to one space.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                separator = false;
+            }
+            else if (!separator) {
+                normalized.append(' ');
+                separator = true;
+            }
+        }
+
+        int length = normalized.length();
+
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct 64-bit hashes of all shingles; text shorter than a shingle is a single one.
+     */
+    private long[] shingles(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+
+        int count = Math.max(1, text.length() - shingleSize + 1);
+        int size = Math.min(shingleSize, text.length());
+        long[] hashes = new long[count];
+
+        for (int start = 0; start < count; start++) {
+            long hash = FNV_OFFSET;
+
+            for (int i = start; i < start + size; i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+            hashes[start] = mix(hash);
+        }
+
+        Arrays.sort(hashes);
+        int distinct = 0;
+
+        for (int i = 0; i < hashes.length; i++) {
+            if (i == 0 || hashes[i] != hashes[i - 1]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return Arrays.copyOf(hashes, distinct);
+    }
+
+    // Finalizer of MurmurHash3, spreads FNV's weak low bits
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
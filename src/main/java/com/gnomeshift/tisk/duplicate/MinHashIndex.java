@@ -0,0 +1,156 @@
+package com.gnomeshift.tisk.duplicate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures: each signature is cut into bands of
+ * {@code rows} values and filed under one bucket per band. Tickets sharing at least one bucket
+ * become candidates and are then compared on the whole signature, so a check only looks at
+ * a handful of tickets instead of all of them.
+ */
+class MinHashIndex {
+    private final int bands;
+    private final int rows;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    MinHashIndex(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    void put(UUID id, String title, LocalDateTime createdAt, int[] signature) {
+        lock.writeLock().lock();
+
+        try {
+            removeLocked(id);
+            entries.put(id, new Entry(title, createdAt, signature));
+
+            for (int band = 0; band < bands; band++) {
+                buckets.computeIfAbsent(bucket(signature, band), key -> new HashSet<>()).add(id);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+
+        try {
+            removeLocked(id);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeCreatedBefore(LocalDateTime cutoff) {
+        lock.writeLock().lock();
+
+        try {
+            List<UUID> expired = entries.entrySet().stream()
+                    .filter(entry -> entry.getValue().createdAt().isBefore(cutoff))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            expired.forEach(this::removeLocked);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed tickets whose estimated similarity is at least {@code threshold}, most similar first.
+     */
+    List<DuplicateCandidateDTO> query(int[] signature, double threshold, int limit) {
+        lock.readLock().lock();
+
+        try {
+            Set<UUID> seen = new HashSet<>();
+            List<DuplicateCandidateDTO> matches = new ArrayList<>();
+
+            for (int band = 0; band < bands; band++) {
+                Set<UUID> bucket = buckets.get(bucket(signature, band));
+
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (UUID id : bucket) {
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+
+                    Entry entry = entries.get(id);
+                    double similarity = MinHash.similarity(signature, entry.signature());
+
+                    if (similarity >= threshold) {
+                        matches.add(new DuplicateCandidateDTO(id, entry.title(), similarity));
+                    }
+                }
+            }
+
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(DuplicateCandidateDTO::getSimilarity).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(UUID id) {
+        Entry entry = entries.remove(id);
+
+        if (entry == null) {
+            return;
+        }
+
+        for (int band = 0; band < bands; band++) {
+            long key = bucket(entry.signature(), band);
+            Set<UUID> bucket = buckets.get(key);
+            bucket.remove(id);
+
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private long bucket(int[] signature, int band) {
+        long hash = band;
+
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            hash = hash * 31 + signature[i];
+        }
+        return MinHash.mix(hash);
+    }
+
+    private record Entry(String title, LocalDateTime createdAt, int[] signature) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.gnomeshift.tisk.etag;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Number of committed transactions that changed a table, maintained by {@link ChangeCounters}.
+ * A counter is the sum of its stripes.
+ */
+@Entity
+@Table(name = "change_counters")
+@IdClass(ChangeCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeCounter {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Id
+    private int stripe;
+
+    @Column(nullable = false)
+    private long changeCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String name;
+        private int stripe;
+    }
+}
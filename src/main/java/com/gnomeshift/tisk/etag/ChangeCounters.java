@@ -0,0 +1,164 @@
+package com.gnomeshift.tisk.etag;
+
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * One counter per table, bumped once by every transaction that changed the table, so collection ETags
+ * read a few rows instead of scanning the table. The bump happens right before the transaction commits
+ * and its row stays locked until the commit, so readers see the new value together with the data.
+ * Each counter is split into {@link #STRIPES} rows summed on read and a transaction bumps a random one:
+ * writers only queue on a shared row when they happen to pick the same stripe, which caps the commit rate
+ * at roughly {@link #STRIPES} concurrent commits per commit latency rather than one. Ticket changes are
+ * counted from {@link TicketEvent}s, everything else calls {@link #touch}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeCounters {
+    public static final String TICKETS = "tickets";
+    public static final String USERS = "users";
+
+    // Logins only set lastLoginAt, which user and ticket payloads show but no statistic reads
+    public static final String LOGINS = "logins";
+
+    // Rows per counter, V16__change_counter_stripes.sql creates as many
+    static final int STRIPES = 16;
+
+    // Stamped transactions all bump this stripe, so its value orders them
+    private static final int STAMP_STRIPE = 0;
+
+    private static final String INCREMENT =
+            "UPDATE change_counters SET change_count = change_count + 1 WHERE name = ? AND stripe = ?";
+    private static final String INSERT = "INSERT INTO change_counters (name, stripe, change_count) VALUES (?, ?, 0)";
+    private static final String SELECT = "SELECT change_count FROM change_counters WHERE name = ? AND stripe = ?";
+    private static final String SELECT_STRIPES = "SELECT stripe FROM change_counters WHERE name = ?";
+    private static final String SELECT_ALL = "SELECT name, SUM(change_count) FROM change_counters GROUP BY name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Bumps {@code counter} when the current transaction commits. Without a transaction it is bumped
+     * right away, so call it after the write, otherwise a reader could pair the new value with old data.
+     */
+    public void touch(String counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INCREMENT, counter, randomStripe());
+            return;
+        }
+        pending().counters.add(counter);
+    }
+
+    /**
+     * Bumps {@code counter} like {@link #touch(String)} and hands the new value of one fixed stripe to
+     * {@code stamp} while that row is still locked. Transactions stamping the same counter can't overlap there,
+     * so a larger value is always committed after a smaller one, at the price of committing one at a time.
+     * Without a transaction the value is handed over right away and carries no such guarantee.
+     */
+    public void touch(String counter, LongConsumer stamp) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INCREMENT, counter, STAMP_STRIPE);
+            stamp.accept(jdbcTemplate.queryForObject(SELECT, Long.class, counter, STAMP_STRIPE));
+            return;
+        }
+
+        Pending pending = pending();
+        pending.counters.add(counter);
+        pending.stamps.computeIfAbsent(counter, k -> new ArrayList<>()).add(stamp);
+    }
+
+    /**
+     * Current values of {@code counters} joined into one string, read in a single query.
+     */
+    public String watermark(String... counters) {
+        Map<String, Long> values = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> values.put(rs.getString(1), rs.getLong(2)));
+
+        StringJoiner watermark = new StringJoiner("|");
+
+        for (String counter : counters) {
+            watermark.add(String.valueOf(values.getOrDefault(counter, 0L)));
+        }
+        return watermark.toString();
+    }
+
+    @EventListener
+    public void onTicketEvent(TicketEvent event) {
+        touch(TICKETS);
+    }
+
+    // The migrations create the rows, this covers schemas generated by Hibernate
+    @EventListener(ContextRefreshedEvent.class)
+    public void createCounters() {
+        for (String counter : List.of(TICKETS, USERS, LOGINS)) {
+            List<Integer> existing = jdbcTemplate.queryForList(SELECT_STRIPES, Integer.class, counter);
+
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                if (existing.contains(stripe)) {
+                    continue;
+                }
+
+                try {
+                    jdbcTemplate.update(INSERT, counter, stripe);
+                }
+                catch (DuplicateKeyException e) {
+                    log.debug("Change counter {} stripe {} already exists", counter, stripe);
+                }
+            }
+        }
+    }
+
+    // Looked up among the synchronizations rather than bound as a resource, those are suspended with their transaction
+    private Pending pending() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Pending pending) {
+                return pending;
+            }
+        }
+
+        Pending pending = new Pending();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private class Pending implements TransactionSynchronization {
+        // Sorted, so transactions touching several counters lock them in the same order
+        private final Set<String> counters = new TreeSet<>();
+        private final Map<String, List<LongConsumer>> stamps = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            counters.forEach(counter ->
+                    jdbcTemplate.update(INCREMENT, counter, stamps.containsKey(counter) ? STAMP_STRIPE : randomStripe()));
+
+            stamps.forEach((counter, actions) -> {
+                long value = jdbcTemplate.queryForObject(SELECT, Long.class, counter, STAMP_STRIPE);
+                actions.forEach(action -> action.accept(value));
+            });
+        }
+    }
+
+    private static int randomStripe() {
+        return ThreadLocalRandom.current().nextInt(STRIPES);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gnomeshift.tisk.etag;
+
+import jakarta.validation.ValidationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+public final class ConditionalResponses {
+    // Let clients keep the body but always revalidate, instead of the no-store default
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    static final char VERSION_SEPARATOR = '-';
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answers 304 if the request's {@code If-None-Match} matches, otherwise builds the body.
+     */
+    public static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String eTag, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Extracts the ticket version from an {@code If-Match} header. Accepts a ticket ETag or a bare version,
+     * returns null when the header is absent or {@code *}.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+
+        tag = tag.replace("\"", "");
+        int separator = tag.indexOf(VERSION_SEPARATOR);
+
+        try {
+            return Long.parseLong(separator < 0 ? tag : tag.substring(0, separator));
+        }
+        catch (NumberFormatException e) {
+            throw new ValidationException("Invalid If-Match header");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.gnomeshift.tisk.etag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Derives ETags from watermarks without loading entities. Single entities use their version or
+ * {@code updated_at}, collections the {@link ChangeCounters} of the tables behind them.
+ */
+@Service
+@RequiredArgsConstructor
+public class ETagService {
+    // Ticket payloads embed reporter and assignee, so their changes must invalidate the ticket too
+    private static final String TICKET_WATERMARK = """
+            SELECT t.version, r.updated_at, a.updated_at FROM tickets t
+            LEFT JOIN users r ON r.id = t.reporter_id
+            LEFT JOIN users a ON a.id = t.assignee_id
+            WHERE t.id = ?""";
+    private static final String USER_WATERMARK = "SELECT updated_at FROM users WHERE id = ?";
+    private static final String USER_BY_EMAIL_WATERMARK = "SELECT id, updated_at FROM users WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeCounters changeCounters;
+
+    public String forTickets(WebRequest request) {
+        // Ticket payloads embed users, so user changes and logins count for tickets too
+        String watermark = changeCounters.watermark(ChangeCounters.TICKETS, ChangeCounters.USERS, ChangeCounters.LOGINS);
+        return hash("tickets", watermark, scope(request));
+    }
+
+    /**
+     * Starts with the ticket version so the same value can be sent back in {@code If-Match}.
+     */
+    public Optional<String> forTicket(UUID id) {
+        return watermark(TICKET_WATERMARK, id).map(watermark -> {
+            int separator = watermark.indexOf('|');
+            String users = hash("ticket", id.toString(), watermark.substring(separator + 1));
+            return watermark.substring(0, separator) + ConditionalResponses.VERSION_SEPARATOR + users;
+        });
+    }
+
+    public String forUsers(WebRequest request) {
+        return hash("users", changeCounters.watermark(ChangeCounters.USERS, ChangeCounters.LOGINS), scope(request));
+    }
+
+    public Optional<String> forUser(UUID id) {
+        return watermark(USER_WATERMARK, id).map(watermark -> hash("user", id.toString(), watermark));
+    }
+
+    public Optional<String> forUserByEmail(String email) {
+        return watermark(USER_BY_EMAIL_WATERMARK, email).map(watermark -> hash("user", watermark));
+    }
+
+    public String forStatistics(WebRequest request) {
+        // Logins left out, no statistic reads lastLoginAt
+        String watermark = changeCounters.watermark(ChangeCounters.TICKETS, ChangeCounters.USERS);
+        // Relative periods like "last 7 days" shift at midnight even if no data changed
+        return hash("statistics", watermark, scope(request), LocalDate.now().toString());
+    }
+
+    private Optional<String> watermark(String sql, Object... args) {
+        List<String> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            StringJoiner columns = new StringJoiner("|");
+
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                columns.add(String.valueOf(rs.getObject(i)));
+            }
+            return columns.toString();
+        }, args);
+        return rows.stream().findFirst();
+    }
+
+    private String scope(WebRequest request) {
+        // Same watermark must not validate responses for another URL, query or user
+        StringJoiner scope = new StringJoiner("&", request.getDescription(false) + "?", "");
+
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            scope.add(parameter.getKey() + "=" + String.join(",", parameter.getValue()));
+        }
+        return scope + "#" + request.getRemoteUser();
+    }
+
+    private String hash(String... parts) {
+        return DigestUtils.md5DigestAsHex(String.join("\n", parts).getBytes(StandardCharsets.UTF_8));
+    }
+}
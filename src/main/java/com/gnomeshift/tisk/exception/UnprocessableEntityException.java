@@ -0,0 +1,7 @@
+package com.gnomeshift.tisk.exception;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
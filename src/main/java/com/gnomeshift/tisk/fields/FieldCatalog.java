@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.fields;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Fields a resource exposes to {@code ?fields=}, named after the entity attributes they are read from.
+ * Associations are listed among the attributes and are selected either as a whole or as {@code association.attribute}.
+ */
+public record FieldCatalog(List<String> attributes, Map<String, List<String>> associations) {
+    public FieldCatalog(List<String> attributes) {
+        this(attributes, Map.of());
+    }
+
+    /**
+     * Every selectable leaf path in canonical order.
+     */
+    public List<String> paths() {
+        return attributes.stream()
+                .flatMap(attribute -> associations.containsKey(attribute)
+                        ? associations.get(attribute).stream().map(nested -> attribute + "." + nested)
+                        : Stream.of(attribute))
+                .toList();
+    }
+}
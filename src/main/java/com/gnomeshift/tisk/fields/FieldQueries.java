@@ -0,0 +1,52 @@
+package com.gnomeshift.tisk.fields;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds tuple queries that select only the columns behind a {@link FieldSelection}.
+ */
+public final class FieldQueries {
+    private FieldQueries() {
+    }
+
+    public static <T> CriteriaQuery<Tuple> select(CriteriaBuilder cb, Class<T> type, FieldSelection fields,
+                                                  Collection<String> required, Specification<T> specification, Sort sort) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Map<String, From<T, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = fields.selectedPaths(required).stream()
+                .<Selection<?>>map(path -> {
+                    int dot = path.indexOf('.');
+                    From<T, ?> from = dot < 0 ? root
+                            : joins.computeIfAbsent(path.substring(0, dot), association -> root.join(association, JoinType.LEFT));
+                    return from.get(path.substring(dot + 1)).alias(FieldSelection.alias(path));
+                })
+                .toList();
+        query.multiselect(selections);
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+}
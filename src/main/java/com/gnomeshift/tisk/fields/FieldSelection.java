@@ -0,0 +1,104 @@
+package com.gnomeshift.tisk.fields;
+
+import jakarta.persistence.Tuple;
+import jakarta.validation.ValidationException;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parsed {@code ?fields=} parameter, e.g. {@code id,title,status,assignee.id}.
+ */
+@Getter
+public class FieldSelection {
+    private static final String ID = "id";
+
+    private final List<String> paths;
+
+    private FieldSelection(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FieldSelection parse(String fields, FieldCatalog catalog) {
+        Set<String> requested = new HashSet<>();
+
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+
+            if (path.isEmpty()) {
+                continue;
+            }
+
+            if (catalog.associations().containsKey(path)) {
+                catalog.associations().get(path).forEach(nested -> requested.add(path + "." + nested));
+            }
+            else if (catalog.paths().contains(path)) {
+                requested.add(path);
+            }
+            else {
+                throw new ValidationException("Unknown field: " + path);
+            }
+        }
+
+        if (requested.isEmpty()) {
+            throw new ValidationException("At least one field must be selected");
+        }
+        return new FieldSelection(catalog.paths().stream().filter(requested::contains).toList());
+    }
+
+    /**
+     * Tuple alias of a selected path.
+     */
+    public static String alias(String path) {
+        return path.replace('.', '_');
+    }
+
+    /**
+     * Paths to select from the database: the requested ones, the given required ones
+     * and the id of every selected association, which tells a missing association from empty fields.
+     */
+    public Set<String> selectedPaths(Collection<String> required) {
+        Set<String> selected = new LinkedHashSet<>(paths);
+        selected.addAll(required);
+
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+
+            if (dot > 0) {
+                selected.add(path.substring(0, dot + 1) + ID);
+            }
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+
+            if (dot < 0) {
+                result.put(path, tuple.get(alias(path)));
+                continue;
+            }
+
+            String association = path.substring(0, dot);
+
+            if (tuple.get(alias(association + "." + ID)) == null) {
+                result.put(association, null);
+                continue;
+            }
+
+            ((Map<String, Object>) result.computeIfAbsent(association, key -> new LinkedHashMap<>()))
+                    .put(path.substring(dot + 1), tuple.get(alias(path)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.gnomeshift.tisk.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyProperties {
+    // Hours a key is remembered, replays after that create a new resource
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // Recent responses kept in memory, older ones are read from the database
+    @Value("${app.idempotency.cache-max-size:10000}")
+    private long cacheMaxSize;
+}
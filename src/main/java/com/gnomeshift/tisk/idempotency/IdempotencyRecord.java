@@ -0,0 +1,51 @@
+package com.gnomeshift.tisk.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A response to a request sent with an {@code Idempotency-Key}. The row is inserted before the request
+ * is handled and completed in the same transaction, so other instances only ever see finished responses,
+ * and a second request with the same key waits on the primary key until the first one is done.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "body")
+public class IdempotencyRecord {
+    // Scope, user and client key
+    @Id
+    @Column(length = 320)
+    private String id;
+
+    // Keyed hash of the request body, reusing a key for another request is rejected
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer statusCode;
+
+    private String location;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,202 @@
+package com.gnomeshift.tisk.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gnomeshift.tisk.auth.JwtProperties;
+import com.gnomeshift.tisk.exception.ConflictException;
+import com.gnomeshift.tisk.exception.UnprocessableEntityException;
+import com.gnomeshift.tisk.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Handles create requests sent with an {@code Idempotency-Key} at most once per user and key, and replays
+ * the stored response for retries. The key is claimed by inserting its row in the transaction that handles
+ * the request, so a concurrent duplicate blocks on that one primary key until the first request committed
+ * or rolled back, while requests with other keys never wait for each other. Failed requests leave no row
+ * behind and can be retried with the same key. Recent responses are also kept in memory, so most replays
+ * don't touch the database.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String ANONYMOUS = "anonymous";
+
+    private static final String INSERT = "INSERT INTO idempotency_keys (id, fingerprint, created_at) VALUES (?, ?, ?)";
+    private static final String COMPLETE = "UPDATE idempotency_keys SET status_code = ?, location = ?, body = ? WHERE id = ?";
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec fingerprintKey;
+    private final Cache<String, StoredResponse> responses;
+
+    public IdempotencyService(IdempotencyProperties properties, IdempotencyRecordRepository repository,
+                              JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        // Keyed, since request bodies can contain passwords
+        this.fingerprintKey = new SecretKeySpec(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfterWrite(Duration.ofHours(properties.getTtlHours()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same {@code key} was already handled for the current user
+     * within {@code scope}, in which case its response is replayed with the body read as {@code bodyType}.
+     * Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<? extends T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = scope + ":" + currentOwner() + ":" + key;
+        String fingerprint = fingerprint(request);
+        StoredResponse cached = responses.getIfPresent(id);
+
+        if (cached != null) {
+            return replay(cached, fingerprint, bodyType);
+        }
+
+        Handled<T> handled = transactionTemplate.execute(status -> {
+            try {
+                jdbcTemplate.update(INSERT, id, fingerprint, LocalDateTime.now());
+            }
+            catch (DuplicateKeyException e) {
+                // Handled by another request, which has finished by now
+                status.setRollbackOnly();
+                return null;
+            }
+
+            ResponseEntity<T> response = action.get();
+            StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                    response.getHeaders().getLocation(), write(response.getBody()));
+            jdbcTemplate.update(COMPLETE, stored.statusCode(), stored.location() != null ? stored.location().toString() : null,
+                    stored.body(), id);
+            return new Handled<>(response, stored);
+        });
+
+        if (handled == null) {
+            StoredResponse stored = find(id)
+                    .orElseThrow(() -> new ConflictException("A request with this " + HEADER + " is still in progress"));
+            responses.put(id, stored);
+            return replay(stored, fingerprint, bodyType);
+        }
+
+        responses.put(id, handled.stored());
+        return handled.response();
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 0 * * * *}")
+    public void purge() {
+        int purged = repository.deleteCreatedBefore(LocalDateTime.now().minusHours(properties.getTtlHours()));
+
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<StoredResponse> find(String id) {
+        return repository.findById(id)
+                .filter(record -> record.getStatusCode() != null)
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getStatusCode(),
+                        record.getLocation() != null ? URI.create(record.getLocation()) : null, record.getBody()));
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<? extends T> bodyType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new UnprocessableEntityException(HEADER + " was already used for a different request");
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true");
+
+        if (stored.location() != null) {
+            builder.location(stored.location());
+        }
+        return builder.body(read(stored.body(), bodyType));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            Mac mac = Mac.getInstance(fingerprintKey.getAlgorithm());
+            mac.init(fingerprintKey);
+            return HexFormat.of().formatHex(mac.doFinal(objectMapper.writeValueAsBytes(request)));
+        }
+        catch (GeneralSecurityException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return body != null ? objectMapper.writeValueAsString(body) : null;
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<? extends T> bodyType) {
+        try {
+            return body != null ? objectMapper.readValue(body, bodyType) : null;
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to replay stored response", e);
+        }
+    }
+
+    private static String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user
+                ? user.getId().toString()
+                : ANONYMOUS;
+    }
+
+    private record StoredResponse(String fingerprint, int statusCode, URI location, String body) {
+    }
+
+    private record Handled<T>(ResponseEntity<T> response, StoredResponse stored) {
+    }
+}
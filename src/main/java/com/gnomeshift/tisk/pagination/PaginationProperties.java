@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginationProperties {
+    @Value("${app.pagination.default-size:20}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:100}")
+    private int maxSize;
+
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize < 1) {
+            return defaultSize;
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+}
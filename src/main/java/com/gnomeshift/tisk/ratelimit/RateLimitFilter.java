@@ -0,0 +1,73 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import com.gnomeshift.tisk.exception.TooManyRequestsException;
+import com.gnomeshift.tisk.user.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Applies {@link RateLimiter} to API requests. Runs after {@code JwtAuthenticationFilter},
+ * so authenticated requests are counted per user and anonymous ones per client IP.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+
+    @Qualifier("handlerExceptionResolver")
+    private final HandlerExceptionResolver resolver;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RouteGroup group = RouteGroup.of(request.getRequestURI());
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, subject(request));
+
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(decision.reset()));
+
+        if (!decision.allowed()) {
+            log.debug("Rate limit of {} exceeded for {}", group, request.getRemoteAddr());
+            resolver.resolveException(request, response, null,
+                    new TooManyRequestsException("Too many requests, retry in " + decision.retryAfter() + " seconds",
+                            decision.retryAfter()));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    private static Object subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user
+                ? user.getId()
+                : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,56 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitProperties {
+    // Limit API requests per authenticated user, or per client IP for anonymous requests
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // Buckets unused for this long are dropped, they would be full again anyway
+    @Value("${app.rate-limit.idle-minutes:10}")
+    private long idleMinutes;
+
+    // Burst size and sustained requests per minute, by route group
+    @Value("${app.rate-limit.auth.capacity:20}")
+    private int authCapacity;
+
+    @Value("${app.rate-limit.auth.per-minute:20}")
+    private int authPerMinute;
+
+    @Value("${app.rate-limit.statistics.capacity:20}")
+    private int statisticsCapacity;
+
+    @Value("${app.rate-limit.statistics.per-minute:30}")
+    private int statisticsPerMinute;
+
+    @Value("${app.rate-limit.default.capacity:300}")
+    private int defaultCapacity;
+
+    @Value("${app.rate-limit.default.per-minute:1200}")
+    private int defaultPerMinute;
+
+    public int capacity(RouteGroup group) {
+        return switch (group) {
+            case AUTH -> authCapacity;
+            case STATISTICS -> statisticsCapacity;
+            case DEFAULT -> defaultCapacity;
+        };
+    }
+
+    public int perMinute(RouteGroup group) {
+        return switch (group) {
+            case AUTH -> authPerMinute;
+            case STATISTICS -> statisticsPerMinute;
+            case DEFAULT -> defaultPerMinute;
+        };
+    }
+}
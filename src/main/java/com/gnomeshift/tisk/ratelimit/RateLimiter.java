@@ -0,0 +1,106 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per route group and subject, a user id or a client IP. Lookups don't lock, only creating
+ * a bucket locks a single bin of the map, and taking a token is a compare-and-set on the bucket, so
+ * requests of different subjects never wait for each other. Buckets that have been full for a while are
+ * evicted; a request racing with the eviction may take its token from the dropped bucket, which only
+ * means the subject starts over with a full one.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final ConcurrentHashMap<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RouteGroup, Long> intervals = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> allowed = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        // Registered upfront, the request path only increments
+        for (RouteGroup group : RouteGroup.values()) {
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            intervals.put(group, NANOS_PER_MINUTE / properties.perMinute(group));
+            allowed.put(group, meterRegistry.counter("rate.limit.requests", "group", tag, "outcome", "allowed"));
+            rejected.put(group, meterRegistry.counter("rate.limit.requests", "group", tag, "outcome", "rejected"));
+        }
+        Gauge.builder("rate.limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Decision tryAcquire(RouteGroup group, Object subject) {
+        return tryAcquire(group, subject, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    Decision tryAcquire(RouteGroup group, Object subject, long nowNanos) {
+        Key key = new Key(group, subject);
+        TokenBucket bucket = buckets.get(key);
+
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(nowNanos));
+        }
+
+        int capacity = properties.capacity(group);
+        long interval = intervals.get(group);
+        long untilFull = bucket.tryAcquire(nowNanos, interval, capacity);
+
+        if (untilFull < 0) {
+            rejected.get(group).increment();
+            return new Decision(false, capacity, 0, seconds(-untilFull + (capacity - 1) * interval), seconds(-untilFull));
+        }
+
+        allowed.get(group).increment();
+        return new Decision(true, capacity, (capacity * interval - untilFull) / interval, seconds(untilFull), 0);
+    }
+
+    void evictIdle(long nowNanos) {
+        long idle = TimeUnit.MINUTES.toNanos(properties.getIdleMinutes());
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, idle));
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static long seconds(long nanos) {
+        return Math.ceilDiv(nanos, NANOS_PER_SECOND);
+    }
+
+    /**
+     * Outcome of a request, {@code reset} is the number of seconds until the bucket is full again
+     * and {@code retryAfter} the seconds until a rejected request may be repeated.
+     */
+    public record Decision(boolean allowed, int limit, long remaining, long reset, long retryAfter) {
+    }
+
+    private record Key(RouteGroup group, Object subject) {
+    }
+}
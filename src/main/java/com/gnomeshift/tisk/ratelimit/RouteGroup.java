@@ -0,0 +1,28 @@
+package com.gnomeshift.tisk.ratelimit;
+
+/**
+ * API routes sharing one rate limit. Login and the statistics queries are expensive,
+ * everything else falls into {@link #DEFAULT}.
+ */
+public enum RouteGroup {
+    AUTH("/api/auth"),
+    STATISTICS("/api/statistics"),
+    DEFAULT("/api");
+
+    private final String prefix;
+
+    RouteGroup(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public static RouteGroup of(String path) {
+        if (AUTH.matches(path)) {
+            return AUTH;
+        }
+        return STATISTICS.matches(path) ? STATISTICS : DEFAULT;
+    }
+
+    private boolean matches(String path) {
+        return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+}
@@ -0,0 +1,43 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp, the generic cell rate algorithm: instead of a token count it
+ * stores when the bucket will be full again, so taking a token is one compare-and-set and nothing has to
+ * refill it in the background. A bucket whose timestamp is in the past is full.
+ */
+final class TokenBucket {
+    // Nanos at which the bucket is full again
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token at {@code nowNanos}, one being added every {@code intervalNanos} up to {@code capacity}.
+     * Returns how long until the bucket is full again, or, if it is empty, the negated time until
+     * the next token.
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, int capacity) {
+        long tolerance = intervalNanos * capacity;
+
+        while (true) {
+            long current = fullAt.get();
+            long untilFull = Math.max(current - nowNanos, 0) + intervalNanos;
+
+            if (untilFull > tolerance) {
+                return -(untilFull - tolerance);
+            }
+
+            if (fullAt.compareAndSet(current, nowNanos + untilFull)) {
+                return untilFull;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - fullAt.get() > idleNanos;
+    }
+}
@@ -0,0 +1,174 @@
+package com.gnomeshift.tisk.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * In-process BM25 index over ticket title and description.
+ * Lives in memory unless {@code app.search.index-path} points to a directory.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene", matchIfMissing = true)
+@Slf4j
+public class LuceneTicketSearchEngine implements TicketSearchEngine {
+    private static final String ID_FIELD = "id";
+    private static final String TITLE_FIELD = "title";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final float TITLE_BOOST = 2.0f;
+
+    private final Analyzer analyzer = new TicketAnalyzer();
+    private final QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneTicketSearchEngine(SearchProperties searchProperties) {
+        try {
+            String indexPath = searchProperties.getIndexPath();
+            directory = indexPath == null || indexPath.isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Path.of(indexPath));
+
+            // Index is always rebuilt from the database on startup
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index", e);
+        }
+    }
+
+    @Override
+    public void rebuild(Stream<TicketSearchDocument> documents) {
+        try {
+            writer.deleteAll();
+            for (TicketSearchDocument document : (Iterable<TicketSearchDocument>) documents::iterator) {
+                writer.addDocument(toLuceneDocument(document));
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild search index", e);
+        }
+    }
+
+    @Override
+    public void index(TicketSearchDocument document) {
+        try {
+            writer.updateDocument(new Term(ID_FIELD, document.getId().toString()), toLuceneDocument(document));
+            searcherManager.maybeRefresh();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to index ticket " + document.getId(), e);
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        try {
+            writer.deleteDocuments(new Term(ID_FIELD, id.toString()));
+            searcherManager.maybeRefresh();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove ticket " + id + " from index", e);
+        }
+    }
+
+    @Override
+    public List<UUID> search(String query, int limit) {
+        Query luceneQuery = buildQuery(query);
+
+        if (luceneQuery == null) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+
+            try {
+                TopDocs topDocs = searcher.search(luceneQuery, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<UUID> ids = new ArrayList<>(topDocs.scoreDocs.length);
+
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(UUID.fromString(storedFields.document(scoreDoc.doc).get(ID_FIELD)));
+                }
+                return ids;
+            }
+            finally {
+                searcherManager.release(searcher);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to search tickets", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query buildQuery(String query) {
+        Query titleQuery = queryBuilder.createBooleanQuery(TITLE_FIELD, query);
+        Query descriptionQuery = queryBuilder.createBooleanQuery(DESCRIPTION_FIELD, query);
+
+        // Query consisted only of stop words or punctuation
+        if (titleQuery == null || descriptionQuery == null) {
+            return null;
+        }
+
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(titleQuery, TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                .add(descriptionQuery, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private Document toLuceneDocument(TicketSearchDocument ticket) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, ticket.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE_FIELD, nullToEmpty(ticket.getTitle()), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION_FIELD, nullToEmpty(ticket.getDescription()), Field.Store.NO));
+        return document;
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
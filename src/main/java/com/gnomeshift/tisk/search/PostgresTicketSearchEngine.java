@@ -0,0 +1,56 @@
+package com.gnomeshift.tisk.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Pushes search down to PostgreSQL full-text search backed by a GIN expression index,
+ * created by the {@code V10__ticket_search_index} migration.
+ * The {@code russian} configuration stems Cyrillic words with the Russian stemmer
+ * and ASCII words with the English one.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresTicketSearchEngine implements TicketSearchEngine {
+    // Must match the index expression of V10__ticket_search_index exactly, otherwise the planner won't use the index
+    private static final String DOCUMENT = """
+            (setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+             setweight(to_tsvector('russian', coalesce(description, '')), 'B'))""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean isMaintainedInProcess() {
+        return false;
+    }
+
+    @Override
+    public void rebuild(Stream<TicketSearchDocument> documents) {
+    }
+
+    @Override
+    public void index(TicketSearchDocument document) {
+    }
+
+    @Override
+    public void remove(UUID id) {
+    }
+
+    @Override
+    public List<UUID> search(String query, int limit) {
+        String sql = """
+                SELECT id FROM tickets, websearch_to_tsquery('russian', ?) query
+                WHERE %s @@ query
+                ORDER BY ts_rank_cd(%s, query) DESC
+                LIMIT ?
+                """.formatted(DOCUMENT, DOCUMENT);
+        return jdbcTemplate.queryForList(sql, UUID.class, query, limit);
+    }
+}
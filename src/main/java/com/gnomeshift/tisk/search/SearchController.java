@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.search;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tickets/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<TicketDTO>> searchTickets(@RequestParam String q,
+                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(searchService.searchTickets(q, size));
+    }
+}
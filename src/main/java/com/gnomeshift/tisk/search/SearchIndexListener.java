@@ -0,0 +1,54 @@
+package com.gnomeshift.tisk.search;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexListener {
+    private final TicketSearchEngine searchEngine;
+    private final TicketRepository ticketRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        if (!searchEngine.isMaintainedInProcess()) {
+            return;
+        }
+
+        log.info("Rebuilding ticket search index");
+
+        try (Stream<TicketSearchDocument> documents = ticketRepository.streamSearchDocuments()) {
+            searchEngine.rebuild(documents);
+        }
+        log.info("Ticket search index rebuilt");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (!searchEngine.isMaintainedInProcess()) {
+            return;
+        }
+
+        if (event.getType() == TicketEventType.DELETED) {
+            searchEngine.remove(event.getTicketId());
+            return;
+        }
+
+        TicketDTO ticket = event.getTicket();
+        searchEngine.index(new TicketSearchDocument(ticket.getId(), ticket.getTitle(), ticket.getDescription()));
+    }
+}
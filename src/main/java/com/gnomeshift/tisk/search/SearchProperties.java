@@ -0,0 +1,18 @@
+package com.gnomeshift.tisk.search;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+public class SearchProperties {
+    @Value("${app.search.backend:lucene}")
+    private String backend;
+
+    @Value("${app.search.index-path:}")
+    private String indexPath;
+
+    @Value("${app.search.max-query-length:200}")
+    private int maxQueryLength;
+}
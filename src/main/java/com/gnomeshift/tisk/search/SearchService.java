@@ -0,0 +1,57 @@
+package com.gnomeshift.tisk.search;
+
+import com.gnomeshift.tisk.pagination.PaginationProperties;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketMapper;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchService {
+    private final TicketSearchEngine searchEngine;
+    private final TicketRepository ticketRepository;
+    private final TicketMapper ticketMapper;
+    private final PaginationProperties paginationProperties;
+    private final SearchProperties searchProperties;
+
+    public List<TicketDTO> searchTickets(String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query required");
+        }
+
+        if (query.length() > searchProperties.getMaxQueryLength()) {
+            throw new ValidationException("Search query must be at most " + searchProperties.getMaxQueryLength() + " characters");
+        }
+
+        List<UUID> ids = searchEngine.search(query, paginationProperties.resolveSize(size));
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep engine ranking, the database returns rows in arbitrary order
+        Map<UUID, Ticket> tickets = ticketRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        return ids.stream()
+                .map(tickets::get)
+                .filter(Objects::nonNull)
+                .map(ticketMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.gnomeshift.tisk.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.en.PorterStemFilter;
+import org.apache.lucene.analysis.ru.RussianAnalyzer;
+import org.apache.lucene.analysis.snowball.SnowballFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.tartarus.snowball.ext.RussianStemmer;
+
+/**
+ * Mixed Russian/English analyzer. The Russian stemmer only touches Cyrillic tokens
+ * and the Porter stemmer only Latin ones, so both can run in the same chain.
+ */
+public class TicketAnalyzer extends Analyzer {
+    private static final CharArraySet STOP_WORDS = createStopWords();
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new StandardTokenizer();
+        TokenStream result = new LowerCaseFilter(source);
+        result = new StopFilter(result, STOP_WORDS);
+        result = new SnowballFilter(result, new RussianStemmer());
+        result = new PorterStemFilter(result);
+        return new TokenStreamComponents(source, result);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new LowerCaseFilter(in);
+    }
+
+    private static CharArraySet createStopWords() {
+        CharArraySet stopWords = CharArraySet.copy(RussianAnalyzer.getDefaultStopSet());
+        stopWords.addAll(EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+        return CharArraySet.unmodifiableSet(stopWords);
+    }
+}
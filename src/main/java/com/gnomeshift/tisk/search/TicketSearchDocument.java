@@ -0,0 +1,16 @@
+package com.gnomeshift.tisk.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchDocument {
+    private UUID id;
+    private String title;
+    private String description;
+}
@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.search;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TicketSearchEngine {
+    /**
+     * Whether the engine keeps its own index that has to be fed from {@link com.gnomeshift.tisk.ticket.TicketEvent}s
+     * and rebuilt on startup. Engines that query the database directly return {@code false}.
+     */
+    default boolean isMaintainedInProcess() {
+        return true;
+    }
+
+    void rebuild(Stream<TicketSearchDocument> documents);
+
+    void index(TicketSearchDocument document);
+
+    void remove(UUID id);
+
+    /**
+     * @return ids of matching tickets, best match first
+     */
+    List<UUID> search(String query, int limit);
+}
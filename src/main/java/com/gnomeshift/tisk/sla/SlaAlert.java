@@ -0,0 +1,64 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A fired SLA warning or breach. The unique key makes every stage fire once per ticket,
+ * across restarts and instances.
+ */
+@Entity
+@Table(name = "ticket_sla_alerts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ticket_sla_alerts_ticket_id_kind_stage", columnNames = {"ticket_id", "kind", "stage"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SlaAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // No association, tickets is partitioned and alerts outlive archiving
+    @Column(nullable = false)
+    private UUID ticketId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SlaKind kind;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SlaStage stage;
+
+    // Priority the deadline was computed for
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TicketPriority priority;
+
+    @Column(nullable = false)
+    private LocalDateTime deadline;
+
+    @Column(nullable = false)
+    private LocalDateTime firedAt;
+}
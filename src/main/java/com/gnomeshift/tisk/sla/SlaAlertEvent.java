@@ -0,0 +1,25 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@link SlaMonitor} once per ticket and stage, after the alert is recorded.
+ * {@code priority} and {@code version} are those of the ticket when the deadline was checked.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SlaAlertEvent {
+    private final UUID ticketId;
+    private final SlaKind kind;
+    private final SlaStage stage;
+    private final TicketPriority priority;
+    private final LocalDateTime deadline;
+    private final Long version;
+}
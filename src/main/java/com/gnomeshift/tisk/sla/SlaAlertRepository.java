@@ -0,0 +1,20 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface SlaAlertRepository extends JpaRepository<SlaAlert, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TicketRepository.STREAM_FETCH_SIZE))
+    @Query("""
+        SELECT a FROM SlaAlert a
+        WHERE a.ticketId IN (SELECT t.id FROM Ticket t WHERE t.status <> 'CLOSED')
+        """)
+    Stream<SlaAlert> streamForOpenTickets();
+}
@@ -0,0 +1,44 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketService;
+import com.gnomeshift.tisk.ticket.UpdateTicketDTO;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Raises the priority of a ticket by one level when it breaches a deadline. Each deadline breaches
+ * once, so a ticket is escalated at most once for response and once for resolution.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlaEscalator {
+    private final SlaProperties properties;
+    private final TicketService ticketService;
+
+    @EventListener
+    public void onSlaAlert(SlaAlertEvent event) {
+        if (!properties.isEscalate() || event.getStage() != SlaStage.BREACH
+                || event.getPriority() == TicketPriority.VERY_HIGH) {
+            return;
+        }
+
+        TicketPriority raised = TicketPriority.values()[event.getPriority().ordinal() + 1];
+        UpdateTicketDTO update = new UpdateTicketDTO();
+        update.setPriority(raised);
+
+        try {
+            // Versioned, so a change made since the deadline was checked is never overwritten
+            ticketService.updateTicket(event.getTicketId(), update, event.getVersion());
+            log.info("Escalated ticket {} to {} after {} breach", event.getTicketId(), raised, event.getKind());
+        }
+        catch (OptimisticLockingFailureException | EntityNotFoundException e) {
+            log.info("Skipped escalation of ticket {}: {}", event.getTicketId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.gnomeshift.tisk.sla;
+
+public enum SlaKind {
+    // Ticket leaves OPEN, usually by being assigned
+    RESPONSE,
+    // Ticket is closed
+    RESOLUTION
+}
@@ -0,0 +1,233 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Fires SLA warnings and breaches for open tickets from an in-memory {@link SlaSchedule}, instead of polling
+ * the tickets table. The schedule is built from the database on startup and periodically, the latter also
+ * picks up changes made outside the service, and is kept current in between by committed ticket events.
+ * Before an alert is recorded the ticket is read again, so a stale timer never fires.
+ */
+@Component
+@Slf4j
+public class SlaMonitor {
+    private final SlaProperties properties;
+    private final TicketRepository ticketRepository;
+    private final SlaAlertRepository slaAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private volatile SlaSchedule schedule;
+
+    // Changes made while a rebuild is running, replayed onto the new schedule; guarded by this
+    private List<Consumer<SlaSchedule>> journal;
+
+    // Own thread, so that ticks aren't held up by other jobs on the shared scheduler
+    private ScheduledExecutorService ticker;
+
+    public SlaMonitor(SlaProperties properties, TicketRepository ticketRepository, SlaAlertRepository slaAlertRepository,
+                      TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ticketRepository = ticketRepository;
+        this.slaAlertRepository = slaAlertRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.schedule = new SlaSchedule(properties, System.currentTimeMillis());
+        Gauge.builder("ticket.sla.timers", this, monitor -> monitor.schedule.size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sla-ticker").daemon().factory());
+        ticker.scheduleAtFixedRate(this::tick, properties.getTickMs(), properties.getTickMs(), TimeUnit.MILLISECONDS);
+        rebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tickets.sla.refresh-interval-ms:3600000}",
+            initialDelayString = "${app.tickets.sla.refresh-interval-ms:3600000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        log.info("Rebuilding SLA schedule");
+
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+
+        SlaSchedule rebuilt = new SlaSchedule(properties, System.currentTimeMillis());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<SlaTicket> tickets = ticketRepository.streamSlaTickets()) {
+                    tickets.forEach(ticket -> rebuilt.update(ticket.getId(), ticket.getStatus(),
+                            ticket.getPriority(), ticket.getCreatedAt()));
+                }
+
+                try (Stream<SlaAlert> alerts = slaAlertRepository.streamForOpenTickets()) {
+                    alerts.forEach(alert -> rebuilt.reached(alert.getTicketId(), alert.getKind(), alert.getStage()));
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            synchronized (this) {
+                journal = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            journal.forEach(change -> change.accept(rebuilt));
+            journal = null;
+            schedule = rebuilt;
+        }
+        log.info("SLA schedule rebuilt with {} timers", rebuilt.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        TicketDTO ticket = event.getTicket();
+
+        if (event.getType() == TicketEventType.DELETED) {
+            apply(schedule -> schedule.remove(event.getTicketId()));
+            return;
+        }
+        apply(schedule -> schedule.update(ticket.getId(), ticket.getStatus(), ticket.getPriority(), ticket.getCreatedAt()));
+    }
+
+    /**
+     * Fires everything due by {@code nowMillis}. Alerts are recorded outside the lock,
+     * so ticket events aren't held up by the database.
+     */
+    void tick(long nowMillis) {
+        List<SlaSchedule.Due> due = new ArrayList<>();
+
+        synchronized (this) {
+            schedule.advance(nowMillis, due::add);
+        }
+        due.forEach(this::fire);
+    }
+
+    private void tick() {
+        // An exception would cancel all further ticks
+        try {
+            tick(System.currentTimeMillis());
+        }
+        catch (RuntimeException e) {
+            log.error("SLA tick failed", e);
+        }
+    }
+
+    private void fire(SlaSchedule.Due due) {
+        Optional<SlaAlertEvent> alert;
+
+        try {
+            alert = transactionTemplate.execute(status -> record(due));
+        }
+        catch (DataIntegrityViolationException e) {
+            log.debug("SLA {} {} of ticket {} already fired", due.kind(), due.stage(), due.ticketId());
+            apply(schedule -> schedule.reached(due.ticketId(), due.kind(), due.stage()));
+            return;
+        }
+        catch (RuntimeException e) {
+            // Retried by the next rebuild
+            log.error("Failed to record SLA {} {} of ticket {}", due.kind(), due.stage(), due.ticketId(), e);
+            return;
+        }
+
+        if (alert == null || alert.isEmpty()) {
+            return;
+        }
+
+        apply(schedule -> schedule.reached(due.ticketId(), due.kind(), due.stage()));
+        meterRegistry.counter("ticket.sla.alerts", "kind", due.kind().name(), "stage", due.stage().name()).increment();
+        log.warn("SLA {} {} for ticket {}, deadline {}", due.kind(), due.stage(), due.ticketId(), alert.get().getDeadline());
+        eventPublisher.publishEvent(alert.get());
+    }
+
+    private Optional<SlaAlertEvent> record(SlaSchedule.Due due) {
+        Optional<Ticket> found = ticketRepository.findById(due.ticketId());
+
+        if (found.isEmpty()) {
+            apply(schedule -> schedule.remove(due.ticketId()));
+            return Optional.empty();
+        }
+
+        Ticket ticket = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deadline = ticket.getCreatedAt().plus(properties.offset(due.kind(), due.stage(), ticket.getPriority()));
+        boolean applies = ticket.getStatus() != TicketStatus.CLOSED
+                && (due.kind() == SlaKind.RESOLUTION || ticket.getStatus() == TicketStatus.OPEN);
+
+        if (!applies || deadline.isAfter(now)) {
+            // Changed without an event, e.g. outside the service
+            apply(schedule -> schedule.update(ticket.getId(), ticket.getStatus(), ticket.getPriority(), ticket.getCreatedAt()));
+            return Optional.empty();
+        }
+
+        slaAlertRepository.saveAndFlush(SlaAlert.builder()
+                .ticketId(ticket.getId())
+                .kind(due.kind())
+                .stage(due.stage())
+                .priority(ticket.getPriority())
+                .deadline(deadline)
+                .firedAt(now)
+                .build());
+        return Optional.of(new SlaAlertEvent(ticket.getId(), due.kind(), due.stage(), ticket.getPriority(),
+                deadline, ticket.getVersion()));
+    }
+
+    private synchronized void apply(Consumer<SlaSchedule> change) {
+        change.accept(schedule);
+
+        if (journal != null) {
+            journal.add(change);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaProperties {
+    // Track response and resolution deadlines of open tickets
+    @Value("${app.tickets.sla.enabled:true}")
+    private boolean enabled;
+
+    // Raise the priority of tickets that breach a deadline
+    @Value("${app.tickets.sla.escalate:true}")
+    private boolean escalate;
+
+    // Share of the deadline after which a warning is fired
+    @Value("${app.tickets.sla.warning-ratio:0.8}")
+    private double warningRatio;
+
+    // Timer resolution
+    @Value("${app.tickets.sla.tick-ms:1000}")
+    private long tickMs;
+
+    // Minutes from creation, by priority
+    @Value("${app.tickets.sla.response.low:1440}")
+    private long responseLow;
+
+    @Value("${app.tickets.sla.response.medium:480}")
+    private long responseMedium;
+
+    @Value("${app.tickets.sla.response.high:240}")
+    private long responseHigh;
+
+    @Value("${app.tickets.sla.response.very-high:60}")
+    private long responseVeryHigh;
+
+    @Value("${app.tickets.sla.resolution.low:10080}")
+    private long resolutionLow;
+
+    @Value("${app.tickets.sla.resolution.medium:4320}")
+    private long resolutionMedium;
+
+    @Value("${app.tickets.sla.resolution.high:1440}")
+    private long resolutionHigh;
+
+    @Value("${app.tickets.sla.resolution.very-high:480}")
+    private long resolutionVeryHigh;
+
+    /**
+     * Time from ticket creation until the given stage is reached.
+     */
+    public Duration offset(SlaKind kind, SlaStage stage, TicketPriority priority) {
+        long minutes = switch (kind) {
+            case RESPONSE -> switch (priority) {
+                case LOW -> responseLow;
+                case MEDIUM -> responseMedium;
+                case HIGH -> responseHigh;
+                case VERY_HIGH -> responseVeryHigh;
+            };
+            case RESOLUTION -> switch (priority) {
+                case LOW -> resolutionLow;
+                case MEDIUM -> resolutionMedium;
+                case HIGH -> resolutionHigh;
+                case VERY_HIGH -> resolutionVeryHigh;
+            };
+        };
+        Duration deadline = Duration.ofMinutes(minutes);
+        return stage == SlaStage.BREACH ? deadline : Duration.ofMillis((long) (deadline.toMillis() * warningRatio));
+    }
+}
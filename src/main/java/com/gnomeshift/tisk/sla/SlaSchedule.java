@@ -0,0 +1,149 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Deadlines of open tickets on a {@link TimingWheel}. A ticket has at most one pending timer per
+ * {@link SlaKind}, for the next stage it hasn't reached. Expired timers aren't followed up until
+ * the stage is confirmed with {@link #reached}, or the ticket is updated. Not thread-safe.
+ */
+class SlaSchedule {
+    private final SlaProperties properties;
+    private final TimingWheel<Tracked> wheel;
+    private final Map<UUID, Tracked> tickets = new HashMap<>();
+
+    SlaSchedule(SlaProperties properties, long nowMillis) {
+        this.properties = properties;
+        this.wheel = new TimingWheel<>(properties.getTickMs(), nowMillis);
+    }
+
+    void update(UUID id, TicketStatus status, TicketPriority priority, LocalDateTime createdAt) {
+        if (status == TicketStatus.CLOSED) {
+            remove(id);
+            return;
+        }
+
+        Tracked ticket = tickets.computeIfAbsent(id, Tracked::new);
+        ticket.status = status;
+        ticket.priority = priority;
+        ticket.createdAt = createdAt;
+        reschedule(ticket, SlaKind.RESPONSE);
+        reschedule(ticket, SlaKind.RESOLUTION);
+    }
+
+    void reached(UUID id, SlaKind kind, SlaStage stage) {
+        Tracked ticket = tickets.get(id);
+
+        if (ticket != null && ticket.reach(kind, stage)) {
+            reschedule(ticket, kind);
+        }
+    }
+
+    void remove(UUID id) {
+        Tracked ticket = tickets.remove(id);
+
+        if (ticket != null) {
+            cancel(ticket, SlaKind.RESPONSE);
+            cancel(ticket, SlaKind.RESOLUTION);
+        }
+    }
+
+    void advance(long nowMillis, Consumer<Due> due) {
+        wheel.advance(nowMillis, timeout -> {
+            Tracked ticket = timeout.payload();
+            SlaKind kind = timeout == ticket.response ? SlaKind.RESPONSE : SlaKind.RESOLUTION;
+            ticket.setTimeout(kind, null);
+            due.accept(new Due(ticket.id, kind, ticket.next(kind)));
+        });
+    }
+
+    int size() {
+        return wheel.size();
+    }
+
+    private void reschedule(Tracked ticket, SlaKind kind) {
+        cancel(ticket, kind);
+
+        SlaStage stage = ticket.next(kind);
+
+        if (stage != null && (kind == SlaKind.RESOLUTION || ticket.status == TicketStatus.OPEN)) {
+            LocalDateTime deadline = ticket.createdAt.plus(properties.offset(kind, stage, ticket.priority));
+            ticket.setTimeout(kind, wheel.schedule(deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), ticket));
+        }
+    }
+
+    private void cancel(Tracked ticket, SlaKind kind) {
+        TimingWheel.Timeout<Tracked> timeout = ticket.timeout(kind);
+
+        if (timeout != null) {
+            wheel.cancel(timeout);
+            ticket.setTimeout(kind, null);
+        }
+    }
+
+    record Due(UUID ticketId, SlaKind kind, SlaStage stage) {
+    }
+
+    private static final class Tracked {
+        private final UUID id;
+        private TicketStatus status;
+        private TicketPriority priority;
+        private LocalDateTime createdAt;
+        private TimingWheel.Timeout<Tracked> response;
+        private TimingWheel.Timeout<Tracked> resolution;
+
+        // Last stage already fired, null if none
+        private SlaStage responseReached;
+        private SlaStage resolutionReached;
+
+        private Tracked(UUID id) {
+            this.id = id;
+        }
+
+        private TimingWheel.Timeout<Tracked> timeout(SlaKind kind) {
+            return kind == SlaKind.RESPONSE ? response : resolution;
+        }
+
+        private void setTimeout(SlaKind kind, TimingWheel.Timeout<Tracked> timeout) {
+            if (kind == SlaKind.RESPONSE) {
+                response = timeout;
+            }
+            else {
+                resolution = timeout;
+            }
+        }
+
+        private SlaStage next(SlaKind kind) {
+            SlaStage reached = kind == SlaKind.RESPONSE ? responseReached : resolutionReached;
+
+            if (reached == null) {
+                return SlaStage.WARNING;
+            }
+            return reached == SlaStage.WARNING ? SlaStage.BREACH : null;
+        }
+
+        private boolean reach(SlaKind kind, SlaStage stage) {
+            SlaStage reached = kind == SlaKind.RESPONSE ? responseReached : resolutionReached;
+
+            if (reached != null && reached.compareTo(stage) >= 0) {
+                return false;
+            }
+
+            if (kind == SlaKind.RESPONSE) {
+                responseReached = stage;
+            }
+            else {
+                resolutionReached = stage;
+            }
+            return true;
+        }
+    }
+}
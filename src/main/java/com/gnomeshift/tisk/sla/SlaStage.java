@@ -0,0 +1,6 @@
+package com.gnomeshift.tisk.sla;
+
+public enum SlaStage {
+    WARNING,
+    BREACH
+}
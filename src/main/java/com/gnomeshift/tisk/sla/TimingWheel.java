@@ -0,0 +1,170 @@
+package com.gnomeshift.tisk.sla;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level's slot spanning
+ * a whole turn of the level below. Scheduling and cancelling are O(1), and a tick only touches one slot,
+ * plus a cascade of one coarser slot into the finer levels every {@value #SLOTS} ticks.
+ * With one-second ticks the levels cover about 194 days, later timers wait in the top level
+ * and are re-placed each time it turns. Not thread-safe.
+ */
+class TimingWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Slot<T>[][] levels;
+
+    // Next tick to process
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.levels = new Slot[LEVELS][SLOTS];
+
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code payload} to expire on the first tick at or after {@code deadlineMillis}.
+     * Deadlines in the past expire on the next tick.
+     */
+    Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), 0));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    boolean cancel(Timeout<T> timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+
+        timeout.slot.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and hands expired timeouts to {@code expired},
+     * tick by tick. Timeouts may be scheduled and cancelled from within {@code expired}.
+     */
+    void advance(long nowMillis, Consumer<Timeout<T>> expired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+
+        while (currentTick <= targetTick) {
+            int index = (int) (currentTick & MASK);
+
+            // Refill the finest level from coarser ones each time it wraps around
+            for (int level = 1; level < LEVELS && index == 0 && currentTick != 0; level++) {
+                index = (int) ((currentTick >>> (BITS * level)) & MASK);
+                cascade(levels[level][index]);
+            }
+
+            Slot<T> slot = levels[0][(int) (currentTick & MASK)];
+            Timeout<T> timeout;
+
+            while ((timeout = slot.poll()) != null) {
+                size--;
+                expired.accept(timeout);
+            }
+            currentTick++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade(Slot<T> slot) {
+        Timeout<T> timeout;
+
+        while ((timeout = slot.poll()) != null) {
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.expiryTick - currentTick;
+        long tick = delta > MAX_DELTA ? currentTick + MAX_DELTA : Math.max(timeout.expiryTick, currentTick);
+        delta = tick - currentTick;
+
+        int level = 0;
+
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((tick >>> (BITS * level)) & MASK)].link(timeout);
+    }
+
+    static final class Timeout<T> {
+        private final T payload;
+        private final long expiryTick;
+        private Slot<T> slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long expiryTick) {
+            this.payload = payload;
+            this.expiryTick = expiryTick;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    // Doubly linked so that cancelling doesn't have to search
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        private void link(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            }
+            else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> poll() {
+            Timeout<T> timeout = head;
+
+            if (timeout != null) {
+                unlink(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.gnomeshift.tisk.stats;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Live assignee counts with the archived tickets added in.
+ */
+@Value
+public class CombinedAssigneeCount implements AssigneeCount {
+    UUID assigneeId;
+    String firstName;
+    String lastName;
+    String email;
+    Long totalCount;
+    Long openCount;
+    Long inProgressCount;
+    Long closedCount;
+    Double averageResolutionTime;
+}
@@ -0,0 +1,15 @@
+package com.gnomeshift.tisk.stats;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Live daily counts with the archived tickets added in.
+ */
+@Value
+public class CombinedDailyCount implements DailyCount {
+    LocalDate date;
+    Long created;
+    Long closed;
+}
@@ -1,5 +1,7 @@
 package com.gnomeshift.tisk.stats;
 
+import com.gnomeshift.tisk.etag.ConditionalResponses;
+import com.gnomeshift.tisk.etag.ETagService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -7,11 +9,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/statistics")
@@ -20,52 +24,59 @@ import java.util.UUID;
 @PreAuthorize("hasRole('ADMIN')")
 public class StatisticsController {
     private final StatisticsService statisticsService;
+    private final ETagService eTagService;
 
     @GetMapping
-    public ResponseEntity<TicketStatisticsDTO> getOverallStatistics() {
-        return ResponseEntity.ok(statisticsService.getAllStatistics());
+    public ResponseEntity<TicketStatisticsDTO> getOverallStatistics(WebRequest request) {
+        return conditional(request, statisticsService::getAllStatistics);
     }
+
     @GetMapping("/by-status")
-    public ResponseEntity<Map<String, Long>> getStatisticsByStatus() {
-        return ResponseEntity.ok(statisticsService.getTicketsByStatus());
+    public ResponseEntity<Map<String, Long>> getStatisticsByStatus(WebRequest request) {
+        return conditional(request, statisticsService::getTicketsByStatus);
     }
 
     @GetMapping("/by-priority")
-    public ResponseEntity<Map<String, Long>> getStatisticsByPriority() {
-        return ResponseEntity.ok(statisticsService.getTicketsByPriority());
+    public ResponseEntity<Map<String, Long>> getStatisticsByPriority(WebRequest request) {
+        return conditional(request, statisticsService::getTicketsByPriority);
     }
 
     @GetMapping("/assignees")
-    public ResponseEntity<List<AssigneeStatisticsDTO>> getAllAssigneesStatistics() {
-        return ResponseEntity.ok(statisticsService.getAllAssigneesStatistics());
+    public ResponseEntity<List<AssigneeStatisticsDTO>> getAllAssigneesStatistics(WebRequest request) {
+        return conditional(request, statisticsService::getAllAssigneesStatistics);
     }
 
     @GetMapping("/assignees/{id}")
-    public ResponseEntity<AssigneeStatisticsDTO> getAssigneeStatisticsById(@PathVariable UUID id) {
-        return ResponseEntity.ok(statisticsService.getAssigneeStatisticsById(id));
+    public ResponseEntity<AssigneeStatisticsDTO> getAssigneeStatisticsById(@PathVariable UUID id, WebRequest request) {
+        return conditional(request, () -> statisticsService.getAssigneeStatisticsById(id));
     }
 
     @GetMapping("/period")
     public ResponseEntity<PeriodStatisticsDTO> getPeriodStatistics(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(statisticsService.getPeriodStatistics(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        return conditional(request, () -> statisticsService.getPeriodStatistics(startDate, endDate));
     }
 
     @GetMapping("/last-days/{days}")
-    public ResponseEntity<PeriodStatisticsDTO> getLastDaysStatistics(@PathVariable int days) {
+    public ResponseEntity<PeriodStatisticsDTO> getLastDaysStatistics(@PathVariable int days, WebRequest request) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days - 1);
-        return ResponseEntity.ok(statisticsService.getPeriodStatistics(startDate, endDate));
+        return conditional(request, () -> statisticsService.getPeriodStatistics(startDate, endDate));
     }
 
     @GetMapping("/by-department")
-    public ResponseEntity<Map<String, Long>> getStatisticsByDepartment() {
-        return ResponseEntity.ok(statisticsService.getTicketsByDepartment());
+    public ResponseEntity<Map<String, Long>> getStatisticsByDepartment(WebRequest request) {
+        return conditional(request, statisticsService::getTicketsByDepartment);
     }
 
     @GetMapping("/my")
-    public ResponseEntity<AssigneeStatisticsDTO> getMyStatistics(Authentication authentication) {
-        return ResponseEntity.ok(statisticsService.getMyStatistics(authentication.getName()));
+    public ResponseEntity<AssigneeStatisticsDTO> getMyStatistics(Authentication authentication, WebRequest request) {
+        return conditional(request, () -> statisticsService.getMyStatistics(authentication.getName()));
+    }
+
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> statistics) {
+        return ConditionalResponses.ifNoneMatch(request, eTagService.forStatistics(request), statistics);
     }
 }
@@ -1,5 +1,7 @@
 package com.gnomeshift.tisk.stats;
 
+import com.gnomeshift.tisk.archive.ArchiveAssigneeCount;
+import com.gnomeshift.tisk.archive.TicketArchiveStatsRepository;
 import com.gnomeshift.tisk.ticket.TicketPriority;
 import com.gnomeshift.tisk.ticket.TicketRepository;
 import com.gnomeshift.tisk.ticket.TicketStatus;
@@ -18,6 +20,7 @@ import java.time.temporal.WeekFields;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +32,7 @@ public class StatisticsService {
     private final AssigneeStatisticsMapper assigneeStatisticsMapper;
     private final PeriodStatisticsMapper periodStatisticsMapper;
     private final UserRepository userRepository;
+    private final TicketArchiveStatsRepository ticketArchiveStatsRepository;
 
     public TicketStatisticsDTO getAllStatistics() {
         log.info("Fetching all statistics");
@@ -37,38 +41,56 @@ public class StatisticsService {
         LocalDateTime startOfWeek = LocalDate.now().with(WeekFields.of(Locale.getDefault()).dayOfWeek(), 1).atStartOfDay();
         LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
 
+        Map<String, Long> liveByStatus = mapCountsToEnum(ticketRepository.countByStatus(), TicketStatus.values(),
+                StatusCount::getStatus, StatusCount::getCount);
+        long liveClosed = liveByStatus.get(TicketStatus.CLOSED.name());
+        long archived = ticketArchiveStatsRepository.sumTickets();
+
         return ticketStatisticsMapper.toDto(
                 TicketStatistics.builder()
-                .totalTickets(ticketRepository.count())
-                .unassignedTickets(ticketRepository.countByAssigneeIsNull())
-                .ticketsByStatus(getTicketsByStatus())
+                .totalTickets(ticketRepository.count() + archived)
+                .unassignedTickets(ticketRepository.countByAssigneeIsNull() + ticketArchiveStatsRepository.sumUnassigned())
+                .ticketsByStatus(withArchived(liveByStatus, archived))
                 .ticketsByPriority(getTicketsByPriority())
-                .createdToday(ticketRepository.countByCreatedAtAfter(startOfToday))
-                .createdThisWeek(ticketRepository.countByCreatedAtAfter(startOfWeek))
-                .createdThisMonth(ticketRepository.countByCreatedAtAfter(startOfMonth))
-                .closedToday(ticketRepository.countByStatusClosedAfter(startOfToday))
-                .closedThisWeek(ticketRepository.countByStatusClosedAfter(startOfWeek))
-                .closedThisMonth(ticketRepository.countByStatusClosedAfter(startOfMonth))
-                .averageResolutionTimeSeconds(ticketRepository.countAverageResolutionTime())
+                .createdToday(countCreatedSince(startOfToday))
+                .createdThisWeek(countCreatedSince(startOfWeek))
+                .createdThisMonth(countCreatedSince(startOfMonth))
+                .closedToday(countClosedSince(startOfToday))
+                .closedThisWeek(countClosedSince(startOfWeek))
+                .closedThisMonth(countClosedSince(startOfMonth))
+                .averageResolutionTimeSeconds(averageResolutionTime(ticketRepository.countAverageResolutionTime(),
+                        liveClosed, ticketArchiveStatsRepository.sumResolutionSeconds(), archived))
                 .build()
         );
     }
 
     public Map<String, Long> getTicketsByStatus() {
-        return mapCountsToEnum(ticketRepository.countByStatus(), TicketStatus.values(), StatusCount::getStatus, StatusCount::getCount);
+        return withArchived(mapCountsToEnum(ticketRepository.countByStatus(), TicketStatus.values(),
+                StatusCount::getStatus, StatusCount::getCount), ticketArchiveStatsRepository.sumTickets());
     }
 
     public Map<String, Long> getTicketsByPriority() {
-        return mapCountsToEnum(ticketRepository.countByPriority(), TicketPriority.values(), PriorityCount::getPriority, PriorityCount::getCount);
+        Map<String, Long> result = mapCountsToEnum(ticketRepository.countByPriority(), TicketPriority.values(),
+                PriorityCount::getPriority, PriorityCount::getCount);
+
+        for (PriorityCount count : ticketArchiveStatsRepository.countByPriority()) {
+            result.merge(count.getPriority(), count.getCount(), Long::sum);
+        }
+        return result;
     }
 
     public Map<String, Long> getTicketsByDepartment() {
         log.info("Fetching statistics by department");
 
-        return ticketRepository.countTicketsByDepartment().stream()
+        Map<String, Long> counts = new HashMap<>();
+        Stream.concat(ticketRepository.countTicketsByDepartment().stream(), ticketArchiveStatsRepository.countByDepartment().stream())
+                .forEach(row -> counts.merge((String) row[0], (Long) row[1], Long::sum));
+
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .collect(Collectors.toMap(
-                        row -> (String) row[0],
-                        row -> (Long) row[1],
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
                         (a, b) -> a,
                         LinkedHashMap::new
                 ));
@@ -76,7 +98,27 @@ public class StatisticsService {
 
     public List<AssigneeStatisticsDTO> getAllAssigneesStatistics() {
         log.info("Fetching assignee statistics");
-        return assigneeStatisticsMapper.toDtoList(ticketRepository.countAllAssigneesStatistics());
+
+        Map<UUID, AssigneeCount> live = ticketRepository.countAllAssigneesStatistics().stream()
+                .collect(Collectors.toMap(AssigneeCount::getAssigneeId, Function.identity()));
+        Map<UUID, ArchiveAssigneeCount> archived = ticketArchiveStatsRepository.countAllAssignees().stream()
+                .collect(Collectors.toMap(ArchiveAssigneeCount::getAssigneeId, Function.identity()));
+
+        // Assignees with only archived tickets aren't in the live query, their names are looked up
+        Map<UUID, User> archivedOnly = new HashMap<>();
+        List<UUID> missing = archived.keySet().stream().filter(id -> !live.containsKey(id)).toList();
+
+        if (!missing.isEmpty()) {
+            userRepository.findAllById(missing).forEach(user -> archivedOnly.put(user.getId(), user));
+        }
+
+        Stream<AssigneeCount> counts = Stream.concat(
+                live.values().stream().map(count -> withArchived(count, archived.get(count.getAssigneeId()))),
+                archivedOnly.values().stream().map(user -> withArchived(user, archived.get(user.getId())))
+        );
+        return assigneeStatisticsMapper.toDtoList(counts
+                .sorted(Comparator.comparing(AssigneeCount::getTotalCount).reversed())
+                .toList());
     }
 
     public AssigneeStatisticsDTO getAssigneeStatisticsById(UUID id) {
@@ -84,12 +126,7 @@ public class StatisticsService {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
 
-        AssigneeCount count = ticketRepository.countStatisticsByAssigneeId(id);
-
-        if (count == null) {
-            throw new EntityNotFoundException("No tickets found for assignee: " + id);
-        }
-        return assigneeStatisticsMapper.toDto(count);
+        return assigneeStatisticsMapper.toDto(countByAssignee(id));
     }
 
     public PeriodStatisticsDTO getPeriodStatistics(LocalDate startDate, LocalDate endDate) {
@@ -102,9 +139,12 @@ public class StatisticsService {
                 PeriodStatistics.builder()
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalCreated(ticketRepository.countByCreatedAtBetween(start, end))
-                .totalClosed(ticketRepository.countByStatusClosedBetween(start, end))
-                .dailyCounts(ticketRepository.getDailyStatistics(startDate, endDate))
+                .totalCreated(ticketRepository.countByCreatedAtBetween(start, end)
+                        + ticketArchiveStatsRepository.sumCreatedBetween(startDate, endDate))
+                .totalClosed(ticketRepository.countByStatusClosedBetween(start, end)
+                        + ticketArchiveStatsRepository.sumClosedBetween(startDate, endDate))
+                .dailyCounts(mergeDailyCounts(ticketRepository.getDailyStatistics(start, end),
+                        ticketArchiveStatsRepository.getDailyStatistics(startDate, endDate)))
                 .build()
         );
     }
@@ -112,12 +152,78 @@ public class StatisticsService {
     public AssigneeStatisticsDTO getMyStatistics(String email) {
         User assignee = userRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
-        AssigneeCount count = ticketRepository.countStatisticsByAssigneeId(assignee.getId());
+        return assigneeStatisticsMapper.toDto(countByAssignee(assignee.getId()));
+    }
+
+    private AssigneeCount countByAssignee(UUID id) {
+        AssigneeCount live = ticketRepository.countStatisticsByAssigneeId(id);
+        ArchiveAssigneeCount archived = ticketArchiveStatsRepository.countByAssigneeId(id).orElse(null);
+
+        if (live == null && archived == null) {
+            throw new EntityNotFoundException("No tickets found for assignee: " + id);
+        }
+
+        if (live == null) {
+            User assignee = userRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+            return withArchived(assignee, archived);
+        }
+        return withArchived(live, archived);
+    }
+
+    private long countCreatedSince(LocalDateTime dateTime) {
+        return ticketRepository.countByCreatedAtAfter(dateTime) + ticketArchiveStatsRepository.sumCreatedSince(dateTime.toLocalDate());
+    }
+
+    private long countClosedSince(LocalDateTime dateTime) {
+        return ticketRepository.countByStatusClosedAfter(dateTime) + ticketArchiveStatsRepository.sumClosedSince(dateTime.toLocalDate());
+    }
+
+    // Archived tickets are all closed
+    private Map<String, Long> withArchived(Map<String, Long> byStatus, long archived) {
+        byStatus.merge(TicketStatus.CLOSED.name(), archived, Long::sum);
+        return byStatus;
+    }
+
+    private AssigneeCount withArchived(AssigneeCount live, ArchiveAssigneeCount archived) {
+        if (archived == null) {
+            return live;
+        }
 
-        if (count == null) {
-            throw new EntityNotFoundException("No tickets found for assignee: " + assignee.getId());
+        return new CombinedAssigneeCount(live.getAssigneeId(), live.getFirstName(), live.getLastName(), live.getEmail(),
+                live.getTotalCount() + archived.getTicketCount(), live.getOpenCount(), live.getInProgressCount(),
+                live.getClosedCount() + archived.getTicketCount(),
+                averageResolutionTime(live.getAverageResolutionTime(), live.getClosedCount(),
+                        archived.getResolutionSeconds(), archived.getTicketCount()));
+    }
+
+    private AssigneeCount withArchived(User assignee, ArchiveAssigneeCount archived) {
+        return new CombinedAssigneeCount(assignee.getId(), assignee.getFirstName(), assignee.getLastName(), assignee.getEmail(),
+                archived.getTicketCount(), 0L, 0L, archived.getTicketCount(),
+                averageResolutionTime(null, 0L, archived.getResolutionSeconds(), archived.getTicketCount()));
+    }
+
+    private Double averageResolutionTime(Double liveAverage, Long liveClosed, double archivedSeconds, long archivedClosed) {
+        long closed = (liveAverage != null && liveClosed != null ? liveClosed : 0) + archivedClosed;
+
+        if (closed == 0) {
+            return liveAverage;
         }
-        return assigneeStatisticsMapper.toDto(count);
+
+        double liveSeconds = liveAverage != null && liveClosed != null ? liveAverage * liveClosed : 0;
+        return (liveSeconds + archivedSeconds) / closed;
+    }
+
+    private List<DailyCount> mergeDailyCounts(List<DailyCount> live, List<DailyCount> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+
+        Map<LocalDate, CombinedDailyCount> days = new TreeMap<>();
+        Stream.concat(live.stream(), archived.stream()).forEach(count -> days.merge(count.getDate(),
+                new CombinedDailyCount(count.getDate(), count.getCreated(), count.getClosed()),
+                (a, b) -> new CombinedDailyCount(a.getDate(), a.getCreated() + b.getCreated(), a.getClosed() + b.getClosed())));
+        return List.copyOf(days.values());
     }
 
     private <T, E extends Enum<E>> Map<String, Long> mapCountsToEnum(List<T> counts, E[] enumValues,
@@ -0,0 +1,22 @@
+package com.gnomeshift.tisk.ticket;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class BulkAssignDTO extends BulkSelectionDTO {
+    @NotNull(message = "Assignee ID required")
+    private UUID assigneeId;
+
+    public BulkAssignDTO(List<UUID> ids, TicketFilterDTO filter, UUID assigneeId) {
+        super(ids, filter);
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateResultDTO {
+    private int created;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+    private int index;
+    private BulkItemStatus status;
+    private UUID id;
+    private String error;
+}
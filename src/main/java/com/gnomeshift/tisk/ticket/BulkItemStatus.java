@@ -0,0 +1,6 @@
+package com.gnomeshift.tisk.ticket;
+
+public enum BulkItemStatus {
+    CREATED,
+    FAILED
+}
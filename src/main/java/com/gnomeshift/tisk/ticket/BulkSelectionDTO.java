@@ -0,0 +1,19 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tickets targeted by a bulk operation: either explicit ids or a filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSelectionDTO {
+    private List<UUID> ids;
+    private TicketFilterDTO filter;
+}
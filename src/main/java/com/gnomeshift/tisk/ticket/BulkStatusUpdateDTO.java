@@ -0,0 +1,22 @@
+package com.gnomeshift.tisk.ticket;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class BulkStatusUpdateDTO extends BulkSelectionDTO {
+    @NotNull(message = "Status required")
+    private TicketStatus status;
+
+    public BulkStatusUpdateDTO(List<UUID> ids, TicketFilterDTO filter, TicketStatus status) {
+        super(ids, filter);
+        this.status = status;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDTO {
+    private int affected;
+}
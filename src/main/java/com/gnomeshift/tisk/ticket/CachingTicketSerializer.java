@@ -0,0 +1,62 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Wraps the bean serializer of {@link TicketDTO}, writing fragments from {@link TicketJsonCache}
+ * as raw values and encoding through the wrapped serializer on a miss.
+ */
+class CachingTicketSerializer extends StdSerializer<TicketDTO> implements ContextualSerializer, ResolvableSerializer {
+    private final JsonSerializer<Object> delegate;
+    private final TicketJsonCache cache;
+
+    CachingTicketSerializer(JsonSerializer<Object> delegate, TicketJsonCache cache) {
+        super(TicketDTO.class);
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void serialize(TicketDTO ticket, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // Pretty printed output or generators without a codec (token buffers) can't take cached bytes as is
+        if (!TicketJsonCache.isCacheable(ticket) || gen.getPrettyPrinter() != null || gen.getCodec() == null) {
+            delegate.serialize(ticket, gen, provider);
+            return;
+        }
+        gen.writeRawValue(cache.get(ticket, value -> encode(value, gen, provider)));
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<?> contextual = provider.handleSecondaryContextualization(delegate, property);
+        return contextual == delegate ? this : new CachingTicketSerializer((JsonSerializer<Object>) contextual, cache);
+    }
+
+    private byte[] encode(TicketDTO ticket, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder();
+             JsonGenerator fragment = gen.getCodec().getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            delegate.serialize(ticket, fragment, provider);
+            fragment.flush();
+            return buffer.toByteArray();
+        }
+    }
+}
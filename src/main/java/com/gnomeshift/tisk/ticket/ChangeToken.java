@@ -0,0 +1,43 @@
+package com.gnomeshift.tisk.ticket;
+
+import jakarta.validation.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Delta sync position: the last {@link TicketChange} the client has read, as an opaque token.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeToken {
+    // Before every change, including the entries migrated for existing tickets
+    public static final ChangeToken START = new ChangeToken(-1, new UUID(0L, 0L));
+
+    private static final String SEPARATOR = "|";
+
+    private final long changeSeq;
+    private final UUID ticketId;
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + ticketId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new ChangeToken(
+                    Long.parseLong(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        }
+        catch (RuntimeException e) {
+            throw new ValidationException("Invalid change token");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.duplicate.DuplicateCandidateDTO;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Response to ticket creation: the ticket plus recent open tickets that look like near-duplicates of it.
+ * Separate from {@link TicketDTO} so the candidates never end up in {@link TicketJsonCache} or in events.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class CreatedTicketDTO extends TicketDTO {
+    private List<DuplicateCandidateDTO> duplicates;
+
+    public CreatedTicketDTO(TicketDTO ticket, List<DuplicateCandidateDTO> duplicates) {
+        super(ticket.getId(), ticket.getTitle(), ticket.getDescription(), ticket.getStatus(), ticket.getPriority(),
+                ticket.getReporter(), ticket.getAssignee(), ticket.getDuplicateOf(), ticket.getCreatedAt(),
+                ticket.getUpdatedAt(), ticket.getVersion());
+        this.duplicates = duplicates;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.user.UserDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ticket page with every referenced user side-loaded once in {@code users}, keyed by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NormalizedTicketPageDTO {
+    private List<TicketSummaryDTO> content;
+    private Map<UUID, UserDTO> users;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
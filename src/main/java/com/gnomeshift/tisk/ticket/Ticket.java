@@ -1,5 +1,6 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.gnomeshift.tisk.cache.EntityCacheConfig;
 import com.gnomeshift.tisk.user.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +12,9 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -18,7 +22,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.TICKETS)
+@NamedEntityGraph(name = Ticket.WITH_USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("reporter"),
+        @NamedAttributeNode("assignee")
+})
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tickets_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_tickets_reporter_created_at_id", columnList = "reporter_id, created_at, id"),
+        @Index(name = "idx_tickets_status_priority_created_at", columnList = "status, priority, created_at"),
+        @Index(name = "idx_tickets_assignee_status", columnList = "assignee_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +42,8 @@ import java.util.UUID;
 @Builder
 @ToString(exclude = {"reporter", "assignee"})
 public class Ticket {
+    public static final String WITH_USERS_GRAPH = "Ticket.withUsers";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -57,12 +75,20 @@ public class Ticket {
     @OnDelete(action = OnDeleteAction.SET_NULL)
     private User assignee;
 
+    // Older ticket this one was linked to as a near-duplicate on creation
+    private UUID duplicateOf;
+
     @NotNull
     private LocalDateTime createdAt;
 
     @NotNull
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,33 @@
+package com.gnomeshift.tisk.ticket;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Latest change of a ticket for delta sync, numbered by {@link TicketChangeLog} so that no entry appears below
+ * one already read. Deleted tickets keep their entry so clients learn about the deletion.
+ */
+@Entity
+@Table(name = "ticket_changes", indexes = {
+        @Index(name = "idx_ticket_changes_change_seq_ticket_id", columnList = "change_seq, ticket_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketChange {
+    @Id
+    private UUID ticketId;
+
+    private long changeSeq;
+
+    private boolean deleted;
+}
@@ -0,0 +1,179 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.etag.ChangeCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records the tickets each transaction created, changed or deleted for delta sync. Entries are written right
+ * before the commit and every ticket keeps only its latest entry. Readers must never see a number after
+ * a larger one, otherwise a client that has read up to the larger one misses the smaller one committed later.
+ * On PostgreSQL an entry is numbered with the id of the transaction writing it and readers stop at the
+ * {@link #horizon()}, the oldest transaction still running, so writers never wait for each other here.
+ * Elsewhere entries are numbered with the tickets change counter, whose stamped row stays locked until the
+ * commit, so entries are committed one transaction at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketChangeLog {
+    private static final String DELETE = "DELETE FROM ticket_changes WHERE ticket_id = ?";
+    private static final String INSERT = "INSERT INTO ticket_changes (ticket_id, change_seq, deleted) VALUES (?, ?, ?)";
+
+    // Transaction ids can't be cast to numbers directly, only through their text
+    private static final String INSERT_NUMBERED_BY_TRANSACTION = """
+            INSERT INTO ticket_changes (ticket_id, change_seq, deleted)
+            SELECT ?, pg_current_xact_id()::text::bigint + base, ? FROM ticket_change_base""";
+    private static final String HORIZON =
+            "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint + base FROM ticket_change_base";
+    private static final String RAISE_BASE = """
+            UPDATE ticket_change_base
+            SET base = (SELECT MAX(change_seq) FROM ticket_changes) + 1 - pg_current_xact_id()::text::bigint
+            WHERE pg_current_xact_id()::text::bigint + base <= (SELECT COALESCE(MAX(change_seq), -1) FROM ticket_changes)""";
+
+    private final ChangeCounters changeCounters;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Decided on first use, only PostgreSQL exposes transaction ids and snapshots
+    private volatile Boolean numberedByTransaction;
+
+    @EventListener
+    public void onTicketEvent(TicketEvent event) {
+        record(List.of(event.getTicketId()), event.getType() == TicketEventType.DELETED);
+    }
+
+    /**
+     * Records tickets written without a {@link TicketEvent}.
+     */
+    public void recordChanged(Collection<UUID> ids) {
+        record(ids, false);
+    }
+
+    /**
+     * Records tickets removed without a {@link TicketEvent}, such as archived ones.
+     */
+    public void recordDeleted(Collection<UUID> ids) {
+        record(ids, true);
+    }
+
+    /**
+     * Entries numbered below the horizon are final: every transaction that could still commit a smaller
+     * number has finished. A long running transaction holds it back and with it delta sync.
+     */
+    public long horizon() {
+        return numberedByTransaction() ? jdbcTemplate.queryForObject(HORIZON, Long.class) : Long.MAX_VALUE;
+    }
+
+    // Transaction ids restart when a dump is restored into a new cluster and were below the counter numbers used before
+    @EventListener(ContextRefreshedEvent.class)
+    public void raiseBase() {
+        if (numberedByTransaction() && jdbcTemplate.update(RAISE_BASE) > 0) {
+            log.info("Ticket change numbers raised above the existing entries");
+        }
+    }
+
+    private void record(Collection<UUID> ids, boolean deleted) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending(numberedByTransaction());
+            pending.add(ids, deleted);
+            pending.beforeCommit(false);
+            pending.stamp();
+            return;
+        }
+
+        pending().add(ids, deleted);
+    }
+
+    // Looked up among the synchronizations rather than bound as a resource, those are suspended with their transaction
+    private Pending pending() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Pending pending) {
+                return pending;
+            }
+        }
+
+        Pending pending = new Pending(numberedByTransaction());
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        pending.stamp();
+        return pending;
+    }
+
+    private boolean numberedByTransaction() {
+        if (numberedByTransaction == null) {
+            numberedByTransaction = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+        }
+        return numberedByTransaction;
+    }
+
+    private class Pending implements TransactionSynchronization {
+        private final boolean numberedByTransaction;
+
+        // The last change of a ticket within the transaction decides whether it's deleted
+        private final Map<UUID, Boolean> changes = new LinkedHashMap<>();
+
+        Pending(boolean numberedByTransaction) {
+            this.numberedByTransaction = numberedByTransaction;
+        }
+
+        void add(Collection<UUID> ids, boolean deleted) {
+            ids.forEach(id -> changes.put(id, deleted));
+        }
+
+        // Entries numbered by transaction only need the counter bumped for ETags
+        void stamp() {
+            if (numberedByTransaction) {
+                changeCounters.touch(ChangeCounters.TICKETS);
+            }
+            else {
+                changeCounters.touch(ChangeCounters.TICKETS, this::write);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!numberedByTransaction) {
+                return;
+            }
+
+            List<UUID> ids = delete();
+            jdbcTemplate.batchUpdate(INSERT_NUMBERED_BY_TRANSACTION, ids, ids.size(), (ps, id) -> {
+                ps.setObject(1, id);
+                ps.setBoolean(2, changes.get(id));
+            });
+        }
+
+        void write(long changeSeq) {
+            List<UUID> ids = delete();
+            jdbcTemplate.batchUpdate(INSERT, ids, ids.size(), (ps, id) -> {
+                ps.setObject(1, id);
+                ps.setLong(2, changeSeq);
+                ps.setBoolean(3, changes.get(id));
+            });
+        }
+
+        // Delete and insert rather than an upsert, writers of a ticket already hold its row lock until they commit
+        private List<UUID> delete() {
+            List<UUID> ids = List.copyOf(changes.keySet());
+            jdbcTemplate.batchUpdate(DELETE, ids, ids.size(), (ps, id) -> ps.setObject(1, id));
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gnomeshift.tisk.ticket;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketChangeRepository extends JpaRepository<TicketChange, UUID> {
+    @Query("""
+            SELECT c FROM TicketChange c
+            WHERE (c.changeSeq > :changeSeq OR (c.changeSeq = :changeSeq AND c.ticketId > :ticketId))
+            AND c.changeSeq < :horizon
+            ORDER BY c.changeSeq, c.ticketId""")
+    List<TicketChange> findAfter(long changeSeq, UUID ticketId, long horizon, Limit limit);
+}
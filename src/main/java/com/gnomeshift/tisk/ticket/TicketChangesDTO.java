@@ -0,0 +1,20 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketChangesDTO {
+    private List<TicketDTO> changed;
+    private List<UUID> deleted;
+    private String token;
+    private boolean hasMore;
+}
@@ -1,16 +1,30 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.gnomeshift.tisk.etag.ConditionalResponses;
+import com.gnomeshift.tisk.etag.ETagService;
+import com.gnomeshift.tisk.idempotency.IdempotencyService;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRole;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,40 +35,122 @@ import java.util.UUID;
 @Slf4j
 public class TicketController {
     private final TicketService ticketService;
+    private final ETagService eTagService;
+    private final TicketEventBroadcaster ticketEventBroadcaster;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
-    public ResponseEntity<List<TicketDTO>> getAllTickets() {
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    public ResponseEntity<Object> getAllTickets(@ModelAttribute TicketFilterDTO filter,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestParam(required = false) String fields,
+                                                @RequestParam(defaultValue = "false") boolean normalized,
+                                                WebRequest request) {
+        checkShape(fields, normalized);
+        return ConditionalResponses.ifNoneMatch(request, eTagService.forTickets(request), () -> {
+            if (normalized) {
+                return ticketService.getAllTicketsNormalized(filter, cursor, size);
+            }
+            return fields == null
+                    ? ticketService.getAllTickets(filter, cursor, size)
+                    : ticketService.getAllTickets(filter, cursor, size, fields);
+        });
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public void streamTickets(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ticketService.streamTickets(response.getOutputStream());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal User user) {
+        return ticketEventBroadcaster.subscribe(user.getId(), user.getRole() != UserRole.USER);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<TicketChangesDTO> getChanges(@RequestParam(required = false) String since,
+                                                       @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketService.getChanges(since, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TicketDTO> getTicketById(@PathVariable UUID id) {
-        return ResponseEntity.ok(ticketService.getTicketById(id));
+    public ResponseEntity<TicketDTO> getTicketById(@PathVariable UUID id, WebRequest request) {
+        return eTagService.forTicket(id)
+                .map(eTag -> ConditionalResponses.ifNoneMatch(request, eTag, () -> ticketService.getTicketById(id)))
+                .orElseGet(() -> ResponseEntity.ok(ticketService.getTicketById(id)));
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<TicketDTO>> getMyTickets(Authentication authentication) {
-        return ResponseEntity.ok(ticketService.getMyTickets(authentication.getName()));
+    public ResponseEntity<Object> getMyTickets(Authentication authentication,
+                                               @ModelAttribute TicketFilterDTO filter,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String fields,
+                                               @RequestParam(defaultValue = "false") boolean normalized,
+                                               WebRequest request) {
+        checkShape(fields, normalized);
+        return ConditionalResponses.ifNoneMatch(request, eTagService.forTickets(request), () -> {
+            if (normalized) {
+                return ticketService.getMyTicketsNormalized(authentication.getName(), filter, cursor, size);
+            }
+            return fields == null
+                    ? ticketService.getMyTickets(authentication.getName(), filter, cursor, size)
+                    : ticketService.getMyTickets(authentication.getName(), filter, cursor, size, fields);
+        });
     }
 
     @PostMapping
-    public ResponseEntity<TicketDTO> createTicket(@Valid @RequestBody CreateTicketDTO createTicketDTO) {
-        TicketDTO createdTicket = ticketService.createTicket(createTicketDTO);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .location(URI.create("/api/tickets/" + createdTicket.getId()))
-                .body(createdTicket);
+    public ResponseEntity<TicketDTO> createTicket(@Valid @RequestBody CreateTicketDTO createTicketDTO,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("tickets", idempotencyKey, createTicketDTO, CreatedTicketDTO.class, () -> {
+            TicketDTO createdTicket = ticketService.createTicket(createTicketDTO);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .location(URI.create("/api/tickets/" + createdTicket.getId()))
+                    .body(createdTicket);
+        });
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<BulkCreateResultDTO> createTickets(@RequestBody List<CreateTicketDTO> createTicketDTOs) {
+        return ResponseEntity.ok(ticketService.createTickets(createTicketDTOs));
+    }
+
+    @PostMapping("/claim-next")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<TicketDTO> claimNextTicket(@AuthenticationPrincipal User user) {
+        return ticketService.claimNextTicket(user.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<BulkUpdateResultDTO> updateTicketStatuses(@Valid @RequestBody BulkStatusUpdateDTO bulkStatusUpdateDTO) {
+        return ResponseEntity.ok(ticketService.updateTicketStatuses(bulkStatusUpdateDTO));
+    }
+
+    @PatchMapping("/bulk/assign")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
+    public ResponseEntity<BulkUpdateResultDTO> assignTickets(@Valid @RequestBody BulkAssignDTO bulkAssignDTO) {
+        return ResponseEntity.ok(ticketService.assignTickets(bulkAssignDTO));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<TicketDTO> updateTicket(@PathVariable UUID id, @Valid @RequestBody UpdateTicketDTO updateTicketDTO) {
-        return ResponseEntity.ok(ticketService.updateTicket(id, updateTicketDTO));
+    public ResponseEntity<TicketDTO> updateTicket(@PathVariable UUID id, @Valid @RequestBody UpdateTicketDTO updateTicketDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(ticketService.updateTicket(id, updateTicketDTO, ConditionalResponses.expectedVersion(ifMatch)));
     }
 
     @PatchMapping("/{id}/assign")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
-    public ResponseEntity<TicketDTO> assignTicket(@PathVariable UUID id, @RequestParam UUID assigneeId) {
-        return ResponseEntity.ok(ticketService.assignTicket(id, assigneeId));
+    public ResponseEntity<TicketDTO> assignTicket(@PathVariable UUID id, @RequestParam UUID assigneeId,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(ticketService.assignTicket(id, assigneeId, ConditionalResponses.expectedVersion(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
@@ -63,4 +159,10 @@ public class TicketController {
         ticketService.deleteTicket(id);
         return ResponseEntity.noContent().build();
     }
+
+    private void checkShape(String fields, boolean normalized) {
+        if (fields != null && normalized) {
+            throw new ValidationException("fields and normalized can't be combined");
+        }
+    }
 }
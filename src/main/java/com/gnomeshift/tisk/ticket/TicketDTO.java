@@ -1,9 +1,13 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gnomeshift.tisk.fields.FieldCatalog;
 import com.gnomeshift.tisk.user.UserDTO;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -11,13 +15,25 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class TicketDTO {
+    public static final FieldCatalog FIELDS = new FieldCatalog(
+            List.of("id", "title", "description", "status", "priority", "reporter", "assignee", "duplicateOf", "createdAt",
+                    "updatedAt", "version"),
+            Map.of("reporter", UserDTO.FIELDS.attributes(), "assignee", UserDTO.FIELDS.attributes())
+    );
+
     private UUID id;
     private String title;
+
+    // Not loaded for list views
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+
     private TicketStatus status;
     private TicketPriority priority;
     private UserDTO reporter;
     private UserDTO assignee;
+    private UUID duplicateOf;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link TicketService} on every ticket change.
+ * {@code ticket} holds the state after the change and is {@code null} for {@link TicketEventType#DELETED}.
+ * {@code previous} holds the state before an update or assignment, {@code null} otherwise.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TicketEvent {
+    private final TicketEventType type;
+    private final UUID ticketId;
+    private final TicketDTO ticket;
+
+    // Server-side only, clients already have the previous state
+    @JsonIgnore
+    @ToString.Exclude
+    private final TicketDTO previous;
+
+    public TicketEvent(TicketEventType type, UUID ticketId, TicketDTO ticket) {
+        this(type, ticketId, ticket, null);
+    }
+}
@@ -0,0 +1,152 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gnomeshift.tisk.user.UserDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed ticket events out to Server-Sent Events subscribers.
+ * Each subscriber has a bounded queue drained by its own virtual thread, so a slow
+ * client never blocks the publisher; when its queue overflows it is disconnected
+ * and expected to catch up through {@code /api/tickets/changes}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketEventBroadcaster {
+    private final ObjectMapper objectMapper;
+    private final TicketEventProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param seesAll whether the subscriber receives events for every ticket, not only the ones it reports or is assigned to
+     */
+    public SseEmitter subscribe(UUID userId, boolean seesAll) {
+        return subscribe(new SseEmitter(Duration.ofMinutes(properties.getTimeoutMinutes()).toMillis()), userId, seesAll);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, UUID userId, boolean seesAll) {
+        Subscriber subscriber = new Subscriber(emitter, userId, seesAll, new ArrayBlockingQueue<>(properties.getBufferSize()));
+        subscriber.thread = Thread.ofVirtual().name("ticket-events-" + userId).unstarted(() -> drain(subscriber));
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+        log.debug("Ticket event subscriber connected: {}, {} active", userId, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTicketEvent(TicketEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // Serialize once, not once per subscriber
+        String payload;
+
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        }
+        catch (JsonProcessingException e) {
+            log.error("Failed to serialize ticket event {}", event, e);
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.canSee(event)) {
+                continue;
+            }
+
+            SseEmitter.SseEventBuilder sseEvent = SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(payload, MediaType.APPLICATION_JSON);
+
+            if (!subscriber.queue.offer(sseEvent)) {
+                log.warn("Disconnecting slow ticket event subscriber {}", subscriber.userId);
+                subscriber.emitter.complete();
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            // Flushes response headers right away so the client knows it's connected
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+
+            while (!Thread.currentThread().isInterrupted()) {
+                SseEmitter.SseEventBuilder event = subscriber.queue.poll(properties.getHeartbeatSeconds(), TimeUnit.SECONDS);
+                subscriber.emitter.send(event != null ? event : SseEmitter.event().comment("heartbeat"));
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            log.debug("Ticket event subscriber {} disconnected: {}", subscriber.userId, e.getMessage());
+        }
+        finally {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Ticket event subscriber disconnected: {}, {} active", subscriber.userId, subscribers.size());
+        }
+        subscriber.thread.interrupt();
+    }
+
+    @RequiredArgsConstructor
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final boolean seesAll;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private Thread thread;
+
+        private boolean canSee(TicketEvent event) {
+            // Deletions carry only the id, which reveals nothing about the ticket
+            if (seesAll || event.getTicket() == null) {
+                return true;
+            }
+            return isUser(event.getTicket().getReporter()) || isUser(event.getTicket().getAssignee());
+        }
+
+        private boolean isUser(UserDTO user) {
+            return user != null && userId.equals(user.getId());
+        }
+    }
+}
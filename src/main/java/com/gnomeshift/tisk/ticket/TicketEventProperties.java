@@ -0,0 +1,24 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketEventProperties {
+    // Events queued per subscriber before it is considered too slow and disconnected
+    @Value("${app.tickets.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.tickets.events.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    // Clients reconnect after this, EventSource does it automatically
+    @Value("${app.tickets.events.timeout-minutes:60}")
+    private long timeoutMinutes;
+}
@@ -0,0 +1,8 @@
+package com.gnomeshift.tisk.ticket;
+
+public enum TicketEventType {
+    CREATED,
+    UPDATED,
+    ASSIGNED,
+    DELETED
+}
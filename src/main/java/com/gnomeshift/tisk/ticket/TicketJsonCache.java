@@ -0,0 +1,89 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gnomeshift.tisk.user.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Already encoded JSON of {@link TicketDTO}s, so tickets in responses are written as raw bytes
+ * instead of being serialized again. Entries are keyed by the ticket version and the
+ * {@code updatedAt} of its reporter and assignee, so any change to the ticket or to an embedded
+ * user produces a new key and the stale encoding is never read again; it ages out of the cache,
+ * which is bounded by encoded size.
+ */
+@Component
+public class TicketJsonCache {
+    private final Cache<Key, SerializedString> fragments;
+
+    public TicketJsonCache(TicketProperties properties, MeterRegistry meterRegistry) {
+        fragments = Caffeine.newBuilder()
+                .maximumWeight(properties.getJsonCacheMaxBytes())
+                .weigher((Key key, SerializedString json) -> weight(json))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "ticket.json");
+    }
+
+    public static boolean isCacheable(TicketDTO ticket) {
+        return ticket.getId() != null && ticket.getVersion() != null;
+    }
+
+    public SerializableString get(TicketDTO ticket, Encoder encoder) throws IOException {
+        try {
+            return fragments.get(Key.of(ticket), key -> encode(ticket, encoder));
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long getSize() {
+        return fragments.estimatedSize();
+    }
+
+    private static SerializedString encode(TicketDTO ticket, Encoder encoder) {
+        try {
+            SerializedString json = new SerializedString(new String(encoder.encode(ticket), StandardCharsets.UTF_8));
+            // Computed once here, generators then copy the cached bytes as is
+            json.asUnquotedUTF8();
+            return json;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int weight(SerializedString json) {
+        // The string and its UTF-8 bytes are both retained
+        return json.getValue().length() + json.asUnquotedUTF8().length;
+    }
+
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode(TicketDTO ticket) throws IOException;
+    }
+
+    // List views encode the same version without its description
+    private record Key(UUID id, long version, boolean withDescription,
+                       LocalDateTime reporterUpdatedAt, LocalDateTime assigneeUpdatedAt) {
+        static Key of(TicketDTO ticket) {
+            return new Key(ticket.getId(), ticket.getVersion(), ticket.getDescription() != null,
+                    updatedAt(ticket.getReporter()), updatedAt(ticket.getAssignee()));
+        }
+
+        private static LocalDateTime updatedAt(UserDTO user) {
+            return user != null ? user.getUpdatedAt() : null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TicketJsonConfig {
+    @Bean
+    public Module ticketJsonModule(TicketJsonCache ticketJsonCache) {
+        SimpleModule module = new SimpleModule("TicketJsonCache");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == TicketDTO.class) {
+                    return new CachingTicketSerializer((JsonSerializer<Object>) serializer, ticketJsonCache);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+}
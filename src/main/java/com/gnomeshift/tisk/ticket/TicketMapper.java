@@ -1,8 +1,12 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.gnomeshift.tisk.archive.ArchivedTicket;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
 import com.gnomeshift.tisk.user.UserMapper;
 import org.mapstruct.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper(
@@ -13,21 +17,17 @@ import java.util.List;
 )
 public interface TicketMapper {
     TicketDTO toDto(Ticket ticket);
+    TicketDTO toDto(ArchivedTicket ticket);
     List<TicketDTO> toDtoList(List<Ticket> tickets);
+    List<UserDTO> toUserDtoList(Collection<User> users);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "reporter", ignore = true)
     @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "duplicateOf", ignore = true)
     @Mapping(target = "status", constant = "OPEN")
     Ticket toEntity(CreateTicketDTO dto);
-
-    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "updatedAt", ignore = true)
-    @Mapping(target = "reporter", ignore = true)
-    @Mapping(target = "assignee", ignore = true)
-    void updateTicketFromDto(UpdateTicketDTO dto, @MappingTarget Ticket ticket);
 }
@@ -0,0 +1,38 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Creates the monthly partitions of {@code tickets} ahead of time, so new rows never end up
+ * in the default partition. The partitioning itself is set up by the migrations.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tickets.partitions.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TicketPartitionMaintenance {
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketPartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.tickets.partitions.cron:0 0 3 * * *}")
+    public void createPartitions() {
+        log.info("Ensuring ticket partitions for the next {} months", properties.getMonthsAhead());
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            // No-op for partitions that already exist
+            String partition = jdbcTemplate.queryForObject("SELECT create_ticket_partition(?)", String.class, month.plusMonths(i));
+            log.debug("Ensured ticket partition {}", partition);
+        }
+    }
+}
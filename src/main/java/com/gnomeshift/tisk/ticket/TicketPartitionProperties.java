@@ -0,0 +1,21 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketPartitionProperties {
+    // Monthly partitions of tickets are a PostgreSQL feature, other databases keep a plain table
+    @Value("${app.tickets.partitions.enabled:true}")
+    private boolean enabled;
+
+    // Partitions are created this many months before they are needed
+    @Value("${app.tickets.partitions.months-ahead:3}")
+    private int monthsAhead;
+}
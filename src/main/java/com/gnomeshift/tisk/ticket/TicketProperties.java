@@ -0,0 +1,23 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketProperties {
+    @Value("${app.tickets.bulk-max-size:10000}")
+    private int bulkMaxSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    // Upper bound for cached TicketDTO JSON, in bytes
+    @Value("${app.tickets.json-cache.max-bytes:67108864}")
+    private long jsonCacheMaxBytes;
+}
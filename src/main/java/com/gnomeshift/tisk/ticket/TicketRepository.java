@@ -1,21 +1,96 @@
 package com.gnomeshift.tisk.ticket;
 
 
+import com.gnomeshift.tisk.assignment.OpenAssignment;
+import com.gnomeshift.tisk.duplicate.DuplicateDocument;
+import com.gnomeshift.tisk.search.TicketSearchDocument;
+import com.gnomeshift.tisk.sla.SlaTicket;
 import com.gnomeshift.tisk.stats.AssigneeCount;
 import com.gnomeshift.tisk.stats.DailyCount;
 import com.gnomeshift.tisk.stats.PriorityCount;
 import com.gnomeshift.tisk.stats.StatusCount;
-import com.gnomeshift.tisk.user.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
-    List<Ticket> findAllByReporter(User reporter);
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket>, TicketRepositoryCustom {
+    int STREAM_FETCH_SIZE = 500;
+
+    @Override
+    @EntityGraph(Ticket.WITH_USERS_GRAPH)
+    Optional<Ticket> findById(UUID id);
+
+    @EntityGraph(Ticket.WITH_USERS_GRAPH)
+    List<Ticket> findAllByIdIn(Collection<UUID> ids);
+
+    // Without the users graph, PostgreSQL can't lock the nullable side of an outer join
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Ticket> findLockedById(UUID id);
+
+    // Locks in id order, so transactions locking overlapping sets wait for each other instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids ORDER BY t.id")
+    List<Ticket> lockAllById(Collection<UUID> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.reporter LEFT JOIN FETCH t.assignee")
+    Stream<Ticket> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT new com.gnomeshift.tisk.search.TicketSearchDocument(t.id, t.title, t.description) FROM Ticket t")
+    Stream<TicketSearchDocument> streamSearchDocuments();
+
+    // Partition pruning on created_at keeps this to the most recent partitions
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("""
+        SELECT new com.gnomeshift.tisk.duplicate.DuplicateDocument(t.id, t.title, t.description, t.createdAt)
+        FROM Ticket t
+        WHERE t.status <> 'CLOSED' AND t.createdAt >= :since
+        """)
+    Stream<DuplicateDocument> streamDuplicateDocuments(LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("""
+        SELECT new com.gnomeshift.tisk.assignment.OpenAssignment(t.id, t.assignee.id, t.priority)
+        FROM Ticket t
+        WHERE t.status <> 'CLOSED' AND t.assignee IS NOT NULL
+        """)
+    Stream<OpenAssignment> streamOpenAssignments();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("""
+        SELECT new com.gnomeshift.tisk.sla.SlaTicket(t.id, t.status, t.priority, t.createdAt)
+        FROM Ticket t
+        WHERE t.status <> 'CLOSED'
+        """)
+    Stream<SlaTicket> streamSlaTickets();
+
+    /**
+     * Locks closed tickets untouched since {@code cutoff}, skipping rows locked by other transactions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT t FROM Ticket t WHERE t.status = 'CLOSED' AND t.updatedAt < :cutoff ORDER BY t.updatedAt")
+    List<Ticket> findArchivable(LocalDateTime cutoff, Limit limit);
 
     @Query("SELECT t.status as status, COUNT(t) as count FROM Ticket t GROUP BY t.status")
     List<StatusCount> countByStatus();
@@ -30,7 +105,8 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status = 'CLOSED' AND t.updatedAt >= :dateTime")
     long countByStatusClosedAfter(LocalDateTime dateTime);
 
-    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status = 'CLOSED' AND t.updatedAt BETWEEN :startDate AND :endDate")
+    // A ticket closed by the end was also created by then, which lets later partitions be skipped
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status = 'CLOSED' AND t.updatedAt BETWEEN :startDate AND :endDate AND t.createdAt <= :endDate")
     long countByStatusClosedBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     @Query(value = "SELECT AVG(EXTRACT(EPOCH FROM (updated_at - created_at))) FROM tickets WHERE status = 'CLOSED'", nativeQuery = true)
@@ -79,11 +155,11 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
             COUNT(t) AS created,
             SUM(CASE WHEN t.status = 'CLOSED' THEN 1L ELSE 0L END) AS closed
         FROM Ticket t
-        WHERE CAST(t.createdAt AS LocalDate) BETWEEN :startDate AND :endDate
+        WHERE t.createdAt BETWEEN :start AND :end
         GROUP BY CAST(t.createdAt AS LocalDate)
         ORDER BY CAST(t.createdAt AS LocalDate)
         """)
-    List<DailyCount> getDailyStatistics(LocalDate startDate, LocalDate endDate);
+    List<DailyCount> getDailyStatistics(LocalDateTime start, LocalDateTime end);
 
     @Query("""
         SELECT t.reporter.department as department, COUNT(t) as count
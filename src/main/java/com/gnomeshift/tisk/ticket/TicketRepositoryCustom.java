@@ -0,0 +1,95 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.fields.FieldSelection;
+import com.gnomeshift.tisk.user.User;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketRepositoryCustom {
+    /**
+     * Sets status on all matching tickets in a single UPDATE statement.
+     *
+     * @return number of tickets whose status actually changed
+     */
+    int updateStatus(Specification<Ticket> specification, TicketStatus status);
+
+    /**
+     * Assigns all matching tickets in a single UPDATE statement, moving OPEN tickets to IN_PROGRESS.
+     *
+     * @return number of tickets that changed
+     */
+    int assign(Specification<Ticket> specification, User assignee);
+
+    /**
+     * Ids of matching tickets, in no particular order.
+     */
+    List<UUID> findIds(Specification<Ticket> specification, int limit);
+
+    /**
+     * Drops the tickets reported by or assigned to a user from the second-level cache, which doesn't see
+     * the database clearing those references when the user is deleted.
+     *
+     * @return ids of the evicted tickets
+     */
+    List<UUID> evictReferencing(UUID userId);
+
+    /**
+     * Sets the given attributes on a ticket if it is still at {@code expectedVersion}, or at any version if null,
+     * in a single statement.
+     *
+     * @return the ticket before and after, empty if it doesn't exist or the version didn't match
+     */
+    Optional<Updated> compareAndSet(UUID id, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Assigns a ticket if it is still at {@code expectedVersion}, or at any version if null,
+     * moving it from OPEN to IN_PROGRESS, in a single statement.
+     *
+     * @return the ticket before and after, empty if it doesn't exist or the version didn't match
+     */
+    Optional<Updated> compareAndAssign(UUID id, Long expectedVersion, User assignee);
+
+    /**
+     * Assigns a ticket and moves it to IN_PROGRESS if it is still OPEN and unassigned, in a single statement.
+     *
+     * @return the ticket before and after, empty if it was claimed or closed in the meantime
+     */
+    Optional<Updated> claim(UUID id, User assignee);
+
+    /**
+     * Locks the unassigned OPEN ticket that should be worked on next: highest priority first, then oldest.
+     * Rows locked by other transactions are skipped where the database supports it, so concurrent
+     * callers each get a different ticket without waiting. Elsewhere callers wait for the lock
+     * and have to check that the ticket is still unassigned.
+     */
+    Optional<UUID> lockNextClaimable();
+
+    /**
+     * Loads matching tickets with their reporter and assignee, but without the description.
+     * The returned tickets are not managed.
+     */
+    List<Ticket> findSummaries(Specification<Ticket> specification, Sort sort, int limit);
+
+    /**
+     * Same rows as {@link #findSummaries}, with users reduced to their ids and without joining them.
+     */
+    List<TicketSummaryDTO> findSummaryRows(Specification<Ticket> specification, Sort sort, int limit);
+
+    /**
+     * Selects only the columns behind {@code fields}, plus the {@code required} ones.
+     */
+    List<Tuple> findFields(Specification<Ticket> specification, FieldSelection fields, Collection<String> required, Sort sort, int limit);
+
+    /**
+     * A ticket before and after a conditional update. Neither is managed, their users are references.
+     */
+    record Updated(Ticket previous, Ticket current) {
+    }
+}
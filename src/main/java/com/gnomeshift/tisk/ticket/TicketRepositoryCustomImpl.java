@@ -0,0 +1,378 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.fields.FieldQueries;
+import com.gnomeshift.tisk.fields.FieldSelection;
+import com.gnomeshift.tisk.user.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+    // Same expressions and predicate as idx_tickets_claimable, so PostgreSQL reads the first row off the index
+    private static final String NEXT_CLAIMABLE = """
+        SELECT id FROM tickets
+        WHERE status = 'OPEN' AND assignee_id IS NULL
+        ORDER BY CASE priority WHEN 'VERY_HIGH' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END, created_at, id
+        LIMIT 1
+        FOR UPDATE""";
+
+    // Every column of tickets, in the order conditional updates return them
+    private static final List<String> COLUMNS = List.of("id", "title", "description", "status", "priority", "reporter_id",
+            "assignee_id", "duplicate_of", "created_at", "updated_at", "version");
+
+    private static final String ASSIGNMENT =
+            "assignee_id = :assignee, status = CASE WHEN status = 'OPEN' THEN 'IN_PROGRESS' ELSE status END";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int updateStatus(Specification<Ticket> specification, TicketStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Ticket> update = cb.createCriteriaUpdate(Ticket.class);
+        Root<Ticket> root = update.from(Ticket.class);
+        Path<TicketStatus> statusPath = root.get("status");
+
+        touch(update, root).set(statusPath, status)
+                .where(
+                        cb.in(root.get("id")).value(matchingIds(update, specification)),
+                        cb.notEqual(statusPath, status)
+                );
+        return execute(update);
+    }
+
+    @Override
+    public int assign(Specification<Ticket> specification, User assignee) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Ticket> update = cb.createCriteriaUpdate(Ticket.class);
+        Root<Ticket> root = update.from(Ticket.class);
+        Path<TicketStatus> statusPath = root.get("status");
+        Path<User> assigneePath = root.get("assignee");
+
+        assignment(touch(update, root), root, assignee)
+                .where(
+                        cb.in(root.get("id")).value(matchingIds(update, specification)),
+                        // Skip rows the update wouldn't change, same as a dirty check would
+                        cb.or(
+                                cb.isNull(assigneePath),
+                                cb.notEqual(assigneePath, assignee),
+                                cb.equal(statusPath, TicketStatus.OPEN)
+                        )
+                );
+        return execute(update);
+    }
+
+    @Override
+    public List<UUID> findIds(Specification<Ticket> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Ticket> root = query.from(Ticket.class);
+
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<UUID> evictReferencing(UUID userId) {
+        List<UUID> ids = entityManager.createQuery(
+                        "SELECT t.id FROM Ticket t WHERE t.reporter.id = :userId OR t.assignee.id = :userId", UUID.class)
+                .setParameter("userId", userId)
+                .getResultList();
+
+        evict(ids);
+        return ids;
+    }
+
+    @Override
+    public Optional<Updated> compareAndSet(UUID id, Long expectedVersion, Map<String, Object> changes) {
+        StringJoiner assignments = new StringJoiner(", ");
+        Map<String, Object> parameters = new HashMap<>();
+
+        changes.forEach((attribute, value) -> {
+            assignments.add(column(attribute) + " = :" + attribute);
+            parameters.put(attribute, switch (value) {
+                case User user -> user.getId();
+                case Enum<?> constant -> constant.name();
+                default -> value;
+            });
+        });
+
+        return update(id, expectedVersion, assignments.toString(), parameters, ticket ->
+                changes.forEach(PropertyAccessorFactory.forBeanPropertyAccess(ticket)::setPropertyValue));
+    }
+
+    @Override
+    public Optional<Updated> compareAndAssign(UUID id, Long expectedVersion, User assignee) {
+        return update(id, expectedVersion, ASSIGNMENT, Map.of("assignee", assignee.getId()), ticket -> assign(ticket, assignee));
+    }
+
+    @Override
+    public Optional<Updated> claim(UUID id, User assignee) {
+        return update("id = :id AND status = 'OPEN' AND assignee_id IS NULL", Map.of("id", id), ASSIGNMENT,
+                Map.of("assignee", assignee.getId()), ticket -> assign(ticket, assignee));
+    }
+
+    @Override
+    public Optional<UUID> lockNextClaimable() {
+        String sql = dialect().supportsSkipLocked() ? NEXT_CLAIMABLE + " SKIP LOCKED" : NEXT_CLAIMABLE;
+
+        List<?> ids = entityManager.createNativeQuery(sql, UUID.class).getResultList();
+        return ids.stream().findFirst().map(UUID.class::cast);
+    }
+
+    @Override
+    public List<Ticket> findSummaries(Specification<Ticket> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Ticket> root = query.from(Ticket.class);
+        Join<Ticket, User> reporter = root.join("reporter", JoinType.LEFT);
+        Join<Ticket, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id"), root.get("title"), root.get("status"), root.get("priority"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("version"), reporter, assignee,
+                root.get("duplicateOf")
+        );
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> Ticket.builder()
+                        .id(row.get(0, UUID.class))
+                        .title(row.get(1, String.class))
+                        .status(row.get(2, TicketStatus.class))
+                        .priority(row.get(3, TicketPriority.class))
+                        .createdAt(row.get(4, LocalDateTime.class))
+                        .updatedAt(row.get(5, LocalDateTime.class))
+                        .version(row.get(6, Long.class))
+                        .reporter(row.get(7, User.class))
+                        .assignee(row.get(8, User.class))
+                        .duplicateOf(row.get(9, UUID.class))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<TicketSummaryDTO> findSummaryRows(Specification<Ticket> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummaryDTO> query = cb.createQuery(TicketSummaryDTO.class);
+        Root<Ticket> root = query.from(Ticket.class);
+
+        // Ids of to-one associations are read from the foreign key columns, no join needed
+        query.select(cb.construct(TicketSummaryDTO.class,
+                root.get("id"), root.get("title"), root.get("status"), root.get("priority"),
+                root.get("reporter").get("id"), root.get("assignee").get("id"), root.get("duplicateOf"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("version")
+        ));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findFields(Specification<Ticket> specification, FieldSelection fields, Collection<String> required,
+                                  Sort sort, int limit) {
+        CriteriaQuery<Tuple> query = FieldQueries.select(entityManager.getCriteriaBuilder(), Ticket.class, fields,
+                required, specification, sort);
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private CriteriaUpdate<Ticket> touch(CriteriaUpdate<Ticket> update, Root<Ticket> root) {
+        // @PreUpdate and version increments don't apply to bulk statements, so set both by hand
+        Path<Long> version = root.get("version");
+        return update
+                .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                .set(version, entityManager.getCriteriaBuilder().sum(version, 1L));
+    }
+
+    private CriteriaUpdate<Ticket> assignment(CriteriaUpdate<Ticket> update, Root<Ticket> root, User assignee) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<TicketStatus> statusPath = root.get("status");
+
+        return update
+                .set(root.<User>get("assignee"), assignee)
+                .set(statusPath, cb.<TicketStatus>selectCase()
+                        .when(cb.equal(statusPath, TicketStatus.OPEN), TicketStatus.IN_PROGRESS)
+                        .otherwise(statusPath));
+    }
+
+    private Optional<Updated> update(UUID id, Long expectedVersion, String assignments, Map<String, Object> parameters,
+                                     Consumer<Ticket> change) {
+        return expectedVersion == null
+                ? update("id = :id", Map.of("id", id), assignments, parameters, change)
+                : update("id = :id AND version = :expectedVersion", Map.of("id", id, "expectedVersion", expectedVersion),
+                        assignments, parameters, change);
+    }
+
+    /**
+     * Runs a single UPDATE that also returns the row as it was, so neither a read before nor one after is needed.
+     * The state after is the returned row with {@code change} applied, since only the update could have changed it.
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<Updated> update(String condition, Map<String, Object> conditionParameters, String assignments,
+                                     Map<String, Object> parameters, Consumer<Ticket> change) {
+        LocalDateTime now = LocalDateTime.now();
+        String update = "UPDATE tickets SET " + assignments + ", updated_at = :updatedAt, version = version + 1 WHERE " + condition;
+
+        // PostgreSQL 18 returns the old row directly, H2 through a data change delta table
+        String sql = dialect() instanceof PostgreSQLDialect
+                ? update + " RETURNING " + COLUMNS.stream().map(column -> "old." + column + " AS " + column).collect(Collectors.joining(", "))
+                : "SELECT " + String.join(", ", COLUMNS) + " FROM OLD TABLE (" + update + ")";
+
+        // Native statements bypass the persistence context, so sync it before and drop stale state after
+        entityManager.flush();
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("reporter_id", UUID.class)
+                .addScalar("assignee_id", UUID.class)
+                .addScalar("duplicate_of", UUID.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class);
+        conditionParameters.forEach(query::setParameter);
+        parameters.forEach(query::setParameter);
+        query.setParameter("updatedAt", now);
+
+        List<Object[]> rows = query.getResultList();
+        entityManager.clear();
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Ticket previous = ticket(rows.getFirst());
+        Ticket current = ticket(rows.getFirst());
+        change.accept(current);
+        current.setUpdatedAt(now);
+        current.setVersion(previous.getVersion() + 1);
+        evict(List.of(previous.getId()));
+        return Optional.of(new Updated(previous, current));
+    }
+
+    private Ticket ticket(Object[] row) {
+        return Ticket.builder()
+                .id((UUID) row[0])
+                .title((String) row[1])
+                .description((String) row[2])
+                .status(TicketStatus.valueOf((String) row[3]))
+                .priority(TicketPriority.valueOf((String) row[4]))
+                .reporter(row[5] != null ? entityManager.getReference(User.class, row[5]) : null)
+                .assignee(row[6] != null ? entityManager.getReference(User.class, row[6]) : null)
+                .duplicateOf((UUID) row[7])
+                .createdAt((LocalDateTime) row[8])
+                .updatedAt((LocalDateTime) row[9])
+                .version((Long) row[10])
+                .build();
+    }
+
+    private static void assign(Ticket ticket, User assignee) {
+        ticket.setAssignee(assignee);
+
+        if (ticket.getStatus() == TicketStatus.OPEN) {
+            ticket.setStatus(TicketStatus.IN_PROGRESS);
+        }
+    }
+
+    // Attributes compareAndSet may change, anything else is a programming error rather than input
+    private static String column(String attribute) {
+        return switch (attribute) {
+            case "title", "description", "status", "priority" -> attribute;
+            case "reporter" -> "reporter_id";
+            default -> throw new IllegalArgumentException("Attribute can't be set conditionally: " + attribute);
+        };
+    }
+
+    /**
+     * Drops the tickets from the second-level cache, which native statements don't touch. Again after commit,
+     * since a transaction reading the old row in between may have put it back.
+     */
+    private void evict(Collection<UUID> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Ticket.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(id -> cache.evict(Ticket.class, id));
+                }
+            });
+        }
+    }
+
+    private Dialect dialect() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+    }
+
+    private Subquery<UUID> matchingIds(CriteriaUpdate<Ticket> update, Specification<Ticket> specification) {
+        // Filters may join users, which an UPDATE can't do directly
+        Subquery<UUID> subquery = update.subquery(UUID.class);
+        Root<Ticket> ticket = subquery.from(Ticket.class);
+        subquery.select(ticket.get("id"))
+                .where(specification.toPredicate(ticket, null, entityManager.getCriteriaBuilder()));
+        return subquery;
+    }
+
+    private int execute(CriteriaUpdate<Ticket> update) {
+        // Bulk updates bypass the persistence context, so sync it before and drop stale state after
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+}
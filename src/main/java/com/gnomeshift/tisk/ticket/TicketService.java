@@ -1,42 +1,208 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gnomeshift.tisk.archive.ArchivedTicketRepository;
+import com.gnomeshift.tisk.assignment.AutoAssigner;
+import com.gnomeshift.tisk.duplicate.DuplicateCandidateDTO;
+import com.gnomeshift.tisk.duplicate.DuplicateDetector;
+import com.gnomeshift.tisk.fields.FieldSelection;
+import com.gnomeshift.tisk.pagination.Cursor;
+import com.gnomeshift.tisk.pagination.CursorPageDTO;
+import com.gnomeshift.tisk.pagination.PaginationProperties;
 import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
 import com.gnomeshift.tisk.user.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class TicketService {
+    // Tickets tried per claim when the database can't skip locked rows
+    private static final int CLAIM_ATTEMPTS = 3;
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final TicketMapper ticketMapper;
+    private final PaginationProperties paginationProperties;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketProperties ticketProperties;
+    private final Validator validator;
+    private final TicketChangeRepository ticketChangeRepository;
+    private final TicketChangeLog ticketChangeLog;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final DuplicateDetector duplicateDetector;
+    private final AutoAssigner autoAssigner;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TicketDTO> getAllTickets(TicketFilterDTO filter, String cursor, Integer size) {
+        return findPage(filter, cursor, size);
+    }
 
+    /**
+     * Same page as {@link #getAllTickets(TicketFilterDTO, String, Integer)}, but only with the given comma-separated fields.
+     */
     @Transactional(readOnly = true)
-    public List<TicketDTO> getAllTickets() {
-        return ticketMapper.toDtoList(ticketRepository.findAll());
+    public CursorPageDTO<Map<String, Object>> getAllTickets(TicketFilterDTO filter, String cursor, Integer size, String fields) {
+        return findFieldsPage(filter, cursor, size, fields);
+    }
+
+    /**
+     * Same page as {@link #getAllTickets(TicketFilterDTO, String, Integer)}, with users referenced by id and side-loaded once.
+     */
+    @Transactional(readOnly = true)
+    public NormalizedTicketPageDTO getAllTicketsNormalized(TicketFilterDTO filter, String cursor, Integer size) {
+        return findNormalizedPage(filter, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTickets(OutputStream outputStream) throws IOException {
+        log.info("Streaming all tickets");
+
+        ObjectWriter writer = objectMapper.writerFor(TicketDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Ticket> tickets = ticketRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            Iterator<Ticket> iterator = tickets.iterator();
+
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, ticketMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+
+                // Detach processed rows so the persistence context doesn't grow with the table
+                if (++count % TicketRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Streamed {} tickets", count);
+    }
+
+    /**
+     * Ticket changes after {@code token}, read from the {@link TicketChangeLog} up to its horizon. No entry
+     * below the horizon can still appear, so the next token can point right at the last entry read without
+     * missing a transaction that commits late. Without a token the client reads every ticket and the deletions
+     * recorded so far.
+     */
+    @Transactional(readOnly = true)
+    public TicketChangesDTO getChanges(String token, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        ChangeToken since = token == null || token.isBlank() ? ChangeToken.START : ChangeToken.decode(token);
+
+        // One extra entry is fetched to detect whether more changes remain
+        List<TicketChange> entries = ticketChangeRepository.findAfter(since.getChangeSeq(), since.getTicketId(),
+                ticketChangeLog.horizon(), Limit.of(pageSize + 1));
+
+        boolean hasMore = entries.size() > pageSize;
+        List<TicketChange> page = hasMore ? entries.subList(0, pageSize) : entries;
+
+        Set<UUID> changedIds = page.stream()
+                .filter(change -> !change.isDeleted())
+                .map(TicketChange::getTicketId)
+                .collect(Collectors.toSet());
+        Map<UUID, Ticket> tickets = changedIds.isEmpty() ? Map.of() : ticketRepository.findBy(
+                        TicketSpecifications.hasIds(changedIds).and(TicketSpecifications.fetchUsers()), query -> query.all())
+                .stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        // A ticket archived while the page was read is gone as well, the archiver's entry repeats that later
+        List<Ticket> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+
+        for (TicketChange change : page) {
+            Ticket ticket = change.isDeleted() ? null : tickets.get(change.getTicketId());
+
+            if (ticket != null) {
+                changed.add(ticket);
+            }
+            else {
+                deleted.add(change.getTicketId());
+            }
+        }
+        TicketChange last = page.isEmpty() ? null : page.getLast();
+
+        return TicketChangesDTO.builder()
+                .changed(ticketMapper.toDtoList(changed))
+                .deleted(deleted)
+                .token((last != null ? new ChangeToken(last.getChangeSeq(), last.getTicketId()) : since).encode())
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public TicketDTO getTicketById(UUID id) {
-        Ticket ticket = ticketRepository.findById(id)
+        // Archived tickets are only read by id, everything else sees the live table
+        return ticketRepository.findById(id)
+                .map(ticketMapper::toDto)
+                .or(() -> archivedTicketRepository.findById(id).map(ticketMapper::toDto))
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id " + id));
-        return ticketMapper.toDto(ticket);
     }
 
     @Transactional(readOnly = true)
-    public List<TicketDTO> getMyTickets(String email) {
+    public CursorPageDTO<TicketDTO> getMyTickets(String email, TicketFilterDTO filter, String cursor, Integer size) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
-        return ticketMapper.toDtoList(ticketRepository.findAllByReporter(user));
+
+        filter.setReporterId(user.getId());
+        return findPage(filter, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Map<String, Object>> getMyTickets(String email, TicketFilterDTO filter, String cursor, Integer size,
+                                                           String fields) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+
+        filter.setReporterId(user.getId());
+        return findFieldsPage(filter, cursor, size, fields);
+    }
+
+    @Transactional(readOnly = true)
+    public NormalizedTicketPageDTO getMyTicketsNormalized(String email, TicketFilterDTO filter, String cursor, Integer size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+
+        filter.setReporterId(user.getId());
+        return findNormalizedPage(filter, cursor, size);
     }
 
     @Transactional
@@ -46,52 +212,189 @@ public class TicketService {
         User reporter = userRepository.findById(createTicketDTO.getReporterId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + createTicketDTO.getReporterId()));
 
+        List<DuplicateCandidateDTO> duplicates = duplicateDetector.findCandidates(
+                createTicketDTO.getTitle(), createTicketDTO.getDescription());
+
         Ticket ticket = ticketMapper.toEntity(createTicketDTO);
         ticket.setReporter(reporter);
-        Ticket savedTicket = ticketRepository.save(ticket);
+        duplicateDetector.autoLinkTarget(duplicates).ifPresent(ticket::setDuplicateOf);
+
+        // Picked before saving, so the assignee goes into the insert instead of a second update
+        Optional<AutoAssigner.Pick> pick = autoAssigner.pick(ticket.getPriority(), reporter.getDepartment());
+        pick.ifPresent(assignment -> {
+            ticket.setAssignee(assignment.assignee());
+
+            if (ticket.getStatus() == TicketStatus.OPEN) {
+                ticket.setStatus(TicketStatus.IN_PROGRESS);
+            }
+        });
+
+        Ticket savedTicket;
+
+        try {
+            savedTicket = ticketRepository.save(ticket);
+        }
+        catch (RuntimeException e) {
+            pick.ifPresent(autoAssigner::release);
+            throw e;
+        }
+
+        pick.ifPresent(assignment -> autoAssigner.bind(assignment, savedTicket.getId()));
         log.info("Ticket created successfully with id: {}", savedTicket.getId());
-        return ticketMapper.toDto(savedTicket);
+        return new CreatedTicketDTO(publish(TicketEventType.CREATED, ticketMapper.toDto(savedTicket)), duplicates);
     }
 
     @Transactional
-    public TicketDTO updateTicket(UUID id, UpdateTicketDTO updateTicketDTO) {
-        log.info("Updating ticket with id: {}", id);
+    public BulkCreateResultDTO createTickets(List<CreateTicketDTO> createTicketDTOs) {
+        log.info("Bulk creating {} tickets", createTicketDTOs.size());
 
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id: " + id));
+        if (createTicketDTOs.isEmpty()) {
+            throw new ValidationException("At least one ticket required");
+        }
+
+        if (createTicketDTOs.size() > ticketProperties.getBulkMaxSize()) {
+            throw new ValidationException("Bulk request must contain at most " + ticketProperties.getBulkMaxSize() + " tickets");
+        }
+
+        Set<UUID> reporterIds = createTicketDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(CreateTicketDTO::getReporterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, User> reporters = userRepository.findAllById(reporterIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[createTicketDTOs.size()];
+        List<Ticket> batch = new ArrayList<>(ticketProperties.getBatchSize());
+        List<Integer> batchIndexes = new ArrayList<>(ticketProperties.getBatchSize());
+
+        for (int i = 0; i < createTicketDTOs.size(); i++) {
+            CreateTicketDTO createTicketDTO = createTicketDTOs.get(i);
+            String error = validateBulkItem(createTicketDTO, reporters);
+
+            if (error != null) {
+                results[i] = BulkItemResultDTO.builder().index(i).status(BulkItemStatus.FAILED).error(error).build();
+                continue;
+            }
+
+            Ticket ticket = ticketMapper.toEntity(createTicketDTO);
+            ticket.setReporter(reporters.get(createTicketDTO.getReporterId()));
+            batch.add(ticket);
+            batchIndexes.add(i);
+
+            if (batch.size() >= ticketProperties.getBatchSize()) {
+                insertBatch(batch, batchIndexes, results);
+            }
+        }
+        insertBatch(batch, batchIndexes, results);
+
+        int created = (int) Arrays.stream(results).filter(result -> result.getStatus() == BulkItemStatus.CREATED).count();
+        log.info("Bulk creation finished: {} created, {} failed", created, results.length - created);
+
+        return BulkCreateResultDTO.builder()
+                .created(created)
+                .failed(results.length - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    @Transactional
+    public TicketDTO updateTicket(UUID id, UpdateTicketDTO updateTicketDTO, Long expectedVersion) {
+        log.info("Updating ticket with id: {}", id);
 
-        ticketMapper.updateTicketFromDto(updateTicketDTO, ticket);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "title", updateTicketDTO.getTitle());
+        putIfPresent(changes, "description", updateTicketDTO.getDescription());
+        putIfPresent(changes, "status", updateTicketDTO.getStatus());
+        putIfPresent(changes, "priority", updateTicketDTO.getPriority());
 
         if (updateTicketDTO.getReporterId() != null) {
-            User reporter = userRepository.findById(updateTicketDTO.getReporterId())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + updateTicketDTO.getReporterId()));
-            ticket.setReporter(reporter);
+            changes.put("reporter", existingUser(updateTicketDTO.getReporterId()));
+        }
+
+        if (changes.isEmpty()) {
+            Ticket ticket = findTicket(id);
+
+            if (expectedVersion != null && !expectedVersion.equals(ticket.getVersion())) {
+                throw conflict(id);
+            }
+            return ticketMapper.toDto(ticket);
         }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
+        TicketRepositoryCustom.Updated updated = ticketRepository.compareAndSet(id, expectedVersion, changes)
+                .orElseThrow(() -> notUpdated(id, expectedVersion));
         log.info("Ticket updated successfully: {}", id);
-        return ticketMapper.toDto(savedTicket);
+        return publish(TicketEventType.UPDATED, updated);
     }
 
     @Transactional
-    public TicketDTO assignTicket(UUID id, UUID assigneeId) {
+    public TicketDTO assignTicket(UUID id, UUID assigneeId, Long expectedVersion) {
         log.info("Assigning ticket {} to user {}", id, assigneeId);
 
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id: " + id));
+        User assignee = existingUser(assigneeId);
+        TicketRepositoryCustom.Updated updated = ticketRepository.compareAndAssign(id, expectedVersion, assignee)
+                .orElseThrow(() -> notUpdated(id, expectedVersion));
+        log.info("Ticket assigned successfully: {}", id);
+        return publish(TicketEventType.ASSIGNED, updated);
+    }
 
-        User assignee = userRepository.findById(assigneeId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    /**
+     * Assigns the next unassigned OPEN ticket to {@code assigneeId} and moves it to IN_PROGRESS.
+     * Concurrent callers get different tickets.
+     */
+    @Transactional
+    public Optional<TicketDTO> claimNextTicket(UUID assigneeId) {
+        User assignee = existingUser(assigneeId);
+
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            Optional<UUID> next = ticketRepository.lockNextClaimable();
+
+            if (next.isEmpty()) {
+                return Optional.empty();
+            }
 
-        ticket.setAssignee(assignee);
+            // Empty only without SKIP LOCKED: another caller claimed it while this one waited for the lock
+            Optional<TicketRepositoryCustom.Updated> claimed = ticketRepository.claim(next.get(), assignee);
 
-        if (ticket.getStatus() == TicketStatus.OPEN) {
-            ticket.setStatus(TicketStatus.IN_PROGRESS);
+            if (claimed.isPresent()) {
+                log.info("Ticket {} claimed by user {}", next.get(), assigneeId);
+                return Optional.of(publish(TicketEventType.ASSIGNED, claimed.get()));
+            }
         }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
-        log.info("Ticket assigned successfully: {}", id);
-        return ticketMapper.toDto(savedTicket);
+        log.info("No ticket claimed by user {} after {} attempts", assigneeId, CLAIM_ATTEMPTS);
+        return Optional.empty();
+    }
+
+    @Transactional
+    public BulkUpdateResultDTO updateTicketStatuses(BulkStatusUpdateDTO bulkStatusUpdateDTO) {
+        log.info("Bulk changing ticket status to {}", bulkStatusUpdateDTO.getStatus());
+
+        Specification<Ticket> selection = bulkSelection(bulkStatusUpdateDTO);
+        Map<UUID, TicketDTO> previous = lockSelected(selection);
+        int affected = previous.isEmpty() ? 0 : ticketRepository.updateStatus(
+                selection.and(TicketSpecifications.hasIds(previous.keySet())), bulkStatusUpdateDTO.getStatus());
+
+        publishChanged(TicketEventType.UPDATED, previous, affected);
+        log.info("Bulk status change updated {} tickets", affected);
+        return new BulkUpdateResultDTO(affected);
+    }
+
+    @Transactional
+    public BulkUpdateResultDTO assignTickets(BulkAssignDTO bulkAssignDTO) {
+        log.info("Bulk assigning tickets to user {}", bulkAssignDTO.getAssigneeId());
+
+        Specification<Ticket> selection = bulkSelection(bulkAssignDTO);
+        User assignee = userRepository.findById(bulkAssignDTO.getAssigneeId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + bulkAssignDTO.getAssigneeId()));
+
+        Map<UUID, TicketDTO> previous = lockSelected(selection);
+        int affected = previous.isEmpty() ? 0 : ticketRepository.assign(
+                selection.and(TicketSpecifications.hasIds(previous.keySet())), assignee);
+
+        publishChanged(TicketEventType.ASSIGNED, previous, affected);
+        log.info("Bulk assignment updated {} tickets", affected);
+        return new BulkUpdateResultDTO(affected);
     }
 
     @Transactional
@@ -103,6 +406,238 @@ public class TicketService {
         }
 
         ticketRepository.deleteById(id);
+        eventPublisher.publishEvent(new TicketEvent(TicketEventType.DELETED, id, null));
         log.info("Ticket deleted successfully: {}", id);
     }
+
+    private String validateBulkItem(CreateTicketDTO createTicketDTO, Map<UUID, User> reporters) {
+        if (createTicketDTO == null) {
+            return "Ticket required";
+        }
+
+        Set<ConstraintViolation<CreateTicketDTO>> violations = validator.validate(createTicketDTO);
+
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+
+        if (!reporters.containsKey(createTicketDTO.getReporterId())) {
+            return "User not found with id: " + createTicketDTO.getReporterId();
+        }
+        return null;
+    }
+
+    private void insertBatch(List<Ticket> batch, List<Integer> batchIndexes, BulkItemResultDTO[] results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Ids are generated in-process, so the flush goes out as a single JDBC batch
+        ticketRepository.saveAll(batch);
+        entityManager.flush();
+
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            int index = batchIndexes.get(i);
+            results[index] = BulkItemResultDTO.builder().index(index).status(BulkItemStatus.CREATED).id(ticket.getId()).build();
+            publish(TicketEventType.CREATED, ticketMapper.toDto(ticket));
+        }
+
+        // Keep the persistence context small for large requests
+        entityManager.clear();
+        batch.clear();
+        batchIndexes.clear();
+    }
+
+    private void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+
+    /**
+     * User a conditional update will point at. Loaded upfront, since the update itself would only fail with
+     * a foreign key violation that can't be told apart from any other constraint, and the returned ticket
+     * needs the user anyway. Hot users come from the second-level cache.
+     */
+    private User existingUser(UUID id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    }
+
+    // Nothing matched: either the ticket is gone or someone else changed it first
+    private RuntimeException notUpdated(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && ticketRepository.existsById(id)) {
+            return conflict(id);
+        }
+        return new EntityNotFoundException("Ticket not found with id: " + id);
+    }
+
+    private Ticket findTicket(UUID id) {
+        return ticketRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found with id: " + id));
+    }
+
+    private OptimisticLockingFailureException conflict(UUID id) {
+        return new OptimisticLockingFailureException("Ticket " + id + " was modified by another request");
+    }
+
+    private Specification<Ticket> bulkSelection(BulkSelectionDTO selection) {
+        boolean hasIds = selection.getIds() != null && !selection.getIds().isEmpty();
+
+        if (hasIds == (selection.getFilter() != null)) {
+            throw new ValidationException("Either ticket ids or filter required");
+        }
+
+        if (!hasIds) {
+            // An empty filter would select every ticket, which is never what a bulk request means
+            if (!TicketSpecifications.restricts(selection.getFilter())) {
+                throw new ValidationException("Bulk filter must contain at least one criterion");
+            }
+            return TicketSpecifications.matches(selection.getFilter());
+        }
+
+        if (selection.getIds().size() > ticketProperties.getBulkMaxSize()) {
+            throw new ValidationException("Bulk request must contain at most " + ticketProperties.getBulkMaxSize() + " tickets");
+        }
+        return TicketSpecifications.hasIds(selection.getIds());
+    }
+
+    /**
+     * Locks the tickets a bulk update is about to change and returns their state before it, for the events.
+     * Locking in id order keeps overlapping bulk updates from deadlocking, and no single-ticket write
+     * can slip in between this read and the update.
+     */
+    private Map<UUID, TicketDTO> lockSelected(Specification<Ticket> selection) {
+        List<UUID> ids = ticketRepository.findIds(selection, ticketProperties.getBulkMaxSize() + 1);
+
+        if (ids.size() > ticketProperties.getBulkMaxSize()) {
+            throw new ValidationException("Bulk filter must match at most " + ticketProperties.getBulkMaxSize() + " tickets");
+        }
+
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        ticketRepository.lockAllById(ids);
+        return ticketRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Ticket::getId, ticketMapper::toDto));
+    }
+
+    private void publishChanged(TicketEventType type, Map<UUID, TicketDTO> previous, int affected) {
+        if (affected == 0) {
+            return;
+        }
+
+        for (Ticket ticket : ticketRepository.findAllByIdIn(previous.keySet())) {
+            TicketDTO before = previous.get(ticket.getId());
+
+            // Rows the update skipped because they already had the value kept their version
+            if (!ticket.getVersion().equals(before.getVersion())) {
+                publish(type, ticketMapper.toDto(ticket), before);
+            }
+        }
+    }
+
+    private TicketDTO publish(TicketEventType type, TicketRepositoryCustom.Updated updated) {
+        return publish(type, ticketMapper.toDto(updated.current()), ticketMapper.toDto(updated.previous()));
+    }
+
+    private TicketDTO publish(TicketEventType type, TicketDTO ticket) {
+        return publish(type, ticket, null);
+    }
+
+    private TicketDTO publish(TicketEventType type, TicketDTO ticket, TicketDTO previous) {
+        eventPublisher.publishEvent(new TicketEvent(type, ticket.getId(), ticket, previous));
+        return ticket;
+    }
+
+    private CursorPageDTO<TicketDTO> findPage(TicketFilterDTO filter, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        TicketSortField sortField = sortField(filter);
+
+        // One extra row is fetched to detect whether another page exists
+        List<Ticket> tickets = ticketRepository.findSummaries(pageSpecification(filter, cursor), pageSort(filter), pageSize + 1);
+
+        boolean hasNext = tickets.size() > pageSize;
+        List<Ticket> content = hasNext ? tickets.subList(0, pageSize) : tickets;
+        Ticket last = content.isEmpty() ? null : content.getLast();
+
+        return page(ticketMapper.toDtoList(content), hasNext,
+                hasNext ? new Cursor(sortField.getExtractor().apply(last), last.getId()) : null);
+    }
+
+    private CursorPageDTO<Map<String, Object>> findFieldsPage(TicketFilterDTO filter, String cursor, Integer size, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TicketDTO.FIELDS);
+        int pageSize = paginationProperties.resolveSize(size);
+        String sortAttribute = sortField(filter).getAttribute();
+
+        // Cursor columns are selected even when not requested
+        List<Tuple> rows = ticketRepository.findFields(pageSpecification(filter, cursor), selection,
+                List.of("id", sortAttribute), pageSort(filter), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Tuple> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Tuple last = content.isEmpty() ? null : content.getLast();
+
+        return page(content.stream().map(selection::toMap).toList(), hasNext,
+                hasNext ? new Cursor(last.get(sortAttribute, LocalDateTime.class), last.get("id", UUID.class)) : null);
+    }
+
+    private NormalizedTicketPageDTO findNormalizedPage(TicketFilterDTO filter, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        TicketSortField sortField = sortField(filter);
+
+        List<TicketSummaryDTO> rows = ticketRepository.findSummaryRows(pageSpecification(filter, cursor), pageSort(filter), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TicketSummaryDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        TicketSummaryDTO last = content.isEmpty() ? null : content.getLast();
+
+        // Every user on the page is loaded once, however many tickets reference it
+        Set<UUID> userIds = content.stream()
+                .flatMap(ticket -> Stream.of(ticket.getReporterId(), ticket.getAssigneeId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, UserDTO> users = userIds.isEmpty()
+                ? Map.of()
+                : ticketMapper.toUserDtoList(userRepository.loadAll(userIds)).stream()
+                        .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+
+        return NormalizedTicketPageDTO.builder()
+                .content(content)
+                .users(users)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new Cursor(sortField.getSummaryExtractor().apply(last), last.getId()).encode() : null)
+                .build();
+    }
+
+    private Specification<Ticket> pageSpecification(TicketFilterDTO filter, String cursor) {
+        Cursor position = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        Sort.Direction direction = sortDirection(filter);
+        return TicketSpecifications.matches(filter)
+                .and(TicketSpecifications.after(position, sortField(filter), direction));
+    }
+
+    private Sort pageSort(TicketFilterDTO filter) {
+        return Sort.by(sortDirection(filter), sortField(filter).getAttribute(), "id");
+    }
+
+    private TicketSortField sortField(TicketFilterDTO filter) {
+        return filter.getSort() != null ? filter.getSort() : TicketSortField.CREATED_AT;
+    }
+
+    private Sort.Direction sortDirection(TicketFilterDTO filter) {
+        return filter.getDirection() != null ? filter.getDirection() : Sort.Direction.DESC;
+    }
+
+    private <T> CursorPageDTO<T> page(List<T> content, boolean hasNext, Cursor next) {
+        return CursorPageDTO.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(next != null ? next.encode() : null)
+                .build();
+    }
 }
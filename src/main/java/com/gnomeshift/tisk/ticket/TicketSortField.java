@@ -0,0 +1,18 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public enum TicketSortField {
+    CREATED_AT("createdAt", Ticket::getCreatedAt, TicketSummaryDTO::getCreatedAt),
+    UPDATED_AT("updatedAt", Ticket::getUpdatedAt, TicketSummaryDTO::getUpdatedAt);
+
+    private final String attribute;
+    private final Function<Ticket, LocalDateTime> extractor;
+    private final Function<TicketSummaryDTO, LocalDateTime> summaryExtractor;
+}
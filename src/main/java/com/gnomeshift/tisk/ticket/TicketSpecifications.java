@@ -0,0 +1,139 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.pagination.Cursor;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public final class TicketSpecifications {
+    private TicketSpecifications() {
+    }
+
+    public static Specification<Ticket> matches(TicketFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(filter.getStatus()));
+            }
+
+            if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+                predicates.add(root.get("priority").in(filter.getPriority()));
+            }
+
+            if (Boolean.TRUE.equals(filter.getUnassigned())) {
+                predicates.add(cb.isNull(root.get("assignee")));
+            }
+            else if (filter.getAssigneeId() != null) {
+                predicates.add(cb.equal(root.get("assignee").get("id"), filter.getAssigneeId()));
+            }
+
+            if (filter.getReporterId() != null) {
+                predicates.add(cb.equal(root.get("reporter").get("id"), filter.getReporterId()));
+            }
+
+            if (filter.getDepartment() != null && !filter.getDepartment().isBlank()) {
+                predicates.add(cb.equal(reporter(root).get("department"), filter.getDepartment()));
+            }
+
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.getCreatedTo()));
+            }
+
+            if (filter.getUpdatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedFrom()));
+            }
+
+            if (filter.getUpdatedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedTo()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Whether {@link #matches} would restrict the tickets at all, sort settings aside.
+     */
+    public static boolean restricts(TicketFilterDTO filter) {
+        return (filter.getStatus() != null && !filter.getStatus().isEmpty())
+                || (filter.getPriority() != null && !filter.getPriority().isEmpty())
+                || Boolean.TRUE.equals(filter.getUnassigned())
+                || filter.getAssigneeId() != null
+                || filter.getReporterId() != null
+                || (filter.getDepartment() != null && !filter.getDepartment().isBlank())
+                || filter.getCreatedFrom() != null
+                || filter.getCreatedTo() != null
+                || filter.getUpdatedFrom() != null
+                || filter.getUpdatedTo() != null;
+    }
+
+    public static Specification<Ticket> hasIds(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Ticket> after(Cursor cursor, TicketSortField sortField, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+
+            Path<LocalDateTime> timestamp = root.get(sortField.getAttribute());
+            Path<UUID> id = root.get("id");
+
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(timestamp, cursor.getTimestamp()),
+                        cb.and(cb.equal(timestamp, cursor.getTimestamp()), cb.greaterThan(id, cursor.getId()))
+                );
+            }
+            return cb.or(
+                    cb.lessThan(timestamp, cursor.getTimestamp()),
+                    cb.and(cb.equal(timestamp, cursor.getTimestamp()), cb.lessThan(id, cursor.getId()))
+            );
+        };
+    }
+
+    public static Specification<Ticket> fetchUsers() {
+        return (root, query, cb) -> {
+            // Fetch joins are only valid when selecting the entity itself
+            if (query.getResultType() == Ticket.class) {
+                root.fetch("reporter", JoinType.LEFT);
+                root.fetch("assignee", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    // Reuses the reporter join or fetch of the query, joining again would repeat the join in the SQL
+    private static From<?, ?> reporter(Root<Ticket> root) {
+        for (Fetch<Ticket, ?> fetch : root.getFetches()) {
+            if ("reporter".equals(fetch.getAttribute().getName()) && fetch instanceof From<?, ?> from) {
+                return from;
+            }
+        }
+
+        for (Join<Ticket, ?> join : root.getJoins()) {
+            if ("reporter".equals(join.getAttribute().getName())) {
+                return join;
+            }
+        }
+        return root.join("reporter", JoinType.LEFT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.gnomeshift.tisk.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * List row of {@link NormalizedTicketPageDTO}: a ticket without its description, referencing users by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSummaryDTO {
+    private UUID id;
+    private String title;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private UUID reporterId;
+    private UUID assigneeId;
+    private UUID duplicateOf;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -1,5 +1,6 @@
 package com.gnomeshift.tisk.ticket;
 
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,9 +13,11 @@ import java.util.UUID;
 @AllArgsConstructor
 public class UpdateTicketDTO {
     @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
     private String title;
 
     @Size(min = 1, max = 5000, message = "Description must be between 1 and 5000 characters")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
     private String description;
 
     private TicketStatus status;
@@ -1,5 +1,8 @@
 package com.gnomeshift.tisk.user;
 
+import com.gnomeshift.tisk.etag.ConditionalResponses;
+import com.gnomeshift.tisk.etag.ETagService;
+import com.gnomeshift.tisk.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -21,17 +25,22 @@ import java.util.UUID;
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final ETagService eTagService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<?>> getAllUsers(@RequestParam(required = false) String fields, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, eTagService.forUsers(request),
+                () -> fields == null ? userService.getAllUsers() : userService.getAllUsers(fields));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPPORT') or #id == authentication.principal.id")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable UUID id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<UserDTO> getUserById(@PathVariable UUID id, WebRequest request) {
+        return eTagService.forUser(id)
+                .map(eTag -> ConditionalResponses.ifNoneMatch(request, eTag, () -> userService.getUserById(id)))
+                .orElseGet(() -> ResponseEntity.ok(userService.getUserById(id)));
     }
 
     @GetMapping("/email/{email}")
@@ -42,9 +51,12 @@ public class UserController {
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserDTO createUserDTO) {
-        UserDTO createdUser = userService.createUser(createUserDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).location(URI.create("/api/users/" + createdUser.getId())).body(createdUser);
+    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserDTO createUserDTO,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("users", idempotencyKey, createUserDTO, UserDTO.class, () -> {
+            UserDTO createdUser = userService.createUser(createUserDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).location(URI.create("/api/users/" + createdUser.getId())).body(createdUser);
+        });
     }
 
     @PatchMapping("/{id}")
@@ -68,8 +80,10 @@ public class UserController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
+    public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication, WebRequest request) {
         String email = authentication.getName();
-        return ResponseEntity.ok(userService.getUserByEmail(email));
+        return eTagService.forUserByEmail(email)
+                .map(eTag -> ConditionalResponses.ifNoneMatch(request, eTag, () -> userService.getUserByEmail(email)))
+                .orElseGet(() -> ResponseEntity.ok(userService.getUserByEmail(email)));
     }
 }
@@ -1,11 +1,13 @@
 package com.gnomeshift.tisk.user;
 
+import com.gnomeshift.tisk.fields.FieldCatalog;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -13,6 +15,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class UserDTO {
+    public static final FieldCatalog FIELDS = new FieldCatalog(List.of(
+            "id", "email", "login", "firstName", "lastName", "phoneNumber", "department", "position",
+            "role", "status", "createdAt", "updatedAt", "lastLoginAt"
+    ));
+
     private UUID id;
     private String email;
     private String login;
@@ -0,0 +1,28 @@
+package com.gnomeshift.tisk.user;
+
+import com.gnomeshift.tisk.fields.FieldSelection;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserRepositoryCustom {
+    /**
+     * Loads the user by its natural id, so repeated lookups are served from the second-level cache
+     * without a query.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Loads users by id, taking cached ones from the second-level cache and the rest with a single query.
+     * Unknown ids are skipped, the order isn't preserved.
+     */
+    List<User> loadAll(Collection<UUID> ids);
+
+    /**
+     * Selects only the columns behind {@code fields} for every user.
+     */
+    List<Tuple> findFields(FieldSelection fields);
+}
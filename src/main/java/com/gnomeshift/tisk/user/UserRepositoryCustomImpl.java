@@ -0,0 +1,47 @@
+package com.gnomeshift.tisk.user;
+
+import com.gnomeshift.tisk.fields.FieldQueries;
+import com.gnomeshift.tisk.fields.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final EntityManager entityManager;
+
+    // SUPPORTS keeps a session open for the call without borrowing a connection on cache hits
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<User> loadAll(Collection<UUID> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(ids));
+    }
+
+    @Override
+    public List<Tuple> findFields(FieldSelection fields) {
+        CriteriaQuery<Tuple> query = FieldQueries.select(entityManager.getCriteriaBuilder(), User.class, fields,
+                List.of(), null, Sort.unsorted());
+        return entityManager.createQuery(query).getResultList();
+    }
+}
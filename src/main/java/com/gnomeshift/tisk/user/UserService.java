@@ -1,6 +1,10 @@
 package com.gnomeshift.tisk.user;
 
 import com.gnomeshift.tisk.auth.AuthService;
+import com.gnomeshift.tisk.etag.ChangeCounters;
+import com.gnomeshift.tisk.fields.FieldSelection;
+import com.gnomeshift.tisk.ticket.TicketChangeLog;
+import com.gnomeshift.tisk.ticket.TicketRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -21,12 +26,23 @@ public class UserService {
     private final AuthService authService;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeCounters changeCounters;
+    private final TicketRepository ticketRepository;
+    private final TicketChangeLog ticketChangeLog;
 
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userMapper.toDtoList(userRepository.findAll());
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUsers(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, UserDTO.FIELDS);
+        return userRepository.findFields(selection).stream()
+                .map(selection::toMap)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public UserDTO getUserById(UUID id) {
         User user = userRepository.findById(id)
@@ -61,6 +77,7 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("User created successfully with id: {}", savedUser.getId());
         return userMapper.toDto(savedUser);
     }
@@ -85,6 +102,7 @@ public class UserService {
         userMapper.updateUserFromDto(updateUserDTO, user);
 
         User savedUser = userRepository.save(user);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("User updated successfully: {}", id);
         return userMapper.toDto(savedUser);
     }
@@ -96,7 +114,12 @@ public class UserService {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
 
+        // The database clears the user from their tickets, which neither the cache nor delta sync would notice
+        List<UUID> ticketIds = ticketRepository.evictReferencing(id);
+        ticketChangeLog.recordChanged(ticketIds);
+
         userRepository.deleteById(id);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("User deleted successfully: {}", id);
     }
 
@@ -108,6 +131,7 @@ public class UserService {
 
         user.setStatus(status);
         userRepository.save(user);
+        changeCounters.touch(ChangeCounters.USERS);
         log.info("User status changed successfully: {}", id);
     }
 }
@@ -0,0 +1,95 @@
+package db.migration.postgresql;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text index for the postgres search backend, previously created on startup with a plain
+ * {@code CREATE INDEX} that blocked writes to tickets while it was built. PostgreSQL can't build an index
+ * on a partitioned table concurrently, so the parent index is created empty with {@code ON ONLY},
+ * each partition is indexed with {@code CREATE INDEX CONCURRENTLY} and attached, and the parent index
+ * becomes valid once all partitions are. Partitions created later get the index automatically.
+ * Runs outside a transaction and can be repeated after a failure.
+ */
+public class V10__ticket_search_index extends BaseJavaMigration {
+    private static final String INDEX = "idx_tickets_search";
+
+    // Must stay identical to PostgresTicketSearchEngine.DOCUMENT, otherwise the planner won't use the index
+    private static final String DOCUMENT = """
+            (setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+             setweight(to_tsvector('russian', coalesce(description, '')), 'B'))""";
+
+    private static final String PARTITIONS_WITHOUT_INDEX = """
+            SELECT partition.relname
+            FROM pg_inherits inheritance
+            JOIN pg_class partition ON partition.oid = inheritance.inhrelid
+            WHERE inheritance.inhparent = 'tickets'::regclass
+              AND NOT EXISTS (
+                  SELECT 1 FROM pg_index partition_index
+                  JOIN pg_inherits attached ON attached.inhrelid = partition_index.indexrelid
+                  WHERE partition_index.indrelid = partition.oid
+                    AND attached.inhparent = ?::regclass)""";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        // Databases of earlier versions may already have it from startup
+        if (isValid(connection, INDEX)) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS " + INDEX + " ON ONLY tickets USING GIN (" + DOCUMENT + ")");
+
+            for (String partition : partitionsWithoutIndex(connection)) {
+                String partitionIndex = partition + "_search_idx";
+
+                // Left invalid by an interrupted earlier run
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + partitionIndex);
+                statement.execute("CREATE INDEX CONCURRENTLY " + partitionIndex + " ON " + partition
+                        + " USING GIN (" + DOCUMENT + ")");
+                statement.execute("ALTER INDEX " + INDEX + " ATTACH PARTITION " + partitionIndex);
+            }
+        }
+    }
+
+    private static boolean isValid(Connection connection, String index) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            statement.setString(1, index);
+
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private static List<String> partitionsWithoutIndex(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(PARTITIONS_WITHOUT_INDEX)) {
+            statement.setString(1, INDEX);
+
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    partitions.add(result.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+}
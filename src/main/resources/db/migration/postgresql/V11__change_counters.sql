@@ -0,0 +1,9 @@
+-- One row per table, bumped by every transaction that changed it right before it commits
+-- Collection ETags read these instead of counting rows and scanning updated_at
+
+CREATE TABLE change_counters (
+    name         VARCHAR(64) NOT NULL PRIMARY KEY,
+    change_count BIGINT      NOT NULL
+);
+
+INSERT INTO change_counters (name, change_count) VALUES ('tickets', 0), ('users', 0);
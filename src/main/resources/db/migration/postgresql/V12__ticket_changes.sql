@@ -0,0 +1,21 @@
+-- Latest change of every ticket for delta sync, numbered in commit order with the tickets change counter
+-- Replaces ticket_tombstones, deletions are entries flagged as deleted
+
+CREATE TABLE ticket_changes (
+    ticket_id  UUID    NOT NULL PRIMARY KEY,
+    change_seq BIGINT  NOT NULL,
+    deleted    BOOLEAN NOT NULL
+);
+
+CREATE INDEX idx_ticket_changes_change_seq_ticket_id ON ticket_changes (change_seq, ticket_id);
+
+-- Existing tickets sort before every new change, so new clients still read all of them
+INSERT INTO ticket_changes (ticket_id, change_seq, deleted)
+SELECT id, 0, FALSE FROM tickets
+ON CONFLICT (ticket_id) DO NOTHING;
+
+INSERT INTO ticket_changes (ticket_id, change_seq, deleted)
+SELECT id, 0, TRUE FROM ticket_tombstones
+ON CONFLICT (ticket_id) DO NOTHING;
+
+DROP TABLE ticket_tombstones;
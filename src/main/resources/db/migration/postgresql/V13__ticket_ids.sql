@@ -0,0 +1,29 @@
+-- The primary key of the partitioned tickets table includes created_at, so on its own it only keeps ids
+-- unique within a partition. Every ticket id is also kept in ticket_ids, whose primary key rejects a
+-- duplicate across all partitions.
+
+CREATE TABLE ticket_ids (
+    id UUID NOT NULL PRIMARY KEY
+);
+
+INSERT INTO ticket_ids (id)
+SELECT id FROM tickets;
+
+CREATE FUNCTION track_ticket_id() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO ticket_ids (id) VALUES (NEW.id);
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM ticket_ids WHERE id = OLD.id;
+    ELSIF NEW.id <> OLD.id THEN
+        DELETE FROM ticket_ids WHERE id = OLD.id;
+        INSERT INTO ticket_ids (id) VALUES (NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Defined on the partitioned table, so every current and future partition inherits it
+CREATE TRIGGER tickets_track_id
+    AFTER INSERT OR DELETE OR UPDATE OF id ON tickets
+    FOR EACH ROW EXECUTE FUNCTION track_ticket_id();
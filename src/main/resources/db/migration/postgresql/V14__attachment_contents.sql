@@ -0,0 +1,9 @@
+-- Lock row per stored file, uploads and deletes of the same content take turns on it
+-- Created by the first upload of a content and removed together with its file
+
+CREATE TABLE attachment_contents (
+    sha256 VARCHAR(64) NOT NULL PRIMARY KEY
+);
+
+INSERT INTO attachment_contents (sha256)
+SELECT DISTINCT sha256 FROM ticket_attachments;
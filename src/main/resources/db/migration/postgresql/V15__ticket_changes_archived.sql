@@ -0,0 +1,10 @@
+-- The archiver used to leave the entries of archived tickets behind, so delta sync never reported them
+-- They become deletions numbered after every existing entry, clients that have read past them see them again
+
+UPDATE change_counters SET change_count = change_count + 1 WHERE name = 'tickets';
+
+UPDATE ticket_changes c
+SET change_seq = (SELECT change_count FROM change_counters WHERE name = 'tickets'),
+    deleted    = TRUE
+WHERE NOT c.deleted
+  AND NOT EXISTS (SELECT 1 FROM tickets t WHERE t.id = c.ticket_id);
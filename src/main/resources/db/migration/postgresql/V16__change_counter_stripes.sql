@@ -0,0 +1,12 @@
+-- Every counter is split into stripes summed on read, concurrent writers bump different rows instead of queuing on one
+-- Must create as many stripes as ChangeCounters.STRIPES, the existing row becomes stripe 0 and keeps its count
+
+ALTER TABLE change_counters ADD COLUMN stripe INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE change_counters ALTER COLUMN stripe DROP DEFAULT;
+ALTER TABLE change_counters DROP CONSTRAINT change_counters_pkey;
+ALTER TABLE change_counters ADD PRIMARY KEY (name, stripe);
+
+INSERT INTO change_counters (name, stripe, change_count)
+SELECT c.name, s.stripe, 0
+FROM change_counters c
+CROSS JOIN generate_series(1, 15) AS s (stripe);
@@ -0,0 +1,9 @@
+-- Delta sync entries are numbered with the id of the transaction writing them plus this base
+-- TicketChangeLog raises it on startup whenever transaction ids fall behind the entries, as after switching
+-- from counter numbers or restoring a dump into a new cluster
+
+CREATE TABLE ticket_change_base (
+    base BIGINT NOT NULL
+);
+
+INSERT INTO ticket_change_base (base) VALUES (0);
@@ -0,0 +1,7 @@
+-- Logins only set last_login_at, counted apart from other user changes so statistics ETags ignore them
+-- Must create as many stripes as ChangeCounters.STRIPES
+
+INSERT INTO change_counters (name, stripe, change_count)
+SELECT 'logins', s.stripe, 0
+FROM generate_series(0, 15) AS s (stripe)
+ON CONFLICT DO NOTHING;
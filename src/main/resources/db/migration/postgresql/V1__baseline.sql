@@ -0,0 +1,43 @@
+-- Schema as previously created by Hibernate, databases that already have it only get the missing columns
+
+CREATE TABLE IF NOT EXISTS users (
+    id            UUID         NOT NULL PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password      VARCHAR(255) NOT NULL,
+    first_name    VARCHAR(100),
+    last_name     VARCHAR(100),
+    login         VARCHAR(50) UNIQUE,
+    role          VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'SUPPORT', 'ADMIN')),
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED')),
+    phone_number  VARCHAR(255),
+    department    VARCHAR(255),
+    position      VARCHAR(255),
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    last_login_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users (updated_at);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id          UUID         NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description TEXT,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('OPEN', 'IN_PROGRESS', 'CLOSED')),
+    priority    VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'VERY_HIGH')),
+    reporter_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    assignee_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT       NOT NULL DEFAULT 0
+);
+
+-- Tables created by Hibernate before optimistic locking have no version column yet
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS ticket_tombstones (
+    id         UUID         NOT NULL PRIMARY KEY,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_tombstones_deleted_at_id ON ticket_tombstones (deleted_at, id);
@@ -0,0 +1,65 @@
+-- Range partitions of tickets by created_at month, so period queries only touch the months they ask for.
+-- The primary key has to include the partition key; ids stay unique as they are random UUIDs.
+
+CREATE OR REPLACE FUNCTION create_ticket_partition(for_month DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date     DATE := date_trunc('month', for_month);
+    partition_name TEXT := format('tickets_%s', to_char(start_date, 'YYYY_MM'));
+BEGIN
+    -- Serializes concurrent callers, e.g. several instances starting at once
+    PERFORM pg_advisory_xact_lock(hashtext('create_ticket_partition'));
+
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF tickets FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, start_date, start_date + INTERVAL '1 month');
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE tickets RENAME TO tickets_unpartitioned;
+
+CREATE TABLE tickets (
+    id          UUID         NOT NULL,
+    title       VARCHAR(255),
+    description TEXT,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('OPEN', 'IN_PROGRESS', 'CLOSED')),
+    priority    VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'VERY_HIGH')),
+    reporter_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    assignee_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside every monthly partition instead of failing the insert
+CREATE TABLE tickets_default PARTITION OF tickets DEFAULT;
+
+DO $$
+DECLARE
+    partition_month DATE;
+BEGIN
+    FOR partition_month IN
+        SELECT generate_series(
+                       date_trunc('month', coalesce((SELECT min(created_at) FROM tickets_unpartitioned), now())),
+                       date_trunc('month', now()) + INTERVAL '3 months',
+                       INTERVAL '1 month')
+    LOOP
+        PERFORM create_ticket_partition(partition_month);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO tickets (id, title, description, status, priority, reporter_id, assignee_id, created_at, updated_at, version)
+SELECT id, title, description, status, priority, reporter_id, assignee_id, created_at, updated_at, version
+FROM tickets_unpartitioned;
+
+-- Dropping the old table also frees the index names for the partitioned one
+DROP TABLE tickets_unpartitioned CASCADE;
+
+CREATE INDEX idx_tickets_created_at_id ON tickets (created_at, id);
+CREATE INDEX idx_tickets_updated_at_id ON tickets (updated_at, id);
+CREATE INDEX idx_tickets_reporter_created_at_id ON tickets (reporter_id, created_at, id);
+CREATE INDEX idx_tickets_status_priority_created_at ON tickets (status, priority, created_at);
+CREATE INDEX idx_tickets_assignee_status ON tickets (assignee_id, status);
@@ -0,0 +1,30 @@
+-- Closed tickets moved out of the hot table, read back only by id
+
+CREATE TABLE ticket_archive (
+    id          UUID NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description TEXT,
+    status      VARCHAR(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'CLOSED')),
+    priority    VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'VERY_HIGH')),
+    reporter_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    assignee_id UUID REFERENCES users (id) ON DELETE SET NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    version     BIGINT,
+    archived_at TIMESTAMP(6)
+);
+
+-- Partial aggregates appended per archived chunk, statistics sum them up
+CREATE TABLE ticket_archive_stats (
+    id                 UUID             NOT NULL PRIMARY KEY,
+    created_date       DATE,
+    closed_date        DATE,
+    priority           VARCHAR(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'VERY_HIGH')),
+    assignee_id        UUID,
+    department         VARCHAR(255),
+    ticket_count       BIGINT           NOT NULL,
+    resolution_seconds DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX idx_ticket_archive_stats_created_date ON ticket_archive_stats (created_date);
+CREATE INDEX idx_ticket_archive_stats_closed_date ON ticket_archive_stats (closed_date);
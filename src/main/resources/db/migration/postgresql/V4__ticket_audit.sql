@@ -0,0 +1,15 @@
+-- Field-level change history, insert-only
+-- No foreign key to tickets: history outlives deletion and archiving, and tickets is partitioned
+
+CREATE TABLE ticket_audit (
+    id         UUID         NOT NULL PRIMARY KEY,
+    ticket_id  UUID         NOT NULL,
+    field      VARCHAR(255) NOT NULL,
+    old_value  TEXT,
+    new_value  TEXT,
+    changed_by UUID,
+    changed_at TIMESTAMP(6) NOT NULL,
+    version    BIGINT
+);
+
+CREATE INDEX idx_ticket_audit_ticket_id_changed_at_id ON ticket_audit (ticket_id, changed_at, id);
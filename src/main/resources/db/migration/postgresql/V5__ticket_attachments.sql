@@ -0,0 +1,16 @@
+-- Attachment metadata, the content is stored on disk under its SHA-256
+-- No foreign key to tickets: tickets is partitioned and archived tickets keep their attachments
+
+CREATE TABLE ticket_attachments (
+    id           UUID         NOT NULL PRIMARY KEY,
+    ticket_id    UUID         NOT NULL,
+    filename     VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size         BIGINT       NOT NULL,
+    sha256       VARCHAR(64)  NOT NULL,
+    uploaded_by  UUID,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_ticket_attachments_ticket_id ON ticket_attachments (ticket_id);
+CREATE INDEX idx_ticket_attachments_sha256 ON ticket_attachments (sha256);
@@ -0,0 +1,4 @@
+-- Link to the older ticket a new one was detected as a near-duplicate of
+
+ALTER TABLE tickets ADD COLUMN duplicate_of UUID;
+ALTER TABLE ticket_archive ADD COLUMN duplicate_of UUID;
@@ -0,0 +1,13 @@
+-- Fired SLA warnings and breaches, one row per ticket, kind and stage
+-- No foreign key to tickets: tickets is partitioned and alerts outlive archiving
+
+CREATE TABLE ticket_sla_alerts (
+    id        UUID         NOT NULL PRIMARY KEY,
+    ticket_id UUID         NOT NULL,
+    kind      VARCHAR(255) NOT NULL CHECK (kind IN ('RESPONSE', 'RESOLUTION')),
+    stage     VARCHAR(255) NOT NULL CHECK (stage IN ('WARNING', 'BREACH')),
+    priority  VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'VERY_HIGH')),
+    deadline  TIMESTAMP(6) NOT NULL,
+    fired_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_ticket_sla_alerts_ticket_id_kind_stage UNIQUE (ticket_id, kind, stage)
+);
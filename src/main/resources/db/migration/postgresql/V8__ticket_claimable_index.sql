@@ -0,0 +1,8 @@
+-- Work queue of unassigned open tickets in claim order, highest priority first, then oldest
+-- Must match the ORDER BY of TicketRepositoryCustomImpl.NEXT_CLAIMABLE to be used
+
+CREATE INDEX idx_tickets_claimable ON tickets (
+    (CASE priority WHEN 'VERY_HIGH' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END),
+    created_at,
+    id
+) WHERE status = 'OPEN' AND assignee_id IS NULL;
@@ -0,0 +1,13 @@
+-- Responses to create requests sent with an Idempotency-Key, replayed for retries of the same request
+-- Rows are purged once they are older than app.idempotency.ttl-hours
+
+CREATE TABLE idempotency_keys (
+    id          VARCHAR(320) NOT NULL PRIMARY KEY,
+    fingerprint VARCHAR(64)  NOT NULL,
+    status_code INTEGER,
+    location    VARCHAR(255),
+    body        TEXT,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
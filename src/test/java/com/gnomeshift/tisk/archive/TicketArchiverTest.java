@@ -0,0 +1,123 @@
+package com.gnomeshift.tisk.archive;
+
+import com.gnomeshift.tisk.search.TicketSearchEngine;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketChangeLog;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketArchiver Tests")
+class TicketArchiverTest {
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Mock
+    private TicketArchiveStatsRepository ticketArchiveStatsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TicketSearchEngine searchEngine;
+
+    @Mock
+    private TicketChangeLog ticketChangeLog;
+
+    private TicketArchiver archiver;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new TicketArchiver(ticketRepository, archivedTicketRepository, ticketArchiveStatsRepository,
+                new TicketArchiveProperties(365, 2), transactionTemplate, searchEngine, ticketChangeLog);
+        assignee = User.builder().id(UUID.randomUUID()).department("IT").build();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<List<UUID>>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Move tickets in chunks until none are left")
+    @SuppressWarnings("unchecked")
+    void shouldMoveTicketsInChunksUntilNoneAreLeft() {
+        List<Ticket> first = List.of(closedTicket(3600), closedTicket(7200));
+        List<Ticket> second = List.of(closedTicket(1800));
+        when(ticketRepository.findArchivable(any(), eq(Limit.of(2)))).thenReturn(first, second);
+
+        long archived = archiver.archive();
+
+        assertThat(archived).isEqualTo(3);
+        verify(ticketRepository).deleteAllInBatch(first);
+        verify(ticketRepository).deleteAllInBatch(second);
+        verify(ticketChangeLog).recordDeleted(List.of(first.get(0).getId(), first.get(1).getId()));
+        verify(ticketChangeLog).recordDeleted(List.of(second.getFirst().getId()));
+        Stream.concat(first.stream(), second.stream()).forEach(ticket -> verify(searchEngine).remove(ticket.getId()));
+
+        ArgumentCaptor<List<ArchivedTicket>> tickets = ArgumentCaptor.forClass(List.class);
+        verify(archivedTicketRepository, times(2)).saveAll(tickets.capture());
+        assertThat(tickets.getAllValues().getFirst())
+                .extracting(ArchivedTicket::getId)
+                .containsExactly(first.get(0).getId(), first.get(1).getId());
+
+        // Both tickets of the first chunk share every dimension, so they fold into one row
+        ArgumentCaptor<List<TicketArchiveStats>> stats = ArgumentCaptor.forClass(List.class);
+        verify(ticketArchiveStatsRepository, times(2)).saveAll(stats.capture());
+        assertThat(stats.getAllValues().getFirst()).singleElement().satisfies(row -> {
+            assertThat(row.getTicketCount()).isEqualTo(2);
+            assertThat(row.getResolutionSeconds()).isEqualTo(10800.0);
+            assertThat(row.getAssigneeId()).isEqualTo(assignee.getId());
+            assertThat(row.getDepartment()).isEqualTo("IT");
+        });
+    }
+
+    @Test
+    @DisplayName("Do nothing without archivable tickets")
+    void shouldDoNothingWithoutArchivableTickets() {
+        when(ticketRepository.findArchivable(any(), any())).thenReturn(List.of());
+
+        assertThat(archiver.archive()).isZero();
+        verifyNoInteractions(archivedTicketRepository, ticketArchiveStatsRepository);
+        verify(ticketRepository, never()).deleteAllInBatch(any());
+        verifyNoInteractions(searchEngine, ticketChangeLog);
+    }
+
+    private Ticket closedTicket(long resolutionSeconds) {
+        LocalDateTime createdAt = LocalDateTime.of(2023, 3, 1, 9, 0);
+        return Ticket.builder()
+                .id(UUID.randomUUID())
+                .title("Old ticket")
+                .status(TicketStatus.CLOSED)
+                .priority(TicketPriority.LOW)
+                .reporter(assignee)
+                .assignee(assignee)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(resolutionSeconds))
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.gnomeshift.tisk.assignment;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutoAssigner Tests")
+class AutoAssignerTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AssignmentProperties properties;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AssignmentProperties(true, 1, 2, 3, 5);
+        alice = agent("IT");
+        bob = agent("Finance");
+    }
+
+    @Test
+    @DisplayName("Pick agent with lowest weighted workload")
+    void shouldPickAgentWithLowestWeightedWorkload() {
+        AutoAssigner assigner = rebuilt(new LeastLoadedStrategy(),
+                new OpenAssignment(UUID.randomUUID(), alice.getId(), TicketPriority.VERY_HIGH),
+                new OpenAssignment(UUID.randomUUID(), bob.getId(), TicketPriority.LOW),
+                new OpenAssignment(UUID.randomUUID(), bob.getId(), TicketPriority.MEDIUM));
+        when(userRepository.findById(bob.getId())).thenReturn(Optional.of(bob));
+
+        Optional<AutoAssigner.Pick> pick = assigner.pick(TicketPriority.HIGH, null);
+
+        assertThat(pick).map(AutoAssigner.Pick::assignee).contains(bob);
+        assertThat(assigner.loadOf(bob.getId())).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Spread consecutive picks by reserved workload")
+    void shouldSpreadConsecutivePicksByReservedWorkload() {
+        AutoAssigner assigner = rebuilt(new LeastLoadedStrategy());
+        when(userRepository.findById(alice.getId())).thenReturn(Optional.of(alice));
+        when(userRepository.findById(bob.getId())).thenReturn(Optional.of(bob));
+
+        User first = assigner.pick(TicketPriority.MEDIUM, null).orElseThrow().assignee();
+        User second = assigner.pick(TicketPriority.MEDIUM, null).orElseThrow().assignee();
+
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder(alice, bob);
+    }
+
+    @Test
+    @DisplayName("Move workload from reservation to ticket on bind and drop it on close")
+    void shouldMoveWorkloadFromReservationToTicketOnBindAndDropItOnClose() {
+        AutoAssigner assigner = rebuilt(new LeastLoadedStrategy());
+        when(userRepository.findById(any(UUID.class))).thenAnswer(invocation ->
+                Optional.of(invocation.getArgument(0).equals(alice.getId()) ? alice : bob));
+
+        AutoAssigner.Pick pick = assigner.pick(TicketPriority.HIGH, null).orElseThrow();
+        TicketDTO ticket = ticket(pick.assignee(), TicketStatus.IN_PROGRESS);
+        assigner.bind(pick, ticket.getId());
+        assigner.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), ticket));
+
+        assertThat(assigner.loadOf(pick.assignee().getId())).isEqualTo(3);
+
+        ticket.setStatus(TicketStatus.CLOSED);
+        assigner.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, ticket.getId(), ticket));
+
+        assertThat(assigner.loadOf(pick.assignee().getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Skip agent deactivated since last rebuild")
+    void shouldSkipAgentDeactivatedSinceLastRebuild() {
+        AutoAssigner assigner = rebuilt(new RoundRobinStrategy());
+        User deactivated = User.builder().id(alice.getId()).role(UserRole.SUPPORT).status(UserStatus.INACTIVE).build();
+        when(userRepository.findById(alice.getId())).thenReturn(Optional.of(deactivated));
+        when(userRepository.findById(bob.getId())).thenReturn(Optional.of(bob));
+
+        assertThat(assigner.pick(TicketPriority.LOW, null)).map(AutoAssigner.Pick::assignee).contains(bob);
+        assertThat(assigner.pick(TicketPriority.LOW, null)).map(AutoAssigner.Pick::assignee).contains(bob);
+    }
+
+    @Test
+    @DisplayName("Prefer reporter's department and fall back to anyone")
+    void shouldPreferReportersDepartmentAndFallBackToAnyone() {
+        AutoAssigner assigner = rebuilt(new DepartmentAffinityStrategy(),
+                new OpenAssignment(UUID.randomUUID(), bob.getId(), TicketPriority.VERY_HIGH));
+        when(userRepository.findById(bob.getId())).thenReturn(Optional.of(bob));
+        when(userRepository.findById(alice.getId())).thenReturn(Optional.of(alice));
+
+        assertThat(assigner.pick(TicketPriority.LOW, "Finance")).map(AutoAssigner.Pick::assignee).contains(bob);
+        assertThat(assigner.pick(TicketPriority.LOW, "Legal")).map(AutoAssigner.Pick::assignee).contains(alice);
+    }
+
+    @Test
+    @DisplayName("Pick nobody when disabled")
+    void shouldPickNobodyWhenDisabled() {
+        properties.setEnabled(false);
+        AutoAssigner assigner = new AutoAssigner(properties, new LeastLoadedStrategy(),
+                userRepository, ticketRepository, transactionTemplate);
+
+        assigner.rebuild();
+
+        assertThat(assigner.pick(TicketPriority.HIGH, null)).isEmpty();
+        verifyNoInteractions(userRepository, ticketRepository, transactionTemplate);
+    }
+
+    private AutoAssigner rebuilt(AssignmentStrategy strategy, OpenAssignment... assignments) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepository.findByRoleAndStatus(UserRole.SUPPORT, UserStatus.ACTIVE)).thenReturn(List.of(alice, bob));
+        when(ticketRepository.streamOpenAssignments()).thenReturn(Stream.of(assignments));
+
+        AutoAssigner assigner = new AutoAssigner(properties, strategy, userRepository, ticketRepository, transactionTemplate);
+        assigner.rebuild();
+        return assigner;
+    }
+
+    private User agent(String department) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .role(UserRole.SUPPORT)
+                .status(UserStatus.ACTIVE)
+                .department(department)
+                .build();
+    }
+
+    private TicketDTO ticket(User assignee, TicketStatus status) {
+        return TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .status(status)
+                .priority(TicketPriority.HIGH)
+                .assignee(UserDTO.builder().id(assignee.getId()).build())
+                .version(0L)
+                .build();
+    }
+}
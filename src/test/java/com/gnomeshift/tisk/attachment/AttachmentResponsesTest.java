@@ -0,0 +1,126 @@
+package com.gnomeshift.tisk.attachment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AttachmentResponses Tests")
+class AttachmentResponsesTest {
+    private static final String SHA256 = "a".repeat(64);
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private AttachmentDTO attachment;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(directory.resolve(SHA256), "0123456789");
+        attachment = AttachmentDTO.builder()
+                .id(UUID.randomUUID())
+                .filename("server.log")
+                .contentType("text/plain")
+                .size(10)
+                .sha256(SHA256)
+                .build();
+        request = new MockHttpServletRequest("GET", "/api/tickets/1/attachments/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Send whole file")
+    void shouldSendWholeFile() throws Exception {
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + SHA256 + "\"");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("attachment").contains("server.log");
+    }
+
+    @Test
+    @DisplayName("Send requested range")
+    void shouldSendRequestedRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+    }
+
+    @Test
+    @DisplayName("Send file suffix")
+    void shouldSendFileSuffix() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    @DisplayName("Reject range beyond the end")
+    void shouldRejectRangeBeyondTheEnd() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    @DisplayName("Ignore range for stale If-Range")
+    void shouldIgnoreRangeForStaleIfRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    @DisplayName("Answer not modified for matching ETag")
+    void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + SHA256 + "\"");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Hand range to sendfile when supported")
+    void shouldHandRangeToSendfileWhenSupported() throws Exception {
+        request.setAttribute(AttachmentResponses.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        AttachmentResponses.send(attachment, file, request, response);
+
+        assertThat(request.getAttribute(AttachmentResponses.SENDFILE_FILENAME)).isEqualTo(file.toRealPath().toString());
+        assertThat(request.getAttribute(AttachmentResponses.SENDFILE_START)).isEqualTo(2L);
+        assertThat(request.getAttribute(AttachmentResponses.SENDFILE_END)).isEqualTo(6L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
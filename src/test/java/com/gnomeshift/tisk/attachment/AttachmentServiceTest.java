@@ -0,0 +1,218 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.archive.ArchivedTicketRepository;
+import com.gnomeshift.tisk.exception.PayloadTooLargeException;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AttachmentService Tests")
+class AttachmentServiceTest {
+    private static final String SHA256 = "a".repeat(64);
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentContentRepository attachmentContentRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    @Mock
+    private AttachmentMapper attachmentMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AttachmentService attachmentService;
+    private UUID ticketId;
+    private InputStream body;
+
+    @BeforeEach
+    void setUp() {
+        attachmentService = new AttachmentService(attachmentRepository, attachmentContentRepository, ticketRepository,
+                archivedTicketRepository, attachmentStorage, attachmentMapper, new AttachmentProperties("attachments", 100, 1000),
+                transactionTemplate);
+        ticketId = UUID.randomUUID();
+        body = new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Nested
+    @DisplayName("Upload Tests")
+    class UploadTests {
+        @Test
+        @DisplayName("Save attachment metadata")
+        void shouldSaveAttachmentMetadata() throws Exception {
+            AttachmentDTO dto = AttachmentDTO.builder().filename("server.log").build();
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
+            when(attachmentRepository.sumSizeByTicketId(ticketId)).thenReturn(0L);
+            when(attachmentStorage.store(body, 100)).thenReturn(new AttachmentStorage.StoredContent(SHA256, 50, null));
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<Attachment>>getArgument(0).doInTransaction(null));
+            when(attachmentContentRepository.findLockedBySha256(SHA256)).thenReturn(Optional.of(new AttachmentContent(SHA256)));
+            when(ticketRepository.findLockedById(ticketId)).thenReturn(Optional.of(new Ticket()));
+            when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(attachmentMapper.toDto(any(Attachment.class))).thenReturn(dto);
+
+            AttachmentDTO result = attachmentService.upload(ticketId, "C:\\logs\\server.log", "text/plain; charset=utf-8",
+                    50, body, UUID.randomUUID());
+
+            assertThat(result).isSameAs(dto);
+            verify(attachmentRepository).save(argThat(attachment ->
+                    attachment.getFilename().equals("server.log")
+                            && attachment.getContentType().equals("text/plain;charset=utf-8")
+                            && attachment.getSize() == 50
+                            && attachment.getSha256().equals(SHA256)));
+            verify(attachmentStorage).place(any());
+            verify(attachmentStorage).discard(any());
+        }
+
+        @Test
+        @DisplayName("Retry when lock row of content is created concurrently")
+        void shouldRetryWhenLockRowOfContentIsCreatedConcurrently() throws Exception {
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
+            when(attachmentRepository.sumSizeByTicketId(ticketId)).thenReturn(0L);
+            when(attachmentStorage.store(body, 100)).thenReturn(new AttachmentStorage.StoredContent(SHA256, 50, null));
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<Attachment>>getArgument(0).doInTransaction(null));
+            when(attachmentContentRepository.findLockedBySha256(SHA256))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(new AttachmentContent(SHA256)));
+            when(attachmentContentRepository.saveAndFlush(any(AttachmentContent.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+            when(ticketRepository.findLockedById(ticketId)).thenReturn(Optional.of(new Ticket()));
+            when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            attachmentService.upload(ticketId, "server.log", null, 50, body, null);
+
+            verify(attachmentRepository).save(any(Attachment.class));
+            verify(attachmentStorage).place(any());
+        }
+
+        @Test
+        @DisplayName("Reject announced size over remaining quota before reading")
+        void shouldRejectAnnouncedSizeOverRemainingQuotaBeforeReading() {
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
+            when(attachmentRepository.sumSizeByTicketId(ticketId)).thenReturn(950L);
+
+            assertThatThrownBy(() -> attachmentService.upload(ticketId, "server.log", null, 60, body, null))
+                    .isInstanceOf(PayloadTooLargeException.class)
+                    .hasMessageContaining("quota");
+
+            verifyNoInteractions(attachmentStorage);
+        }
+
+        @Test
+        @DisplayName("Delete unused content when quota is exceeded concurrently")
+        void shouldDeleteUnusedContentWhenQuotaIsExceededConcurrently() throws Exception {
+            when(ticketRepository.existsById(ticketId)).thenReturn(true);
+            when(attachmentRepository.sumSizeByTicketId(ticketId)).thenReturn(900L, 990L);
+            when(attachmentStorage.store(body, 100)).thenReturn(new AttachmentStorage.StoredContent(SHA256, 50, null));
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<Attachment>>getArgument(0).doInTransaction(null));
+            when(attachmentContentRepository.findLockedBySha256(SHA256)).thenReturn(Optional.of(new AttachmentContent(SHA256)));
+            when(ticketRepository.findLockedById(ticketId)).thenReturn(Optional.of(new Ticket()));
+            when(attachmentRepository.existsBySha256(SHA256)).thenReturn(false);
+
+            assertThatThrownBy(() -> attachmentService.upload(ticketId, "server.log", null, -1, body, null))
+                    .isInstanceOf(PayloadTooLargeException.class);
+
+            verify(attachmentRepository, never()).save(any());
+            verify(attachmentStorage, never()).place(any());
+            verify(attachmentStorage).delete(SHA256);
+            verify(attachmentStorage).discard(any());
+        }
+
+        @Test
+        @DisplayName("Reject upload to missing ticket")
+        void shouldRejectUploadToMissingTicket() {
+            when(ticketRepository.existsById(ticketId)).thenReturn(false);
+
+            assertThatThrownBy(() -> attachmentService.upload(ticketId, "server.log", null, 10, body, null))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Reject blank filename")
+        void shouldRejectBlankFilename() {
+            assertThatThrownBy(() -> attachmentService.upload(ticketId, "logs/ ", null, 10, body, null))
+                    .isInstanceOf(ValidationException.class);
+
+            verifyNoInteractions(ticketRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Delete Tests")
+    class DeleteTests {
+        @Test
+        @DisplayName("Keep content still used by another attachment")
+        void shouldKeepContentStillUsedByAnotherAttachment() {
+            UUID id = UUID.randomUUID();
+            Attachment attachment = Attachment.builder().id(id).ticketId(ticketId).sha256(SHA256).build();
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<Attachment>>getArgument(0).doInTransaction(null));
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.of(attachment));
+            when(attachmentContentRepository.findLockedBySha256(SHA256)).thenReturn(Optional.of(new AttachmentContent(SHA256)));
+            when(attachmentRepository.existsBySha256(SHA256)).thenReturn(true);
+
+            attachmentService.deleteAttachment(ticketId, id);
+
+            verify(attachmentRepository).delete(attachment);
+            verify(attachmentStorage, never()).delete(any());
+            verify(attachmentContentRepository, never()).delete(any());
+        }
+
+        @Test
+        @DisplayName("Delete unused content with its lock row")
+        void shouldDeleteUnusedContentWithItsLockRow() {
+            UUID id = UUID.randomUUID();
+            Attachment attachment = Attachment.builder().id(id).ticketId(ticketId).sha256(SHA256).build();
+            AttachmentContent content = new AttachmentContent(SHA256);
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<Attachment>>getArgument(0).doInTransaction(null));
+            when(attachmentRepository.findByIdAndTicketId(id, ticketId)).thenReturn(Optional.of(attachment));
+            when(attachmentContentRepository.findLockedBySha256(SHA256)).thenReturn(Optional.of(content));
+            when(attachmentRepository.existsBySha256(SHA256)).thenReturn(false);
+
+            attachmentService.deleteAttachment(ticketId, id);
+
+            // Checked and deleted while holding the lock row, which is what makes uploads wait
+            InOrder inOrder = inOrder(attachmentContentRepository, attachmentRepository, attachmentStorage);
+            inOrder.verify(attachmentContentRepository).findLockedBySha256(SHA256);
+            inOrder.verify(attachmentRepository).existsBySha256(SHA256);
+            inOrder.verify(attachmentStorage).delete(SHA256);
+            verify(attachmentContentRepository).delete(content);
+        }
+    }
+}
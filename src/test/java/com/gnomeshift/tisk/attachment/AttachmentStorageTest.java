@@ -0,0 +1,99 @@
+package com.gnomeshift.tisk.attachment;
+
+import com.gnomeshift.tisk.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AttachmentStorage Tests")
+class AttachmentStorageTest {
+    // SHA-256 of "hello"
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    private Path root;
+
+    private AttachmentStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new AttachmentStorage(new AttachmentProperties(root.toString(), 1024, 4096));
+        storage.init();
+    }
+
+    @Test
+    @DisplayName("Store content under its hash")
+    void shouldStoreContentUnderItsHash() throws Exception {
+        AttachmentStorage.StoredContent content = storage.store(stream("hello"), 1024);
+
+        assertThat(storage.exists(HELLO_SHA256)).isFalse();
+
+        storage.place(content);
+
+        assertThat(content.sha256()).isEqualTo(HELLO_SHA256);
+        assertThat(content.size()).isEqualTo(5);
+        assertThat(storage.path(HELLO_SHA256)).isEqualTo(root.resolve("2c").resolve("f2").resolve(HELLO_SHA256));
+        assertThat(Files.readString(storage.path(HELLO_SHA256))).isEqualTo("hello");
+    }
+
+    @Test
+    @DisplayName("Keep identical content once")
+    void shouldKeepIdenticalContentOnce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            AttachmentStorage.StoredContent content = storage.store(stream("hello"), 1024);
+            storage.place(content);
+            storage.discard(content);
+        }
+
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(storage.path(HELLO_SHA256));
+        }
+    }
+
+    @Test
+    @DisplayName("Discard content over the limit")
+    void shouldDiscardContentOverTheLimit() throws Exception {
+        assertThatThrownBy(() -> storage.store(stream("hello"), 4))
+                .isInstanceOf(PayloadTooLargeException.class);
+
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Delete stored content")
+    void shouldDeleteStoredContent() throws Exception {
+        storage.place(storage.store(stream("hello"), 1024));
+
+        storage.delete(HELLO_SHA256);
+
+        assertThat(storage.exists(HELLO_SHA256)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Place content again after it was deleted")
+    void shouldPlaceContentAgainAfterItWasDeleted() throws Exception {
+        storage.place(storage.store(stream("hello"), 1024));
+        AttachmentStorage.StoredContent content = storage.store(stream("hello"), 1024);
+
+        // A delete of the last attachment with this content, between storing and placing
+        storage.delete(HELLO_SHA256);
+        storage.place(content);
+
+        assertThat(Files.readString(storage.path(HELLO_SHA256))).isEqualTo("hello");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.gnomeshift.tisk.audit;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketAuditListener Tests")
+class TicketAuditListenerTest {
+    @Mock
+    private TicketAuditWriter writer;
+
+    private TicketAuditListener listener;
+    private UUID ticketId;
+    private UserDTO reporter;
+    private TicketDTO previous;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TicketAuditListener(writer);
+        ticketId = UUID.randomUUID();
+        reporter = UserDTO.builder().id(UUID.randomUUID()).build();
+        previous = ticket()
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Queue only changed fields")
+    @SuppressWarnings("unchecked")
+    void shouldQueueOnlyChangedFields() {
+        UUID assigneeId = UUID.randomUUID();
+        TicketDTO updated = ticket()
+                .status(TicketStatus.IN_PROGRESS)
+                .assignee(UserDTO.builder().id(assigneeId).build())
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 11, 0))
+                .version(1L)
+                .build();
+
+        listener.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, updated.getId(), updated, previous));
+
+        ArgumentCaptor<List<TicketAudit>> audits = ArgumentCaptor.forClass(List.class);
+        verify(writer).enqueue(audits.capture());
+        assertThat(audits.getValue())
+                .extracting(TicketAudit::getField, TicketAudit::getOldValue, TicketAudit::getNewValue)
+                .containsExactly(
+                        tuple("status", "OPEN", "IN_PROGRESS"),
+                        tuple("assignee", null, assigneeId.toString()));
+        assertThat(audits.getValue()).allSatisfy(audit -> {
+            assertThat(audit.getTicketId()).isEqualTo(updated.getId());
+            assertThat(audit.getChangedAt()).isEqualTo(updated.getUpdatedAt());
+            assertThat(audit.getVersion()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    @DisplayName("Skip events without previous state")
+    void shouldSkipEventsWithoutPreviousState() {
+        listener.onTicketEvent(new TicketEvent(TicketEventType.CREATED, previous.getId(), previous));
+
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    @DisplayName("Skip updates without changes")
+    void shouldSkipUpdatesWithoutChanges() {
+        listener.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, previous.getId(), previous, previous));
+
+        verifyNoInteractions(writer);
+    }
+
+    private TicketDTO.TicketDTOBuilder ticket() {
+        return TicketDTO.builder()
+                .id(ticketId)
+                .title("Printer is broken")
+                .description("Nothing gets printed")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .reporter(reporter);
+    }
+}
@@ -0,0 +1,164 @@
+package com.gnomeshift.tisk.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketAuditWriter Tests")
+class TicketAuditWriterTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private TicketAuditWriter writer;
+    private List<List<UUID>> batches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.getTransactionManager()).thenReturn(transactionManager);
+        writer = new TicketAuditWriter(jdbcTemplate, transactionTemplate, new TicketAuditProperties(10, 2, 0),
+                meterRegistry);
+        batches = new ArrayList<>();
+
+        // Not reached when rows are written directly
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Write queued rows in batches")
+    void shouldWriteQueuedRowsInBatches() {
+        List<TicketAudit> audits = List.of(audit(), audit(), audit());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    recordBatch(invocation.getArgument(1));
+                    return new int[0][];
+                });
+
+        writer.enqueue(audits);
+        writer.flush();
+
+        assertThat(batches).containsExactly(
+                List.of(audits.get(0).getId(), audits.get(1).getId()),
+                List.of(audits.get(2).getId()));
+        assertThat(writer.getQueueSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keep failed batch for next flush")
+    void shouldKeepFailedBatchForNextFlush() {
+        List<TicketAudit> audits = List.of(audit(), audit());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenAnswer(invocation -> {
+                    recordBatch(invocation.getArgument(1));
+                    return new int[0][];
+                });
+
+        writer.enqueue(audits);
+        writer.flush();
+
+        assertThat(batches).isEmpty();
+        assertThat(writer.getQueueSize()).isEqualTo(2);
+
+        writer.flush();
+
+        assertThat(batches).containsExactly(List.of(audits.get(0).getId(), audits.get(1).getId()));
+        assertThat(writer.getQueueSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Write rows directly when queue is full")
+    void shouldWriteRowsDirectlyWhenQueueIsFull() {
+        TicketAuditWriter fullWriter = new TicketAuditWriter(jdbcTemplate, transactionTemplate,
+                new TicketAuditProperties(1, 2, 0), meterRegistry);
+        List<TicketAudit> audits = List.of(audit(), audit(), audit());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    recordBatch(invocation.getArgument(1));
+                    return new int[0][];
+                });
+
+        fullWriter.enqueue(audits);
+
+        // Written in a transaction of its own, not joined to the caller's committed one
+        assertThat(batches).containsExactly(List.of(audits.get(1).getId(), audits.get(2).getId()));
+        assertThat(fullWriter.getQueueSize()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ticket.audit.rows", "outcome", "overflowed").count()).isEqualTo(2);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Count rows lost when direct write fails")
+    void shouldCountRowsLostWhenDirectWriteFails() {
+        TicketAuditWriter fullWriter = new TicketAuditWriter(jdbcTemplate, transactionTemplate,
+                new TicketAuditProperties(1, 2, 0), meterRegistry);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        fullWriter.enqueue(List.of(audit(), audit()));
+
+        assertThat(fullWriter.getQueueSize()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ticket.audit.rows", "outcome", "lost").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Skip database when nothing is queued")
+    void shouldSkipDatabaseWhenNothingIsQueued() {
+        writer.flush();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verifyNoInteractions(transactionManager, jdbcTemplate);
+    }
+
+    private void recordBatch(Collection<TicketAudit> batch) {
+        batches.add(batch.stream().map(TicketAudit::getId).toList());
+    }
+
+    private TicketAudit audit() {
+        return TicketAudit.builder()
+                .id(UUID.randomUUID())
+                .ticketId(UUID.randomUUID())
+                .field("status")
+                .oldValue("OPEN")
+                .newValue("CLOSED")
+                .changedAt(LocalDateTime.now())
+                .version(1L)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.gnomeshift.tisk.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gnomeshift.tisk.ratelimit.RateLimiter;
 import com.gnomeshift.tisk.security.SecurityConfig;
 import com.gnomeshift.tisk.user.UserDTO;
 import com.gnomeshift.tisk.user.UserRole;
@@ -47,6 +48,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthenticationProvider authenticationProvider;
 
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
     private RegisterDTO registerDTO;
     private LoginDTO loginDTO;
     private AuthResponseDTO authResponse;
@@ -1,5 +1,6 @@
 package com.gnomeshift.tisk.auth;
 
+import com.gnomeshift.tisk.etag.ChangeCounters;
 import com.gnomeshift.tisk.user.*;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
@@ -48,6 +49,9 @@ class AuthServiceTest {
     @Mock
     private JwtProperties jwtProperties;
 
+    @Mock
+    private ChangeCounters changeCounters;
+
     @InjectMocks
     private AuthService authService;
 
@@ -187,6 +191,8 @@ class AuthServiceTest {
             assertThat(response).isNotNull();
             assertThat(response.getAccessToken()).isEqualTo("accessToken");
             assertThat(response.getRefreshToken()).isEqualTo("refreshToken");
+            verify(changeCounters).touch(ChangeCounters.LOGINS);
+            verify(changeCounters, never()).touch(ChangeCounters.USERS);
         }
 
         @Test
@@ -0,0 +1,130 @@
+package com.gnomeshift.tisk.duplicate;
+
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateDetector Tests")
+class DuplicateDetectorTest {
+    private static final String TITLE = "VPN is down in Berlin office";
+    private static final String DESCRIPTION = "Nobody in the Berlin office can connect to the VPN since 9am, error 809 on every laptop";
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private DuplicateProperties properties;
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DuplicateProperties(true, 7, 0.5, 5, false, 0.9, 32, 4, 5);
+        detector = new DuplicateDetector(properties, ticketRepository, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Find reworded ticket")
+    void shouldFindRewordedTicket() {
+        TicketDTO ticket = ticket(TITLE, DESCRIPTION, TicketStatus.OPEN);
+        detector.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), ticket));
+
+        List<DuplicateCandidateDTO> candidates = detector.findCandidates("VPN down in Berlin office",
+                "Nobody in the Berlin office can connect to VPN since 9am, error 809 on every laptop");
+
+        assertThat(candidates).singleElement().satisfies(candidate -> {
+            assertThat(candidate.getId()).isEqualTo(ticket.getId());
+            assertThat(candidate.getTitle()).isEqualTo(TITLE);
+            assertThat(candidate.getSimilarity()).isGreaterThan(0.6);
+        });
+    }
+
+    @Test
+    @DisplayName("Ignore unrelated ticket")
+    void shouldIgnoreUnrelatedTicket() {
+        TicketDTO ticket = ticket(TITLE, DESCRIPTION, TicketStatus.OPEN);
+        detector.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), ticket));
+
+        assertThat(detector.findCandidates("Printer on floor 3 is out of toner",
+                "Please replace the toner cartridge in the printer next to the kitchen")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Forget closed ticket")
+    void shouldForgetClosedTicket() {
+        TicketDTO ticket = ticket(TITLE, DESCRIPTION, TicketStatus.OPEN);
+        detector.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), ticket));
+
+        ticket.setStatus(TicketStatus.CLOSED);
+        detector.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, ticket.getId(), ticket));
+
+        assertThat(detector.findCandidates(TITLE, DESCRIPTION)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Rebuild index from database")
+    void shouldRebuildIndexFromDatabase() {
+        UUID id = UUID.randomUUID();
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(ticketRepository.streamDuplicateDocuments(any(LocalDateTime.class)))
+                .thenReturn(Stream.of(new DuplicateDocument(id, TITLE, DESCRIPTION, LocalDateTime.now())));
+
+        detector.rebuild();
+
+        assertThat(detector.findCandidates(TITLE, DESCRIPTION))
+                .extracting(DuplicateCandidateDTO::getId, DuplicateCandidateDTO::getSimilarity)
+                .containsExactly(tuple(id, 1.0));
+    }
+
+    @Test
+    @DisplayName("Link only when auto-link is on and candidate is similar enough")
+    void shouldLinkOnlyWhenAutoLinkIsOnAndCandidateIsSimilarEnough() {
+        List<DuplicateCandidateDTO> candidates = List.of(new DuplicateCandidateDTO(UUID.randomUUID(), TITLE, 0.95));
+
+        assertThat(detector.autoLinkTarget(candidates)).isEmpty();
+
+        properties.setAutoLink(true);
+
+        assertThat(detector.autoLinkTarget(candidates)).contains(candidates.getFirst().getId());
+        assertThat(detector.autoLinkTarget(List.of(new DuplicateCandidateDTO(UUID.randomUUID(), TITLE, 0.7)))).isEmpty();
+    }
+
+    private TicketDTO ticket(String title, String description, TicketStatus status) {
+        return TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .description(description)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+}
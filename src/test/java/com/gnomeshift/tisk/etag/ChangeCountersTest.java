@@ -0,0 +1,139 @@
+package com.gnomeshift.tisk.etag;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeCounters Tests")
+class ChangeCountersTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ChangeCounters changeCounters;
+
+    @BeforeEach
+    void setUp() {
+        changeCounters = new ChangeCounters(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Bump each touched counter once when the transaction commits")
+    void shouldBumpEachTouchedCounterOnceOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeCounters.touch(ChangeCounters.USERS);
+        changeCounters.touch(ChangeCounters.TICKETS);
+        changeCounters.touch(ChangeCounters.USERS);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+        TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().getFirst();
+        synchronization.beforeCommit(false);
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Always in name order, so two transactions can't wait for each other's counter
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.TICKETS), anyInt());
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.USERS), anyInt());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Hand new value to stamps after bumping")
+    void shouldHandNewValueToStampsAfterBumping() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<Long> stamped = new ArrayList<>();
+
+        changeCounters.touch(ChangeCounters.TICKETS, stamped::add);
+        changeCounters.touch(ChangeCounters.USERS);
+
+        when(jdbcTemplate.queryForObject(startsWith("SELECT"), eq(Long.class), eq(ChangeCounters.TICKETS), eq(0)))
+                .thenReturn(42L);
+        TransactionSynchronizationManager.getSynchronizations().getFirst().beforeCommit(false);
+
+        // Stamps run only once every counter is locked, and always read the stripe they bumped
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.TICKETS), eq(0));
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.USERS), anyInt());
+        inOrder.verify(jdbcTemplate).queryForObject(startsWith("SELECT"), eq(Long.class), eq(ChangeCounters.TICKETS), eq(0));
+        assertThat(stamped).containsExactly(42L);
+    }
+
+    @Test
+    @DisplayName("Leave counters alone when the transaction rolls back")
+    void shouldLeaveCountersAloneOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeCounters.touch(ChangeCounters.TICKETS);
+
+        TransactionSynchronizationManager.getSynchronizations().getFirst()
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Keep counters of a suspended transaction apart")
+    void shouldKeepCountersOfSuspendedTransactionApart() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeCounters.touch(ChangeCounters.TICKETS);
+
+        // What a REQUIRES_NEW transaction does to the outer one's synchronizations
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        changeCounters.touch(ChangeCounters.USERS);
+        TransactionSynchronizationManager.getSynchronizations().getFirst().beforeCommit(false);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.USERS), anyInt());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Spread bumps over the stripes of a counter")
+    void shouldSpreadBumpsOverStripes() {
+        for (int i = 0; i < 100; i++) {
+            changeCounters.touch(ChangeCounters.TICKETS);
+        }
+
+        ArgumentCaptor<Object> stripes = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(100)).update(startsWith("UPDATE"), eq(ChangeCounters.TICKETS), stripes.capture());
+        assertThat(stripes.getAllValues())
+                .allSatisfy(stripe -> assertThat((Integer) stripe).isBetween(0, ChangeCounters.STRIPES - 1));
+        assertThat(Set.copyOf(stripes.getAllValues())).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Bump right away without a transaction")
+    void shouldBumpRightAwayWithoutTransaction() {
+        changeCounters.touch(ChangeCounters.TICKETS);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE"), eq(ChangeCounters.TICKETS), anyInt());
+    }
+}
@@ -0,0 +1,160 @@
+package com.gnomeshift.tisk.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gnomeshift.tisk.auth.JwtProperties;
+import com.gnomeshift.tisk.exception.ConflictException;
+import com.gnomeshift.tisk.exception.UnprocessableEntityException;
+import com.gnomeshift.tisk.user.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyService idempotencyService;
+    private UserDTO createdUser;
+    private AtomicInteger created;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret");
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        idempotencyService = new IdempotencyService(new IdempotencyProperties(24, 100), repository, jdbcTemplate,
+                transactionTemplate, objectMapper, jwtProperties, new SimpleMeterRegistry());
+        createdUser = UserDTO.builder().id(UUID.randomUUID()).email("new@example.com").build();
+        created = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Run action directly without key")
+    void shouldRunActionDirectlyWithoutKey() {
+        ResponseEntity<UserDTO> response = idempotencyService.execute("users", null, "request", UserDTO.class, create());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created).hasValue(1);
+        verifyNoInteractions(transactionTemplate, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Replay stored response for repeated key")
+    void shouldReplayStoredResponseForRepeatedKey() {
+        runInTransaction();
+
+        ResponseEntity<UserDTO> first = idempotencyService.execute("users", "key", "request", UserDTO.class, create());
+        ResponseEntity<UserDTO> second = idempotencyService.execute("users", "key", "request", UserDTO.class, create());
+
+        assertThat(created).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getHeaders().getLocation()).isEqualTo(first.getHeaders().getLocation());
+        assertThat(second.getBody()).isEqualTo(createdUser);
+        verify(jdbcTemplate).update(startsWith("UPDATE"), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Replay response stored by another instance")
+    void shouldReplayResponseStoredByAnotherInstance() throws Exception {
+        runInTransaction();
+        doThrow(new DuplicateKeyException("duplicate")).when(jdbcTemplate).update(startsWith("INSERT"), any(), any(), any());
+        String fingerprint = fingerprintOf("request");
+        when(repository.findById(any())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .statusCode(201)
+                .location("/api/users/" + createdUser.getId())
+                .body(objectMapper.writeValueAsString(createdUser))
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        ResponseEntity<UserDTO> response = idempotencyService.execute("users", "key", "request", UserDTO.class, create());
+
+        assertThat(created).hasValue(0);
+        assertThat(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getBody()).isEqualTo(createdUser);
+        verify(transactionStatus).setRollbackOnly();
+    }
+
+    @Test
+    @DisplayName("Reject key reused for different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        runInTransaction();
+        idempotencyService.execute("users", "key", "request", UserDTO.class, create());
+
+        assertThatThrownBy(() -> idempotencyService.execute("users", "key", "other request", UserDTO.class, create()))
+                .isInstanceOf(UnprocessableEntityException.class);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Report conflict while key is still in progress")
+    void shouldReportConflictWhileKeyIsStillInProgress() {
+        runInTransaction();
+        doThrow(new DuplicateKeyException("duplicate")).when(jdbcTemplate).update(startsWith("INSERT"), any(), any(), any());
+        when(repository.findById(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> idempotencyService.execute("users", "key", "request", UserDTO.class, create()))
+                .isInstanceOf(ConflictException.class);
+        assertThat(created).hasValue(0);
+    }
+
+    private Supplier<ResponseEntity<UserDTO>> create() {
+        return () -> {
+            created.incrementAndGet();
+            return ResponseEntity.created(URI.create("/api/users/" + createdUser.getId())).body(createdUser);
+        };
+    }
+
+    private void runInTransaction() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    private String fingerprintOf(Object request) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("test-secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(objectMapper.writeValueAsBytes(request)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.gnomeshift.tisk.integration;
+
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketChangeRepository;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserService;
+import com.gnomeshift.tisk.user.UserStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the cache is only populated by committed transactions
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+@DisplayName("Entity cache Tests")
+class EntityCacheIntegrationTest {
+    private static final String EMAIL = "cached@example.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketChangeRepository ticketChangeRepository;
+
+    private User user;
+    private Ticket ticket;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email(EMAIL)
+                .password("password")
+                .firstName("Cached")
+                .lastName("User")
+                .login("cached")
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ticket != null) {
+            ticketRepository.deleteById(ticket.getId());
+            ticketChangeRepository.deleteById(ticket.getId());
+        }
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Find user by email without statements")
+    void shouldFindUserByEmailWithoutStatements() {
+        userRepository.findByEmail(EMAIL);
+        statistics.clear();
+
+        Optional<User> found = userRepository.findByEmail(EMAIL);
+
+        assertThat(found).map(User::getId).contains(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Find user by id without statements")
+    void shouldFindUserByIdWithoutStatements() {
+        userRepository.findById(user.getId());
+        statistics.clear();
+
+        Optional<User> found = userRepository.findById(user.getId());
+
+        assertThat(found).map(User::getEmail).contains(EMAIL);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Resolve changed email after update")
+    void shouldResolveChangedEmailAfterUpdate() {
+        userRepository.findByEmail(EMAIL);
+
+        user.setEmail("renamed@example.com");
+        user = userRepository.save(user);
+
+        assertThat(userRepository.findByEmail(EMAIL)).isEmpty();
+        assertThat(userRepository.findByEmail("renamed@example.com")).map(User::getId).contains(user.getId());
+    }
+
+    @Test
+    @DisplayName("Serve repeated user list from query cache")
+    void shouldServeRepeatedUserListFromQueryCache() {
+        userRepository.findAll();
+        statistics.clear();
+
+        assertThat(userRepository.findAll()).extracting(User::getId).contains(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Drop deleted user from cached tickets")
+    void shouldDropDeletedUserFromCachedTickets() {
+        ticket = ticketRepository.save(Ticket.builder()
+                .title("Cached ticket")
+                .description("Reported by a user who is deleted")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.LOW)
+                .reporter(user)
+                .build());
+        ticketRepository.findById(ticket.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThat(ticketRepository.findById(ticket.getId())).get()
+                .extracting(Ticket::getReporter)
+                .isNull();
+    }
+}
@@ -0,0 +1,184 @@
+package com.gnomeshift.tisk.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the migrations the way the application does, each test against a database of its own
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PostgreSQL migration integration Tests")
+class PostgresMigrationIntegrationTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    // Shape of the schema Hibernate generated before the migrations existed, tickets without a version
+    private static final String HIBERNATE_SCHEMA = """
+            CREATE TABLE users (
+                id UUID NOT NULL PRIMARY KEY,
+                email VARCHAR(255) NOT NULL UNIQUE,
+                password VARCHAR(255) NOT NULL,
+                first_name VARCHAR(100),
+                last_name VARCHAR(100),
+                login VARCHAR(50) UNIQUE,
+                role VARCHAR(255) NOT NULL,
+                status VARCHAR(255) NOT NULL,
+                phone_number VARCHAR(255),
+                department VARCHAR(255),
+                position VARCHAR(255),
+                created_at TIMESTAMP(6) NOT NULL,
+                updated_at TIMESTAMP(6) NOT NULL,
+                last_login_at TIMESTAMP(6)
+            );
+            CREATE TABLE tickets (
+                id UUID NOT NULL PRIMARY KEY,
+                title VARCHAR(255),
+                description TEXT,
+                status VARCHAR(255) NOT NULL,
+                priority VARCHAR(255) NOT NULL,
+                reporter_id UUID REFERENCES users (id),
+                assignee_id UUID REFERENCES users (id),
+                created_at TIMESTAMP(6) NOT NULL,
+                updated_at TIMESTAMP(6) NOT NULL
+            )""";
+
+    private static final String INSERT_TICKET = """
+            INSERT INTO tickets (id, title, description, status, priority, created_at, updated_at)
+            VALUES (?, 'Migrated', 'Migration test', 'OPEN', 'LOW', ?, ?)""";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String database = "migration_" + UUID.randomUUID().toString().replace("-", "");
+        new JdbcTemplate(dataSource(POSTGRES.getDatabaseName())).execute("CREATE DATABASE " + database);
+
+        dataSource = dataSource(database);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Migrate an empty database to monthly partitions")
+    void shouldMigrateEmptyDatabaseToMonthlyPartitions() {
+        MigrateResult result = migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT relkind FROM pg_class WHERE relname = 'tickets'", String.class))
+                .isEqualTo("p");
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        for (int i = 0; i <= 3; i++) {
+            assertThat(partitionExists(partitionOf(month.plusMonths(i)))).isTrue();
+        }
+        assertThat(partitionExists("tickets_default")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Baseline a schema created by Hibernate and move its tickets into partitions")
+    void shouldBaselineSchemaCreatedByHibernate() {
+        jdbcTemplate.execute(HIBERNATE_SCHEMA);
+        LocalDateTime lastYear = LocalDateTime.now().minusYears(1);
+        UUID old = insertTicket(UUID.randomUUID(), lastYear);
+        UUID recent = insertTicket(UUID.randomUUID(), LocalDateTime.now());
+
+        MigrateResult result = migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '0'", String.class)).isEqualTo("BASELINE");
+        assertThat(partitionOf(old)).isEqualTo(partitionOf(lastYear.toLocalDate()));
+        assertThat(partitionOf(recent)).isEqualTo(partitionOf(LocalDate.now()));
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM tickets", Long.class)).containsOnly(0L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM ticket_ids", UUID.class))
+                .containsExactlyInAnyOrder(old, recent);
+        assertThat(jdbcTemplate.queryForList("SELECT ticket_id FROM ticket_changes WHERE NOT deleted", UUID.class))
+                .containsExactlyInAnyOrder(old, recent);
+    }
+
+    @Test
+    @DisplayName("Reject a ticket id reused in another partition")
+    void shouldRejectTicketIdReusedInAnotherPartition() {
+        migrate();
+        UUID id = insertTicket(UUID.randomUUID(), LocalDateTime.now());
+
+        // The partitioned primary key alone would accept it, since it includes created_at
+        assertThatThrownBy(() -> insertTicket(id, LocalDateTime.now().minusMonths(2)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Track ticket ids through the trigger")
+    void shouldTrackTicketIdsThroughTrigger() {
+        migrate();
+        UUID id = insertTicket(UUID.randomUUID(), LocalDateTime.now());
+        UUID renamed = UUID.randomUUID();
+
+        jdbcTemplate.update("UPDATE tickets SET id = ? WHERE id = ?", renamed, id);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM ticket_ids", UUID.class)).containsExactly(renamed);
+
+        jdbcTemplate.update("DELETE FROM tickets WHERE id = ?", renamed);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM ticket_ids", UUID.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Leave a migrated database unchanged when migrating again")
+    void shouldLeaveMigratedDatabaseUnchangedWhenMigratingAgain() {
+        migrate();
+
+        assertThat(migrate().migrationsExecuted).isZero();
+    }
+
+    // Same settings as spring.flyway in application.properties
+    private MigrateResult migrate() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private UUID insertTicket(UUID id, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT_TICKET, id, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        return id;
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhparent = 'tickets'::regclass AND inhrelid = to_regclass(?))""",
+                Boolean.class, name));
+    }
+
+    private String partitionOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM tickets WHERE id = ?", String.class, id);
+    }
+
+    private static String partitionOf(LocalDate date) {
+        return "tickets_" + date.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+    }
+
+    private static DataSource dataSource(String database) {
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + database);
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
@@ -0,0 +1,82 @@
+package com.gnomeshift.tisk.integration;
+
+import com.gnomeshift.tisk.ticket.CreateTicketDTO;
+import com.gnomeshift.tisk.ticket.TicketChangesDTO;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketService;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The application against PostgreSQL as in production: Flyway owns the schema and Hibernate only validates it
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.tickets.partitions.enabled=true"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PostgreSQL schema integration Tests")
+class PostgresSchemaIntegrationTest {
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Create a ticket in the partitioned table and sync it")
+    void shouldCreateTicketInPartitionedTableAndSyncIt() {
+        User reporter = userRepository.save(User.builder()
+                .email("postgres@example.com")
+                .password("password")
+                .firstName("Postgres")
+                .lastName("User")
+                .login("postgres")
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        String token = caughtUpToken();
+
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle("Partitioned");
+        createTicketDTO.setDescription("Schema test");
+        createTicketDTO.setPriority(TicketPriority.LOW);
+        createTicketDTO.setReporterId(reporter.getId());
+        UUID id = ticketService.createTicket(createTicketDTO).getId();
+
+        // Numbered with the id of the creating transaction, which has finished and is below the horizon
+        TicketChangesDTO changes = ticketService.getChanges(token, 100);
+
+        assertThat(changes.getChanged()).extracting(TicketDTO::getId).containsExactly(id);
+        assertThat(ticketService.getTicketById(id).getReporter().getId()).isEqualTo(reporter.getId());
+    }
+
+    private String caughtUpToken() {
+        TicketChangesDTO changes = ticketService.getChanges(null, 100);
+
+        while (changes.isHasMore()) {
+            changes = ticketService.getChanges(changes.getToken(), 100);
+        }
+        return changes.getToken();
+    }
+}
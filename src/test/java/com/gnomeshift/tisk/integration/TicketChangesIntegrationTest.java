@@ -0,0 +1,144 @@
+package com.gnomeshift.tisk.integration;
+
+import com.gnomeshift.tisk.ticket.CreateTicketDTO;
+import com.gnomeshift.tisk.ticket.TicketChangeRepository;
+import com.gnomeshift.tisk.ticket.TicketChangesDTO;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketService;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.ticket.UpdateTicketDTO;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: change log entries are only written when a transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Ticket changes integration Tests")
+class TicketChangesIntegrationTest {
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketChangeRepository ticketChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User reporter;
+    private final List<UUID> tickets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reporter = userRepository.save(User.builder()
+                .email("changes@example.com")
+                .password("password")
+                .firstName("Changes")
+                .lastName("User")
+                .login("changes")
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : tickets) {
+            if (ticketRepository.existsById(id)) {
+                ticketService.deleteTicket(id);
+            }
+        }
+        ticketChangeRepository.deleteAllById(tickets);
+        userRepository.deleteById(reporter.getId());
+    }
+
+    @Test
+    @DisplayName("Sync ticket changes and deletions incrementally")
+    void shouldSyncTicketChangesAndDeletionsIncrementally() {
+        String token = caughtUpToken();
+        UUID id = create("Synced");
+
+        TicketChangesDTO created = ticketService.getChanges(token, 100);
+
+        assertThat(created.getChanged()).extracting(TicketDTO::getId).containsExactly(id);
+        assertThat(created.getDeleted()).isEmpty();
+
+        UpdateTicketDTO update = new UpdateTicketDTO();
+        update.setStatus(TicketStatus.CLOSED);
+        ticketService.updateTicket(id, update, null);
+        ticketService.deleteTicket(id);
+
+        TicketChangesDTO deleted = ticketService.getChanges(created.getToken(), 100);
+
+        assertThat(deleted.getChanged()).isEmpty();
+        assertThat(deleted.getDeleted()).containsExactly(id);
+        assertThat(ticketService.getChanges(deleted.getToken(), 100).getDeleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Report transaction that commits after a token was handed out")
+    void shouldReportTransactionThatCommitsAfterTokenWasHandedOut() {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        String token = caughtUpToken();
+
+        // Written first but committed last
+        TransactionStatus slowTransaction = transactionManager.getTransaction(newTransaction);
+        UUID slow = create("Slow");
+        UUID fast = newTransaction.execute(status -> create("Fast"));
+        TicketChangesDTO beforeSlowCommit = newTransaction.execute(status -> ticketService.getChanges(token, 100));
+        transactionManager.commit(slowTransaction);
+
+        TicketChangesDTO afterSlowCommit = ticketService.getChanges(beforeSlowCommit.getToken(), 100);
+
+        assertThat(beforeSlowCommit.getChanged()).extracting(TicketDTO::getId).containsExactly(fast);
+        assertThat(afterSlowCommit.getChanged()).extracting(TicketDTO::getId).containsExactly(slow);
+    }
+
+    private UUID create(String title) {
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle(title);
+        createTicketDTO.setDescription("Delta sync test");
+        createTicketDTO.setPriority(TicketPriority.LOW);
+        createTicketDTO.setReporterId(reporter.getId());
+
+        UUID id = ticketService.createTicket(createTicketDTO).getId();
+        tickets.add(id);
+        return id;
+    }
+
+    private String caughtUpToken() {
+        TicketChangesDTO changes = ticketService.getChanges(null, 100);
+
+        while (changes.isHasMore()) {
+            changes = ticketService.getChanges(changes.getToken(), 100);
+        }
+        return changes.getToken();
+    }
+}
@@ -0,0 +1,161 @@
+package com.gnomeshift.tisk.integration;
+
+import com.gnomeshift.tisk.ticket.CreateTicketDTO;
+import com.gnomeshift.tisk.ticket.TicketChangeRepository;
+import com.gnomeshift.tisk.ticket.TicketChangesDTO;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketService;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: every claim commits on its own thread
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Ticket claim integration Tests")
+class TicketClaimIntegrationTest {
+    private static final int CLAIMERS = 4;
+    private static final int TICKETS = 12;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketChangeRepository ticketChangeRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<UUID> tickets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CLAIMERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .email("claimer" + i + "@example.com")
+                    .password("password")
+                    .firstName("Claimer")
+                    .lastName("User" + i)
+                    .login("claimer" + i)
+                    .role(UserRole.USER)
+                    .status(UserStatus.ACTIVE)
+                    .build()));
+        }
+
+        for (int i = 0; i < TICKETS; i++) {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+            createTicketDTO.setTitle("Claimable " + i);
+            createTicketDTO.setDescription("Concurrent claim test");
+            createTicketDTO.setPriority(TicketPriority.values()[i % TicketPriority.values().length]);
+            createTicketDTO.setReporterId(users.getFirst().getId());
+            tickets.add(ticketService.createTicket(createTicketDTO).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : tickets) {
+            if (ticketRepository.existsById(id)) {
+                ticketService.deleteTicket(id);
+            }
+        }
+        ticketChangeRepository.deleteAllById(tickets);
+        users.forEach(user -> userRepository.deleteById(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Hand every ticket to exactly one of several concurrent claimers")
+    void shouldHandEveryTicketToExactlyOneConcurrentClaimer() throws Exception {
+        String token = caughtUpToken();
+        Map<UUID, UUID> claimedBy = new ConcurrentHashMap<>();
+        List<UUID> claimedTwice = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLAIMERS);
+
+        try {
+            List<Future<?>> claimers = new ArrayList<>();
+
+            for (User user : users) {
+                claimers.add(executor.submit(() -> {
+                    start.await();
+                    Optional<TicketDTO> claimed;
+
+                    // Without SKIP LOCKED a claimer may give up while others still claim, the last one left never does
+                    while ((claimed = ticketService.claimNextTicket(user.getId())).isPresent()) {
+                        if (claimedBy.putIfAbsent(claimed.get().getId(), user.getId()) != null) {
+                            synchronized (claimedTwice) {
+                                claimedTwice.add(claimed.get().getId());
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> claimer : claimers) {
+                claimer.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(claimedTwice).isEmpty();
+        assertThat(claimedBy).containsOnlyKeys(tickets);
+        claimedBy.forEach((ticketId, userId) ->
+                assertThat(ticketService.getTicketById(ticketId).getAssignee().getId()).isEqualTo(userId));
+
+        // Every claim committed its delta sync entry, none got lost between the concurrent writers
+        assertThat(changedSince(token)).containsExactlyInAnyOrderElementsOf(tickets);
+    }
+
+    private String caughtUpToken() {
+        TicketChangesDTO changes = ticketService.getChanges(null, 100);
+
+        while (changes.isHasMore()) {
+            changes = ticketService.getChanges(changes.getToken(), 100);
+        }
+        return changes.getToken();
+    }
+
+    private List<UUID> changedSince(String token) {
+        List<UUID> changed = new ArrayList<>();
+        TicketChangesDTO changes;
+
+        do {
+            changes = ticketService.getChanges(token, 100);
+            changes.getChanged().forEach(ticket -> changed.add(ticket.getId()));
+            token = changes.getToken();
+        } while (changes.isHasMore());
+        return changed;
+    }
+}
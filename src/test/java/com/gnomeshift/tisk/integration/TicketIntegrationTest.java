@@ -3,12 +3,16 @@ package com.gnomeshift.tisk.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gnomeshift.tisk.auth.AuthResponseDTO;
 import com.gnomeshift.tisk.auth.LoginDTO;
+import com.gnomeshift.tisk.ticket.BulkAssignDTO;
 import com.gnomeshift.tisk.ticket.CreateTicketDTO;
+import com.gnomeshift.tisk.ticket.TicketFilterDTO;
+import com.gnomeshift.tisk.ticket.UpdateTicketDTO;
 import com.gnomeshift.tisk.ticket.TicketPriority;
 import com.gnomeshift.tisk.user.User;
 import com.gnomeshift.tisk.user.UserRepository;
 import com.gnomeshift.tisk.user.UserRole;
 import com.gnomeshift.tisk.user.UserStatus;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -21,7 +25,9 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -43,6 +49,9 @@ class TicketIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private String accessToken;
 
@@ -124,4 +133,302 @@ class TicketIntegrationTest {
                         .header("Authorization", "Bearer " + accessToken))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("Filter tickets on server")
+    void shouldFilterTicketsOnServer() throws Exception {
+        for (TicketPriority priority : List.of(TicketPriority.LOW, TicketPriority.HIGH, TicketPriority.HIGH)) {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+            createTicketDTO.setTitle("Filter " + priority);
+            createTicketDTO.setDescription("Filter test");
+            createTicketDTO.setPriority(priority);
+            createTicketDTO.setReporterId(testUser.getId());
+
+            mockMvc.perform(post("/api/tickets")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createTicketDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("status", "OPEN")
+                        .param("priority", "HIGH")
+                        .param("unassigned", "true")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].priority").value("HIGH"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        mockMvc.perform(get("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("priority", "LOW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("Bulk assign tickets matching filter")
+    void shouldBulkAssignTicketsMatchingFilter() throws Exception {
+        for (TicketPriority priority : List.of(TicketPriority.LOW, TicketPriority.HIGH, TicketPriority.HIGH)) {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+            createTicketDTO.setTitle("Bulk " + priority);
+            createTicketDTO.setDescription("Bulk test");
+            createTicketDTO.setPriority(priority);
+            createTicketDTO.setReporterId(testUser.getId());
+
+            mockMvc.perform(post("/api/tickets")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createTicketDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        TicketFilterDTO filter = new TicketFilterDTO();
+        filter.setPriority(List.of(TicketPriority.HIGH));
+
+        mockMvc.perform(patch("/api/tickets/bulk/assign")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkAssignDTO(null, filter, testUser.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("status", "IN_PROGRESS")
+                        .param("assigneeId", testUser.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].priority").value("HIGH"));
+    }
+
+    @Test
+    @DisplayName("Claim unassigned tickets by priority, then age")
+    void shouldClaimUnassignedTicketsByPriorityThenAge() throws Exception {
+        for (TicketPriority priority : List.of(TicketPriority.LOW, TicketPriority.VERY_HIGH, TicketPriority.MEDIUM)) {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+            createTicketDTO.setTitle("Queue " + priority);
+            createTicketDTO.setDescription("Claim test");
+            createTicketDTO.setPriority(priority);
+            createTicketDTO.setReporterId(testUser.getId());
+
+            mockMvc.perform(post("/api/tickets")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createTicketDTO)))
+                    .andExpect(status().isCreated());
+        }
+        entityManager.flush();
+
+        for (TicketPriority priority : List.of(TicketPriority.VERY_HIGH, TicketPriority.MEDIUM, TicketPriority.LOW)) {
+            mockMvc.perform(post("/api/tickets/claim-next")
+                            .header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Queue " + priority))
+                    .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                    .andExpect(jsonPath("$.assignee.id").value(testUser.getId().toString()));
+        }
+
+        mockMvc.perform(post("/api/tickets/claim-next")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Replay ticket creation with the same Idempotency-Key")
+    void shouldReplayTicketCreationWithSameIdempotencyKey() throws Exception {
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle("Idempotent");
+        createTicketDTO.setDescription("Retry test");
+        createTicketDTO.setPriority(TicketPriority.LOW);
+        createTicketDTO.setReporterId(testUser.getId());
+
+        MvcResult created = mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        String ticketId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", "/api/tickets/" + ticketId))
+                .andExpect(jsonPath("$.id").value(ticketId));
+
+        createTicketDTO.setTitle("Something else");
+
+        mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Answer conditional ticket requests with ETags")
+    void shouldAnswerConditionalTicketRequestsWithETags() throws Exception {
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle("Conditional");
+        createTicketDTO.setDescription("ETag test");
+        createTicketDTO.setPriority(TicketPriority.LOW);
+        createTicketDTO.setReporterId(testUser.getId());
+
+        MvcResult created = mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String ticketId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+        entityManager.flush();
+
+        String eTag = mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        UpdateTicketDTO updateTicketDTO = new UpdateTicketDTO();
+        updateTicketDTO.setTitle("Conditional updated");
+
+        mockMvc.perform(patch("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateTicketDTO)))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Conditional updated"));
+    }
+
+    @Test
+    @DisplayName("Reject update with stale If-Match version")
+    void shouldRejectUpdateWithStaleIfMatchVersion() throws Exception {
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle("Versioned");
+        createTicketDTO.setDescription("Compare-and-set test");
+        createTicketDTO.setPriority(TicketPriority.MEDIUM);
+        createTicketDTO.setReporterId(testUser.getId());
+
+        MvcResult created = mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn();
+        String ticketId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+
+        UpdateTicketDTO updateTicketDTO = new UpdateTicketDTO();
+        updateTicketDTO.setPriority(TicketPriority.HIGH);
+
+        mockMvc.perform(patch("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateTicketDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        updateTicketDTO.setPriority(TicketPriority.LOW);
+
+        mockMvc.perform(patch("/api/tickets/{id}", ticketId)
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateTicketDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Return slim lists and only requested fields")
+    void shouldReturnSlimListsAndOnlyRequestedFields() throws Exception {
+        CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+        createTicketDTO.setTitle("Sparse");
+        createTicketDTO.setDescription("Long description that list views don't need");
+        createTicketDTO.setPriority(TicketPriority.MEDIUM);
+        createTicketDTO.setReporterId(testUser.getId());
+
+        mockMvc.perform(post("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTicketDTO)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Sparse"))
+                .andExpect(jsonPath("$.content[0].reporter.email").value("integration@example.com"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        mockMvc.perform(get("/api/tickets/my")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("fields", "id,title,reporter.email,assignee.id")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Sparse"))
+                .andExpect(jsonPath("$.content[0].reporter.email").value("integration@example.com"))
+                .andExpect(jsonPath("$.content[0].reporter.id").doesNotExist())
+                .andExpect(jsonPath("$.content[0].assignee").value(nullValue()))
+                .andExpect(jsonPath("$.content[0].status").doesNotExist())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        mockMvc.perform(get("/api/tickets")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Side-load users once in normalized lists")
+    void shouldSideLoadUsersOnceInNormalizedLists() throws Exception {
+        for (String title : List.of("First", "Second")) {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO();
+            createTicketDTO.setTitle(title);
+            createTicketDTO.setDescription("Same reporter");
+            createTicketDTO.setPriority(TicketPriority.LOW);
+            createTicketDTO.setReporterId(testUser.getId());
+
+            mockMvc.perform(post("/api/tickets")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createTicketDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/tickets/my")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .param("normalized", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].reporterId").value(testUser.getId().toString()))
+                .andExpect(jsonPath("$.content[0].reporter").doesNotExist())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users['" + testUser.getId() + "'].email").value("integration@example.com"));
+    }
 }
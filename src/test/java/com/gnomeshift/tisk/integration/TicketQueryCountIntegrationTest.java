@@ -0,0 +1,205 @@
+package com.gnomeshift.tisk.integration;
+
+import com.gnomeshift.tisk.auth.JwtService;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketFilterDTO;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketSpecifications;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserRepository;
+import com.gnomeshift.tisk.user.UserRole;
+import com.gnomeshift.tisk.user.UserStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Ticket query count Tests")
+class TicketQueryCountIntegrationTest {
+    private static final int TICKET_COUNT = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User reporter;
+    private String accessToken;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        reporter = userRepository.save(buildUser("reporter", UserRole.ADMIN));
+
+        // Every ticket gets its own assignee so a lazy load per row would be visible
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            User assignee = userRepository.save(buildUser("assignee" + i, UserRole.SUPPORT));
+            tickets.add(Ticket.builder()
+                    .title("Ticket " + i)
+                    .description("Description " + i)
+                    .status(TicketStatus.IN_PROGRESS)
+                    .priority(TicketPriority.MEDIUM)
+                    .reporter(reporter)
+                    .assignee(assignee)
+                    .build());
+        }
+        ticketRepository.saveAll(tickets);
+
+        accessToken = jwtService.generateAccessToken(reporter);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("List all tickets with bounded number of statements")
+    void shouldListAllTicketsWithBoundedStatements() throws Exception {
+        mockMvc.perform(get("/api/tickets")
+                        .param("size", String.valueOf(TICKET_COUNT))
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(TICKET_COUNT));
+
+        // Principal lookup + ticket page
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("List my tickets with bounded number of statements")
+    void shouldListMyTicketsWithBoundedStatements() throws Exception {
+        mockMvc.perform(get("/api/tickets/my")
+                        .param("size", String.valueOf(TICKET_COUNT))
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(TICKET_COUNT));
+
+        // Principal lookup + reporter lookup + ticket page
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Get ticket by id with bounded number of statements")
+    void shouldGetTicketByIdWithBoundedStatements() throws Exception {
+        Ticket ticket = ticketRepository.findAll().getFirst();
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/tickets/{id}", ticket.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignee.email").exists());
+
+        // Principal lookup + ticket with users
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Update ticket with If-Match without reading it")
+    void shouldUpdateTicketWithIfMatchWithoutReadingIt() throws Exception {
+        Ticket ticket = ticketRepository.findAll().getFirst();
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(patch("/api/tickets/{id}", ticket.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("If-Match", "\"" + ticket.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"priority\":\"HIGH\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.version").value(ticket.getVersion() + 1))
+                .andExpect(jsonPath("$.assignee.email").exists());
+
+        // The conditional update returns the old row, the ticket itself is never loaded
+        assertThat(statistics.getEntityStatistics(Ticket.class.getName()).getLoadCount()).isZero();
+        // Principal lookup + update + reporter and assignee, which come from the second-level cache in production
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Filter by department through the existing reporter join")
+    void shouldFilterByDepartmentThroughExistingReporterJoin() throws Exception {
+        reporter.setDepartment("IT");
+        userRepository.saveAndFlush(reporter);
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/tickets")
+                        .param("department", "IT")
+                        .param("size", String.valueOf(TICKET_COUNT))
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(TICKET_COUNT));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+
+        TicketFilterDTO filter = new TicketFilterDTO();
+        filter.setDepartment("IT");
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Ticket> root = query.from(Ticket.class);
+        root.join("reporter", JoinType.LEFT);
+
+        TicketSpecifications.matches(filter).toPredicate(root, query, cb);
+
+        assertThat(root.getJoins()).hasSize(1);
+    }
+
+    private User buildUser(String login, UserRole role) {
+        return User.builder()
+                .email(login + "@example.com")
+                .password("password")
+                .firstName("Query")
+                .lastName("Count")
+                .login(login)
+                .role(role)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(new RateLimitProperties(true, 10, 2, 6, 2, 6, 100, 6000), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Reject requests beyond burst with retry time")
+    void shouldRejectRequestsBeyondBurst() {
+        RateLimiter.Decision first = rateLimiter.tryAcquire(RouteGroup.AUTH, "10.0.0.1", 0);
+        RateLimiter.Decision second = rateLimiter.tryAcquire(RouteGroup.AUTH, "10.0.0.1", 0);
+        RateLimiter.Decision third = rateLimiter.tryAcquire(RouteGroup.AUTH, "10.0.0.1", 0);
+
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.limit()).isEqualTo(2);
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(first.reset()).isEqualTo(10);
+        assertThat(second.remaining()).isZero();
+        assertThat(third.allowed()).isFalse();
+        assertThat(third.retryAfter()).isEqualTo(10);
+        assertThat(third.reset()).isEqualTo(20);
+
+        assertThat(rateLimiter.tryAcquire(RouteGroup.AUTH, "10.0.0.1", 10 * SECOND).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Keep separate buckets per subject and route group")
+    void shouldKeepSeparateBucketsPerSubjectAndGroup() {
+        UUID user = UUID.randomUUID();
+        rateLimiter.tryAcquire(RouteGroup.STATISTICS, user, 0);
+        rateLimiter.tryAcquire(RouteGroup.STATISTICS, user, 0);
+
+        assertThat(rateLimiter.tryAcquire(RouteGroup.STATISTICS, user, 0).allowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire(RouteGroup.STATISTICS, UUID.randomUUID(), 0).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire(RouteGroup.DEFAULT, user, 0).allowed()).isTrue();
+        assertThat(rateLimiter.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Count allowed and rejected requests per group")
+    void shouldCountRequestsPerGroup() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RouteGroup.AUTH, "10.0.0.1", 0);
+        }
+
+        assertThat(meterRegistry.get("rate.limit.requests").tags("group", "auth", "outcome", "allowed").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("rate.limit.requests").tags("group", "auth", "outcome", "rejected").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Evict buckets that stayed full for the idle time")
+    void shouldEvictIdleBuckets() {
+        rateLimiter.tryAcquire(RouteGroup.DEFAULT, "10.0.0.1", 0);
+        rateLimiter.tryAcquire(RouteGroup.DEFAULT, "10.0.0.2", TimeUnit.MINUTES.toNanos(5));
+
+        rateLimiter.evictIdle(TimeUnit.MINUTES.toNanos(11));
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limit.buckets").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Map request paths to route groups")
+    void shouldMapPathsToRouteGroups() {
+        assertThat(RouteGroup.of("/api/auth/login")).isEqualTo(RouteGroup.AUTH);
+        assertThat(RouteGroup.of("/api/statistics/by-status")).isEqualTo(RouteGroup.STATISTICS);
+        assertThat(RouteGroup.of("/api/statisticsx")).isEqualTo(RouteGroup.DEFAULT);
+        assertThat(RouteGroup.of("/api/tickets")).isEqualTo(RouteGroup.DEFAULT);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gnomeshift.tisk.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+    private static final long INTERVAL = 1_000;
+
+    @Test
+    @DisplayName("Allow burst up to capacity, then report wait for next token")
+    void shouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertThat(bucket.tryAcquire(0, INTERVAL, 3)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(0, INTERVAL, 3)).isEqualTo(2 * INTERVAL);
+        assertThat(bucket.tryAcquire(0, INTERVAL, 3)).isEqualTo(3 * INTERVAL);
+        assertThat(bucket.tryAcquire(0, INTERVAL, 3)).isEqualTo(-INTERVAL);
+        assertThat(bucket.tryAcquire(400, INTERVAL, 3)).isEqualTo(-600);
+    }
+
+    @Test
+    @DisplayName("Refill one token per interval")
+    void shouldRefillOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0, INTERVAL, 3);
+        }
+
+        assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, 3)).isPositive();
+        assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, 3)).isNegative();
+        assertThat(bucket.tryAcquire(10 * INTERVAL, INTERVAL, 3)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Become idle once full for longer than idle time")
+    void shouldBecomeIdleOnceFull() {
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(0, INTERVAL, 3);
+
+        assertThat(bucket.isIdle(INTERVAL + 500, 1_000)).isFalse();
+        assertThat(bucket.isIdle(INTERVAL + 1_001, 1_000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Hand out exactly capacity tokens to concurrent callers")
+    void shouldHandOutExactlyCapacityToConcurrentCallers() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int j = 0; j < 1_000; j++) {
+                    if (bucket.tryAcquire(0, INTERVAL, 500) > 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(granted).hasValue(500);
+    }
+}
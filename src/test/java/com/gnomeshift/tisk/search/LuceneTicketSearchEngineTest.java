@@ -0,0 +1,76 @@
+package com.gnomeshift.tisk.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LuceneTicketSearchEngine Tests")
+class LuceneTicketSearchEngineTest {
+    private LuceneTicketSearchEngine searchEngine;
+
+    private final UUID printerTicketId = UUID.randomUUID();
+    private final UUID vpnTicketId = UUID.randomUUID();
+    private final UUID mailTicketId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new LuceneTicketSearchEngine(new SearchProperties());
+        searchEngine.rebuild(Stream.of(
+                new TicketSearchDocument(printerTicketId, "Не работает принтер", "Принтер в кабинете 305 не печатает документы"),
+                new TicketSearchDocument(vpnTicketId, "VPN connection drops", "Remote workers are losing the VPN connection"),
+                new TicketSearchDocument(mailTicketId, "Почта", "Не приходят письма с вложениями, проблема с принтерами не связана")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchEngine.close();
+    }
+
+    @Test
+    @DisplayName("Match Russian word forms")
+    void shouldMatchRussianWordForms() {
+        List<UUID> result = searchEngine.search("принтеры", 10);
+
+        assertThat(result).containsExactlyInAnyOrder(printerTicketId, mailTicketId);
+    }
+
+    @Test
+    @DisplayName("Rank title matches first")
+    void shouldRankTitleMatchesFirst() {
+        List<UUID> result = searchEngine.search("принтер", 10);
+
+        assertThat(result.getFirst()).isEqualTo(printerTicketId);
+    }
+
+    @Test
+    @DisplayName("Match English word forms")
+    void shouldMatchEnglishWordForms() {
+        assertThat(searchEngine.search("connections dropping", 10)).containsExactly(vpnTicketId);
+    }
+
+    @Test
+    @DisplayName("Reflect index updates and removals")
+    void shouldReflectIndexUpdatesAndRemovals() {
+        searchEngine.index(new TicketSearchDocument(vpnTicketId, "Сломался монитор", "Монитор мерцает"));
+        searchEngine.remove(printerTicketId);
+
+        assertThat(searchEngine.search("VPN", 10)).isEmpty();
+        assertThat(searchEngine.search("мониторы", 10)).containsExactly(vpnTicketId);
+        assertThat(searchEngine.search("принтер", 10)).containsExactly(mailTicketId);
+    }
+
+    @Test
+    @DisplayName("Return empty result for stop words only")
+    void shouldReturnEmptyResultForStopWordsOnly() {
+        assertThat(searchEngine.search("the и", 10)).isEmpty();
+    }
+}
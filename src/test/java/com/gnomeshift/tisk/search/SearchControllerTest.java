@@ -0,0 +1,83 @@
+package com.gnomeshift.tisk.search;
+
+import com.gnomeshift.tisk.auth.JwtService;
+import com.gnomeshift.tisk.ratelimit.RateLimiter;
+import com.gnomeshift.tisk.security.SecurityConfig;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test")
+@DisplayName("SearchController Tests")
+class SearchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private AuthenticationProvider authenticationProvider;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    @WithMockUser
+    @DisplayName("Return matching tickets")
+    void shouldReturnMatchingTickets() throws Exception {
+        TicketDTO ticket = TicketDTO.builder().id(UUID.randomUUID()).title("Printer is broken").build();
+        when(searchService.searchTickets("printer", 5)).thenReturn(List.of(ticket));
+
+        mockMvc.perform(get("/api/tickets/search")
+                        .param("q", "printer")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(ticket.getId().toString()))
+                .andExpect(jsonPath("$[0].title").value("Printer is broken"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Return bad request for invalid query")
+    void shouldReturnBadRequestForInvalidQuery() throws Exception {
+        when(searchService.searchTickets(any(), isNull())).thenThrow(new ValidationException("Search query required"));
+
+        mockMvc.perform(get("/api/tickets/search")
+                        .param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query required"));
+    }
+
+    @Test
+    @DisplayName("Return unauthorized for unauthenticated user")
+    void shouldReturnUnauthorizedForUnauthenticatedUser() throws Exception {
+        mockMvc.perform(get("/api/tickets/search")
+                        .param("q", "printer"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(searchService);
+    }
+}
@@ -0,0 +1,93 @@
+package com.gnomeshift.tisk.search;
+
+import com.gnomeshift.tisk.pagination.PaginationProperties;
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketMapper;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService Tests")
+class SearchServiceTest {
+    @Mock
+    private TicketSearchEngine searchEngine;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketMapper ticketMapper;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setMaxQueryLength(10);
+        searchService = new SearchService(searchEngine, ticketRepository, ticketMapper,
+                new PaginationProperties(20, 50), searchProperties);
+    }
+
+    @Test
+    @DisplayName("Reject blank query")
+    void shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> searchService.searchTickets("  ", null))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(searchEngine, ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Reject too long query")
+    void shouldRejectTooLongQuery() {
+        assertThatThrownBy(() -> searchService.searchTickets("printer is broken", null))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("10");
+        verifyNoInteractions(searchEngine, ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Keep engine ranking and skip tickets deleted since indexing")
+    void shouldKeepEngineRankingAndSkipDeletedTickets() {
+        Ticket best = ticket();
+        Ticket deleted = ticket();
+        Ticket worst = ticket();
+        when(searchEngine.search("printer", 50)).thenReturn(List.of(best.getId(), deleted.getId(), worst.getId()));
+        when(ticketRepository.findAllByIdIn(any())).thenReturn(List.of(worst, best));
+        when(ticketMapper.toDto(any(Ticket.class)))
+                .thenAnswer(invocation -> TicketDTO.builder().id(invocation.<Ticket>getArgument(0).getId()).build());
+
+        List<TicketDTO> result = searchService.searchTickets("printer", 500);
+
+        assertThat(result).extracting(TicketDTO::getId).containsExactly(best.getId(), worst.getId());
+    }
+
+    @Test
+    @DisplayName("Skip database without matches")
+    void shouldSkipDatabaseWithoutMatches() {
+        when(searchEngine.search(eq("printer"), anyInt())).thenReturn(List.of());
+
+        assertThat(searchService.searchTickets("printer", null)).isEmpty();
+        verify(searchEngine).search("printer", 20);
+        verifyNoInteractions(ticketRepository, ticketMapper);
+    }
+
+    private Ticket ticket() {
+        return Ticket.builder().id(UUID.randomUUID()).title("Printer").build();
+    }
+}
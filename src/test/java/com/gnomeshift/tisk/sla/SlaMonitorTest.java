@@ -0,0 +1,176 @@
+package com.gnomeshift.tisk.sla;
+
+import com.gnomeshift.tisk.ticket.Ticket;
+import com.gnomeshift.tisk.ticket.TicketDTO;
+import com.gnomeshift.tisk.ticket.TicketEvent;
+import com.gnomeshift.tisk.ticket.TicketEventType;
+import com.gnomeshift.tisk.ticket.TicketPriority;
+import com.gnomeshift.tisk.ticket.TicketRepository;
+import com.gnomeshift.tisk.ticket.TicketStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlaMonitor Tests")
+class SlaMonitorTest {
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private SlaAlertRepository slaAlertRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SlaMonitor monitor;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        SlaProperties properties = new SlaProperties(true, true, 0.8, 1000,
+                1440, 480, 240, 60, 10080, 4320, 1440, 480);
+        monitor = new SlaMonitor(properties, ticketRepository, slaAlertRepository, transactionTemplate,
+                eventPublisher, new SimpleMeterRegistry());
+
+        // 50 minutes into a one hour response deadline, past the warning at 48 minutes
+        ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .title("VPN is down")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.VERY_HIGH)
+                .createdAt(LocalDateTime.now().minusMinutes(50))
+                .updatedAt(LocalDateTime.now().minusMinutes(50))
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Fire warning and then breach of response deadline")
+    void shouldFireWarningAndThenBreachOfResponseDeadline() {
+        stubTransactions();
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        monitor.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), dto(ticket)));
+
+        monitor.tick(later(Duration.ofSeconds(2)));
+        monitor.tick(later(Duration.ofMinutes(9)));
+        monitor.tick(later(Duration.ofMinutes(11)));
+
+        ArgumentCaptor<SlaAlertEvent> events = ArgumentCaptor.forClass(SlaAlertEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(SlaAlertEvent::getKind, SlaAlertEvent::getStage, SlaAlertEvent::getDeadline)
+                .containsExactly(
+                        tuple(SlaKind.RESPONSE, SlaStage.WARNING, ticket.getCreatedAt().plusMinutes(48)),
+                        tuple(SlaKind.RESPONSE, SlaStage.BREACH, ticket.getCreatedAt().plusMinutes(60)));
+        verify(slaAlertRepository, times(2)).saveAndFlush(any(SlaAlert.class));
+    }
+
+    @Test
+    @DisplayName("Drop ticket closed without an event")
+    void shouldDropTicketClosedWithoutAnEvent() {
+        stubTransactions();
+        monitor.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), dto(ticket)));
+        ticket.setStatus(TicketStatus.CLOSED);
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+
+        monitor.tick(later(Duration.ofSeconds(2)));
+        monitor.tick(later(Duration.ofDays(30)));
+
+        verify(ticketRepository, times(1)).findById(ticket.getId());
+        verifyNoInteractions(slaAlertRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Not fire responded ticket")
+    void shouldNotFireRespondedTicket() {
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        monitor.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, ticket.getId(), dto(ticket)));
+
+        monitor.tick(later(Duration.ofMinutes(30)));
+
+        verifyNoInteractions(ticketRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Move on to breach when warning was already fired elsewhere")
+    void shouldMoveOnToBreachWhenWarningWasAlreadyFiredElsewhere() {
+        stubTransactions();
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(slaAlertRepository.saveAndFlush(any(SlaAlert.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        monitor.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticket.getId(), dto(ticket)));
+
+        monitor.tick(later(Duration.ofSeconds(2)));
+        monitor.tick(later(Duration.ofMinutes(11)));
+
+        verify(eventPublisher).publishEvent(argThat((SlaAlertEvent event) -> event.getStage() == SlaStage.BREACH));
+    }
+
+    @Test
+    @DisplayName("Not fire stages recorded before rebuild")
+    void shouldNotFireStagesRecordedBeforeRebuild() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(ticketRepository.streamSlaTickets()).thenReturn(Stream.of(new SlaTicket(ticket.getId(),
+                ticket.getStatus(), ticket.getPriority(), ticket.getCreatedAt())));
+        when(slaAlertRepository.streamForOpenTickets()).thenReturn(Stream.of(
+                SlaAlert.builder().ticketId(ticket.getId()).kind(SlaKind.RESPONSE).stage(SlaStage.WARNING).build(),
+                SlaAlert.builder().ticketId(ticket.getId()).kind(SlaKind.RESPONSE).stage(SlaStage.BREACH).build()));
+
+        monitor.rebuild();
+        monitor.tick(later(Duration.ofMinutes(30)));
+
+        verify(ticketRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void stubTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+
+    private long later(Duration duration) {
+        return System.currentTimeMillis() + duration.toMillis();
+    }
+
+    private TicketDTO dto(Ticket ticket) {
+        return TicketDTO.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .createdAt(ticket.getCreatedAt())
+                .updatedAt(ticket.getUpdatedAt())
+                .version(ticket.getVersion())
+                .build();
+    }
+}
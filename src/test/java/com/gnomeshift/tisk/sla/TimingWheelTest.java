@@ -0,0 +1,86 @@
+package com.gnomeshift.tisk.sla;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+    private static final long START = 1_700_000_000_000L;
+
+    private TimingWheel<Long> wheel;
+    private List<Long> expired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(1000, START);
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Expire on the first tick at or after the deadline")
+    void shouldExpireOnFirstTickAtOrAfterDeadline() {
+        wheel.schedule(START + 2500, 1L);
+
+        wheel.advance(START + 2999, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).isEmpty();
+
+        wheel.advance(START + 3000, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Expire timers of every level on time")
+    void shouldExpireTimersOfEveryLevelOnTime() {
+        Random random = new Random(42);
+        long step = Duration.ofMinutes(7).toMillis();
+
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = START + random.nextLong(Duration.ofDays(400).toSeconds()) * 1000;
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long now = START + step; wheel.size() > 0; now += step) {
+            long until = now;
+            wheel.advance(now, timeout -> {
+                assertThat(timeout.payload()).isLessThanOrEqualTo(until).isGreaterThan(until - step);
+                expired.add(timeout.payload());
+            });
+        }
+
+        assertThat(expired).isSorted().hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("Not expire cancelled timer")
+    void shouldNotExpireCancelledTimer() {
+        TimingWheel.Timeout<Long> cancelled = wheel.schedule(START + Duration.ofHours(2).toMillis(), 1L);
+        wheel.schedule(START + Duration.ofHours(3).toMillis(), 2L);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+
+        wheel.advance(START + Duration.ofHours(4).toMillis(), timeout -> expired.add(timeout.payload()));
+
+        assertThat(expired).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Expire past deadline on next tick")
+    void shouldExpirePastDeadlineOnNextTick() {
+        wheel.advance(START + 10_000, timeout -> expired.add(timeout.payload()));
+        wheel.schedule(START, 1L);
+
+        wheel.advance(START + 11_000, timeout -> expired.add(timeout.payload()));
+
+        assertThat(expired).containsExactly(1L);
+    }
+}
@@ -1,6 +1,8 @@
 package com.gnomeshift.tisk.statistics;
 
+import com.gnomeshift.tisk.archive.TicketArchiveStatsRepository;
 import com.gnomeshift.tisk.stats.StatisticsService;
+import com.gnomeshift.tisk.stats.StatusCount;
 import com.gnomeshift.tisk.stats.TicketStatistics;
 import com.gnomeshift.tisk.stats.TicketStatisticsDTO;
 import com.gnomeshift.tisk.stats.TicketStatisticsMapper;
@@ -9,17 +11,21 @@ import com.gnomeshift.tisk.user.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +41,9 @@ class StatisticsServiceTest {
     @Mock
     private TicketStatisticsMapper ticketStatisticsMapper;
 
+    @Mock
+    private TicketArchiveStatsRepository ticketArchiveStatsRepository;
+
     @InjectMocks
     private StatisticsService statisticsService;
 
@@ -67,4 +76,26 @@ class StatisticsServiceTest {
         assertThrows(EntityNotFoundException.class,
                 () -> statisticsService.getAssigneeStatisticsById(randomId));
     }
+
+    @Test
+    void getAllStatistics_ShouldIncludeArchivedTickets() {
+        StatusCount closed = mock(StatusCount.class);
+        when(closed.getStatus()).thenReturn("CLOSED");
+        when(closed.getCount()).thenReturn(2L);
+        when(ticketRepository.countByStatus()).thenReturn(List.of(closed));
+        when(ticketRepository.count()).thenReturn(5L);
+        when(ticketRepository.countAverageResolutionTime()).thenReturn(100.0);
+        when(ticketArchiveStatsRepository.sumTickets()).thenReturn(8L);
+        when(ticketArchiveStatsRepository.sumResolutionSeconds()).thenReturn(1800.0);
+
+        statisticsService.getAllStatistics();
+
+        ArgumentCaptor<TicketStatistics> captor = ArgumentCaptor.forClass(TicketStatistics.class);
+        verify(ticketStatisticsMapper).toDto(captor.capture());
+        TicketStatistics statistics = captor.getValue();
+        assertEquals(13L, statistics.getTotalTickets());
+        assertEquals(10L, statistics.getTicketsByStatus().get("CLOSED"));
+        // (2 * 100 + 1800) / (2 + 8)
+        assertEquals(200.0, statistics.getAverageResolutionTimeSeconds());
+    }
 }
@@ -0,0 +1,175 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.gnomeshift.tisk.etag.ChangeCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketChangeLog Tests")
+class TicketChangeLogTest {
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private TicketChangeLog ticketChangeLog;
+    private UUID ticketId;
+
+    @BeforeEach
+    void setUp() {
+        ticketChangeLog = new TicketChangeLog(changeCounters, jdbcTemplate);
+        ticketId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Write latest change of each ticket with the counter value")
+    void shouldWriteLatestChangeOfEachTicketWithCounterValue() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        ticketChangeLog.onTicketEvent(new TicketEvent(TicketEventType.CREATED, ticketId, null));
+        ticketChangeLog.onTicketEvent(new TicketEvent(TicketEventType.DELETED, ticketId, null));
+
+        // One stamp per transaction, nothing is written before the commit
+        ArgumentCaptor<LongConsumer> stamp = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(changeCounters).touch(eq(ChangeCounters.TICKETS), stamp.capture());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+
+        stamp.getValue().accept(42);
+
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE"), eq(List.of(ticketId)), eq(1), any());
+        insertedRow().setValues(preparedStatement, ticketId);
+        verify(preparedStatement).setObject(1, ticketId);
+        verify(preparedStatement).setLong(2, 42);
+        verify(preparedStatement).setBoolean(3, true);
+    }
+
+    @Test
+    @DisplayName("Stamp right away without a transaction")
+    void shouldStampRightAwayWithoutTransaction() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(1).accept(7);
+            return null;
+        }).when(changeCounters).touch(eq(ChangeCounters.TICKETS), any(LongConsumer.class));
+
+        ticketChangeLog.recordChanged(List.of(ticketId));
+
+        insertedRow().setValues(preparedStatement, ticketId);
+        verify(preparedStatement).setLong(2, 7);
+        verify(preparedStatement).setBoolean(3, false);
+    }
+
+    @Test
+    @DisplayName("Record tickets removed without an event as deleted")
+    void shouldRecordTicketsRemovedWithoutEventAsDeleted() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        ticketChangeLog.recordDeleted(List.of(ticketId));
+
+        ArgumentCaptor<LongConsumer> stamp = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(changeCounters).touch(eq(ChangeCounters.TICKETS), stamp.capture());
+        stamp.getValue().accept(9);
+
+        insertedRow().setValues(preparedStatement, ticketId);
+        verify(preparedStatement).setLong(2, 9);
+        verify(preparedStatement).setBoolean(3, true);
+    }
+
+    @Test
+    @DisplayName("Number entries by transaction on PostgreSQL without stamping the counter")
+    void shouldNumberEntriesByTransactionOnPostgreSql() throws Exception {
+        onPostgreSql();
+        TransactionSynchronizationManager.initSynchronization();
+
+        ticketChangeLog.onTicketEvent(new TicketEvent(TicketEventType.UPDATED, ticketId, null));
+
+        verify(changeCounters).touch(ChangeCounters.TICKETS);
+        verify(changeCounters, never()).touch(anyString(), any(LongConsumer.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().getFirst().beforeCommit(false);
+
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE"), eq(List.of(ticketId)), eq(1), any());
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<UUID>> setter = setterCaptor();
+        verify(jdbcTemplate).batchUpdate(contains("pg_current_xact_id()"), eq(List.of(ticketId)), eq(1), setter.capture());
+        setter.getValue().setValues(preparedStatement, ticketId);
+        verify(preparedStatement).setObject(1, ticketId);
+        verify(preparedStatement).setBoolean(2, false);
+    }
+
+    @Test
+    @DisplayName("Read horizon from the snapshot on PostgreSQL")
+    void shouldReadHorizonFromSnapshotOnPostgreSql() {
+        onPostgreSql();
+        when(jdbcTemplate.queryForObject(contains("pg_snapshot_xmin"), eq(Long.class))).thenReturn(1234L);
+
+        assertThat(ticketChangeLog.horizon()).isEqualTo(1234L);
+    }
+
+    @Test
+    @DisplayName("Leave horizon open when the counter orders entries")
+    void shouldLeaveHorizonOpenWhenCounterOrdersEntries() {
+        assertThat(ticketChangeLog.horizon()).isEqualTo(Long.MAX_VALUE);
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Ignore empty batches")
+    void shouldIgnoreEmptyBatches() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        ticketChangeLog.recordChanged(List.of());
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verifyNoInteractions(changeCounters, jdbcTemplate);
+    }
+
+    private void onPostgreSql() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+    }
+
+    private ParameterizedPreparedStatementSetter<UUID> insertedRow() {
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<UUID>> setter = setterCaptor();
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), eq(List.of(ticketId)), eq(1), setter.capture());
+        return setter.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<ParameterizedPreparedStatementSetter<UUID>> setterCaptor() {
+        return ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+    }
+}
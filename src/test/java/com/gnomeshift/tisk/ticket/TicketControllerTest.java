@@ -2,7 +2,14 @@ package com.gnomeshift.tisk.ticket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gnomeshift.tisk.auth.JwtService;
+import com.gnomeshift.tisk.etag.ETagService;
+import com.gnomeshift.tisk.idempotency.IdempotencyService;
+import com.gnomeshift.tisk.pagination.CursorPageDTO;
+import com.gnomeshift.tisk.ratelimit.RateLimiter;
 import com.gnomeshift.tisk.security.SecurityConfig;
+import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
+import com.gnomeshift.tisk.user.UserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,20 +17,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,9 +58,21 @@ class TicketControllerTest {
     @MockitoBean
     private TicketService ticketService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private TicketEventBroadcaster ticketEventBroadcaster;
+
     @MockitoBean
     private AuthenticationProvider authenticationProvider;
 
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
     private TicketDTO testTicketDTO;
     private UUID testTicketId;
     private UUID testUserId;
@@ -65,6 +91,9 @@ class TicketControllerTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+
+        when(eTagService.forTickets(any())).thenReturn("tickets-etag");
+        when(eTagService.forTicket(any(UUID.class))).thenReturn(Optional.of("ticket-etag"));
     }
 
     @Nested
@@ -74,11 +103,116 @@ class TicketControllerTest {
         @WithMockUser
         @DisplayName("Return all tickets")
         void shouldReturnAllTickets() throws Exception {
-            when(ticketService.getAllTickets()).thenReturn(List.of(testTicketDTO));
+            when(ticketService.getAllTickets(any(TicketFilterDTO.class), isNull(), isNull())).thenReturn(pageOf(testTicketDTO));
 
             mockMvc.perform(get("/api/tickets"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$[0].title").value("Test Ticket"));
+                    .andExpect(jsonPath("$.content[0].title").value("Test Ticket"))
+                    .andExpect(jsonPath("$.hasNext").value(false));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return only requested fields")
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            CursorPageDTO<Map<String, Object>> page = CursorPageDTO.<Map<String, Object>>builder()
+                    .content(List.of(Map.of("title", "Test Ticket")))
+                    .size(1)
+                    .hasNext(false)
+                    .build();
+            when(ticketService.getAllTickets(any(TicketFilterDTO.class), isNull(), isNull(), eq("title"))).thenReturn(page);
+
+            mockMvc.perform(get("/api/tickets")
+                            .param("fields", "title"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].title").value("Test Ticket"))
+                    .andExpect(jsonPath("$.content[0].id").doesNotExist());
+
+            verify(ticketService, never()).getAllTickets(any(), any(), any());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return normalized page")
+        void shouldReturnNormalizedPage() throws Exception {
+            UUID reporterId = UUID.randomUUID();
+            NormalizedTicketPageDTO page = NormalizedTicketPageDTO.builder()
+                    .content(List.of(TicketSummaryDTO.builder().id(testTicketDTO.getId()).reporterId(reporterId).build()))
+                    .users(Map.of(reporterId, UserDTO.builder().id(reporterId).email("user@example.com").build()))
+                    .size(1)
+                    .hasNext(false)
+                    .build();
+            when(ticketService.getAllTicketsNormalized(any(TicketFilterDTO.class), isNull(), isNull())).thenReturn(page);
+
+            mockMvc.perform(get("/api/tickets")
+                            .param("normalized", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].reporterId").value(reporterId.toString()))
+                    .andExpect(jsonPath("$.content[0].reporter").doesNotExist())
+                    .andExpect(jsonPath("$.users['" + reporterId + "'].email").value("user@example.com"));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Reject fields combined with normalized")
+        void shouldRejectFieldsCombinedWithNormalized() throws Exception {
+            mockMvc.perform(get("/api/tickets")
+                            .param("fields", "title")
+                            .param("normalized", "true"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(ticketService);
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Pass cursor and size to service")
+        void shouldPassCursorAndSizeToService() throws Exception {
+            when(ticketService.getAllTickets(any(TicketFilterDTO.class), eq("abc"), eq(10))).thenReturn(pageOf(testTicketDTO));
+
+            mockMvc.perform(get("/api/tickets")
+                            .param("cursor", "abc")
+                            .param("size", "10"))
+                    .andExpect(status().isOk());
+
+            verify(ticketService).getAllTickets(any(TicketFilterDTO.class), eq("abc"), eq(10));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Bind filter and sort parameters")
+        void shouldBindFilterAndSortParameters() throws Exception {
+            when(ticketService.getAllTickets(any(TicketFilterDTO.class), isNull(), isNull())).thenReturn(pageOf(testTicketDTO));
+
+            mockMvc.perform(get("/api/tickets")
+                            .param("status", "OPEN", "IN_PROGRESS")
+                            .param("priority", "HIGH")
+                            .param("assigneeId", testUserId.toString())
+                            .param("createdFrom", "2025-01-01T00:00:00")
+                            .param("sort", "UPDATED_AT")
+                            .param("direction", "ASC"))
+                    .andExpect(status().isOk());
+
+            verify(ticketService).getAllTickets(argThat(filter ->
+                    filter.getStatus().equals(List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS))
+                            && filter.getPriority().equals(List.of(TicketPriority.HIGH))
+                            && testUserId.equals(filter.getAssigneeId())
+                            && LocalDateTime.of(2025, 1, 1, 0, 0).equals(filter.getCreatedFrom())
+                            && filter.getSort() == TicketSortField.UPDATED_AT
+                            && filter.getDirection() == Sort.Direction.ASC
+            ), isNull(), isNull());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return not modified when ETag matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            mockMvc.perform(get("/api/tickets")
+                            .header("If-None-Match", "\"tickets-etag\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"tickets-etag\""));
+
+            verify(ticketService, never()).getAllTickets(any(), any(), any());
         }
 
         @Test
@@ -89,6 +223,95 @@ class TicketControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stream tickets Tests")
+    class StreamTicketsTests {
+        @Test
+        @WithMockUser(roles = "SUPPORT")
+        @DisplayName("Stream tickets as NDJSON for support")
+        void shouldStreamTicketsForSupport() throws Exception {
+            mockMvc.perform(get("/api/tickets/stream"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+            verify(ticketService).streamTickets(any());
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("Return forbidden for regular user")
+        void shouldReturnForbiddenForRegularUser() throws Exception {
+            mockMvc.perform(get("/api/tickets/stream"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get ticket changes Tests")
+    class GetChangesTests {
+        @Test
+        @WithMockUser
+        @DisplayName("Return changes since token")
+        void shouldReturnChangesSinceToken() throws Exception {
+            UUID deletedId = UUID.randomUUID();
+            TicketChangesDTO changes = TicketChangesDTO.builder()
+                    .changed(List.of(testTicketDTO))
+                    .deleted(List.of(deletedId))
+                    .token("next")
+                    .hasMore(false)
+                    .build();
+
+            when(ticketService.getChanges("previous", 50)).thenReturn(changes);
+
+            mockMvc.perform(get("/api/tickets/changes")
+                            .param("since", "previous")
+                            .param("size", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed[0].title").value("Test Ticket"))
+                    .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+                    .andExpect(jsonPath("$.token").value("next"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ticket events Tests")
+    class TicketEventsTests {
+        @Test
+        @DisplayName("Subscribe regular user to own tickets only")
+        void shouldSubscribeRegularUserToOwnTickets() throws Exception {
+            User user = User.builder().id(testUserId).email("user@test.com").role(UserRole.USER).build();
+            when(ticketEventBroadcaster.subscribe(testUserId, false)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/api/tickets/events")
+                            .with(user(user)))
+                    .andExpect(request().asyncStarted());
+
+            verify(ticketEventBroadcaster).subscribe(testUserId, false);
+        }
+
+        @Test
+        @DisplayName("Subscribe support to all tickets")
+        void shouldSubscribeSupportToAllTickets() throws Exception {
+            User support = User.builder().id(testUserId).email("support@test.com").role(UserRole.SUPPORT).build();
+            when(ticketEventBroadcaster.subscribe(testUserId, true)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/api/tickets/events")
+                            .with(user(support)))
+                    .andExpect(request().asyncStarted());
+
+            verify(ticketEventBroadcaster).subscribe(testUserId, true);
+        }
+
+        @Test
+        @DisplayName("Return unauthorized without authentication")
+        void shouldReturnUnauthorizedWithoutAuthentication() throws Exception {
+            mockMvc.perform(get("/api/tickets/events"))
+                    .andExpect(status().is4xxClientError());
+
+            verifyNoInteractions(ticketEventBroadcaster);
+        }
+    }
+
     @Nested
     @DisplayName("Get ticket by ID Tests")
     class GetTicketByIdTests {
@@ -100,8 +323,20 @@ class TicketControllerTest {
 
             mockMvc.perform(get("/api/tickets/{id}", testTicketId))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"ticket-etag\""))
                     .andExpect(jsonPath("$.title").value("Test Ticket"));
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return not modified when ETag matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            mockMvc.perform(get("/api/tickets/{id}", testTicketId)
+                            .header("If-None-Match", "\"ticket-etag\""))
+                    .andExpect(status().isNotModified());
+
+            verify(ticketService, never()).getTicketById(any(UUID.class));
+        }
     }
 
     @Nested
@@ -111,11 +346,12 @@ class TicketControllerTest {
         @WithMockUser(username = "user@example.com")
         @DisplayName("Return current user's tickets")
         void shouldReturnCurrentUsersTickets() throws Exception {
-            when(ticketService.getMyTickets("user@example.com")).thenReturn(List.of(testTicketDTO));
+            when(ticketService.getMyTickets(eq("user@example.com"), any(TicketFilterDTO.class), isNull(), isNull()))
+                    .thenReturn(pageOf(testTicketDTO));
 
             mockMvc.perform(get("/api/tickets/my"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$[0].title").value("Test Ticket"));
+                    .andExpect(jsonPath("$.content[0].title").value("Test Ticket"));
         }
     }
 
@@ -133,6 +369,8 @@ class TicketControllerTest {
             createTicketDTO.setReporterId(testUserId);
 
             when(ticketService.createTicket(any(CreateTicketDTO.class))).thenReturn(testTicketDTO);
+            when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                    .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
 
             mockMvc.perform(post("/api/tickets")
                             .with(csrf())
@@ -157,6 +395,106 @@ class TicketControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk create tickets Tests")
+    class BulkCreateTicketsTests {
+        @Test
+        @WithMockUser(roles = "SUPPORT")
+        @DisplayName("Return per-item results for support")
+        void shouldReturnPerItemResultsForSupport() throws Exception {
+            CreateTicketDTO createTicketDTO = new CreateTicketDTO("Bulk", "Bulk description", TicketStatus.OPEN,
+                    TicketPriority.LOW, testUserId);
+            BulkCreateResultDTO result = BulkCreateResultDTO.builder()
+                    .created(1)
+                    .failed(0)
+                    .results(List.of(BulkItemResultDTO.builder().index(0).status(BulkItemStatus.CREATED).id(testTicketId).build()))
+                    .build();
+
+            when(ticketService.createTickets(anyList())).thenReturn(result);
+
+            mockMvc.perform(post("/api/tickets/bulk")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(createTicketDTO))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.results[0].id").value(testTicketId.toString()));
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("Return forbidden for regular user")
+        void shouldReturnForbiddenForRegularUser() throws Exception {
+            mockMvc.perform(post("/api/tickets/bulk")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk update tickets Tests")
+    class BulkUpdateTicketsTests {
+        @Test
+        @WithMockUser(roles = "SUPPORT")
+        @DisplayName("Return affected count for bulk status change")
+        void shouldReturnAffectedCountForBulkStatusChange() throws Exception {
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(List.of(testTicketId), null, TicketStatus.CLOSED);
+
+            when(ticketService.updateTicketStatuses(any(BulkStatusUpdateDTO.class))).thenReturn(new BulkUpdateResultDTO(1));
+
+            mockMvc.perform(patch("/api/tickets/bulk/status")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bulkStatusUpdateDTO)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affected").value(1));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Return affected count for bulk assignment")
+        void shouldReturnAffectedCountForBulkAssignment() throws Exception {
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setUnassigned(true);
+            BulkAssignDTO bulkAssignDTO = new BulkAssignDTO(null, filter, testUserId);
+
+            when(ticketService.assignTickets(any(BulkAssignDTO.class))).thenReturn(new BulkUpdateResultDTO(3));
+
+            mockMvc.perform(patch("/api/tickets/bulk/assign")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bulkAssignDTO)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affected").value(3));
+
+            verify(ticketService).assignTickets(argThat(dto -> Boolean.TRUE.equals(dto.getFilter().getUnassigned())));
+        }
+
+        @Test
+        @WithMockUser(roles = "SUPPORT")
+        @DisplayName("Return bad request when status missing")
+        void shouldReturnBadRequestWhenStatusMissing() throws Exception {
+            mockMvc.perform(patch("/api/tickets/bulk/status")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[\"" + testTicketId + "\"]}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("Return forbidden for regular user")
+        void shouldReturnForbiddenForRegularUser() throws Exception {
+            mockMvc.perform(patch("/api/tickets/bulk/status")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[],\"status\":\"CLOSED\"}"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("Update ticket Tests")
     class UpdateTicketTests {
@@ -167,7 +505,7 @@ class TicketControllerTest {
             UpdateTicketDTO updateTicketDTO = new UpdateTicketDTO();
             updateTicketDTO.setTitle("Updated Title");
 
-            when(ticketService.updateTicket(any(UUID.class), any(UpdateTicketDTO.class))).thenReturn(testTicketDTO);
+            when(ticketService.updateTicket(any(UUID.class), any(UpdateTicketDTO.class), isNull())).thenReturn(testTicketDTO);
 
             mockMvc.perform(patch("/api/tickets/{id}", testTicketId)
                             .with(csrf())
@@ -175,6 +513,62 @@ class TicketControllerTest {
                             .content(objectMapper.writeValueAsString(updateTicketDTO)))
                     .andExpect(status().isOk());
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Pass version from If-Match to service")
+        void shouldPassVersionFromIfMatchToService() throws Exception {
+            when(ticketService.updateTicket(any(UUID.class), any(UpdateTicketDTO.class), eq(3L))).thenReturn(testTicketDTO);
+
+            mockMvc.perform(patch("/api/tickets/{id}", testTicketId)
+                            .with(csrf())
+                            .header("If-Match", "\"3-abc\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"CLOSED\"}"))
+                    .andExpect(status().isOk());
+
+            verify(ticketService).updateTicket(eq(testTicketId), any(UpdateTicketDTO.class), eq(3L));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return conflict when ticket was modified concurrently")
+        void shouldReturnConflictWhenTicketWasModifiedConcurrently() throws Exception {
+            when(ticketService.updateTicket(any(UUID.class), any(UpdateTicketDTO.class), eq(3L)))
+                    .thenThrow(new OptimisticLockingFailureException("Ticket was modified by another request"));
+
+            mockMvc.perform(patch("/api/tickets/{id}", testTicketId)
+                            .with(csrf())
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"CLOSED\"}"))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return bad request for blank title")
+        void shouldReturnBadRequestForBlankTitle() throws Exception {
+            mockMvc.perform(patch("/api/tickets/{id}", testTicketId)
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"   \"}"))
+                    .andExpect(status().isBadRequest());
+
+            verify(ticketService, never()).updateTicket(any(), any(), any());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Return bad request for malformed If-Match")
+        void shouldReturnBadRequestForMalformedIfMatch() throws Exception {
+            mockMvc.perform(patch("/api/tickets/{id}", testTicketId)
+                            .with(csrf())
+                            .header("If-Match", "\"abc\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"CLOSED\"}"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -184,7 +578,7 @@ class TicketControllerTest {
         @WithMockUser(roles = "ADMIN")
         @DisplayName("Assign ticket for admin")
         void shouldAssignTicketForAdmin() throws Exception {
-            when(ticketService.assignTicket(any(UUID.class), any(UUID.class))).thenReturn(testTicketDTO);
+            when(ticketService.assignTicket(any(UUID.class), any(UUID.class), isNull())).thenReturn(testTicketDTO);
 
             mockMvc.perform(patch("/api/tickets/{id}/assign", testTicketId)
                             .with(csrf())
@@ -196,7 +590,7 @@ class TicketControllerTest {
         @WithMockUser(roles = "SUPPORT")
         @DisplayName("Assign ticket for support")
         void shouldAssignTicketForSupport() throws Exception {
-            when(ticketService.assignTicket(any(UUID.class), any(UUID.class))).thenReturn(testTicketDTO);
+            when(ticketService.assignTicket(any(UUID.class), any(UUID.class), isNull())).thenReturn(testTicketDTO);
 
             mockMvc.perform(patch("/api/tickets/{id}/assign", testTicketId)
                             .with(csrf())
@@ -247,4 +641,12 @@ class TicketControllerTest {
                     .andExpect(status().isForbidden());
         }
     }
+
+    private CursorPageDTO<TicketDTO> pageOf(TicketDTO... tickets) {
+        return CursorPageDTO.<TicketDTO>builder()
+                .content(List.of(tickets))
+                .size(tickets.length)
+                .hasNext(false)
+                .build();
+    }
 }
@@ -0,0 +1,160 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gnomeshift.tisk.user.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TicketEventBroadcaster Tests")
+class TicketEventBroadcasterTest {
+    private TicketEventBroadcaster broadcaster;
+    private UUID userId;
+    private UUID otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        // One buffered event per subscriber, heartbeats far apart so they never show up
+        broadcaster = new TicketEventBroadcaster(new ObjectMapper().findAndRegisterModules(), new TicketEventProperties(1, 60, 60));
+        userId = UUID.randomUUID();
+        otherUserId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    @DisplayName("Deliver only events of own tickets to users")
+    void shouldDeliverOnlyEventsOfOwnTicketsToUsers() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, userId, false);
+        TicketEvent hidden = event(TicketEventType.UPDATED, otherUserId, otherUserId);
+        TicketEvent assigned = event(TicketEventType.ASSIGNED, otherUserId, userId);
+        TicketEvent reported = event(TicketEventType.UPDATED, userId, null);
+
+        broadcaster.onTicketEvent(hidden);
+        broadcaster.onTicketEvent(assigned);
+        String first = emitter.nextEvent();
+        broadcaster.onTicketEvent(reported);
+        String second = emitter.nextEvent();
+
+        // Delivered in order, so a hidden event sent first would have arrived first
+        assertThat(first).contains("event:ASSIGNED").contains(assigned.getTicketId().toString());
+        assertThat(second).contains("event:UPDATED").contains(reported.getTicketId().toString());
+    }
+
+    @Test
+    @DisplayName("Deliver every event to agents")
+    void shouldDeliverEveryEventToAgents() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, userId, true);
+        TicketEvent event = event(TicketEventType.CREATED, otherUserId, null);
+
+        broadcaster.onTicketEvent(event);
+
+        assertThat(emitter.nextEvent()).contains("event:CREATED").contains(event.getTicketId().toString());
+    }
+
+    @Test
+    @DisplayName("Deliver deletions to users")
+    void shouldDeliverDeletionsToUsers() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, userId, false);
+        UUID ticketId = UUID.randomUUID();
+
+        broadcaster.onTicketEvent(new TicketEvent(TicketEventType.DELETED, ticketId, null));
+
+        assertThat(emitter.nextEvent()).contains("event:DELETED").contains(ticketId.toString());
+    }
+
+    @Test
+    @DisplayName("Disconnect subscriber whose buffer overflows")
+    void shouldDisconnectSubscriberWhoseBufferOverflows() {
+        // Never gets past the connected comment, so nothing is taken off its buffer
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(1));
+        broadcaster.subscribe(emitter, userId, true);
+
+        broadcaster.onTicketEvent(event(TicketEventType.CREATED, otherUserId, null));
+
+        assertThat(emitter.completed).isFalse();
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onTicketEvent(event(TicketEventType.CREATED, otherUserId, null));
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    private TicketEvent event(TicketEventType type, UUID reporterId, UUID assigneeId) {
+        TicketDTO ticket = TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .title("Ticket")
+                .reporter(UserDTO.builder().id(reporterId).build())
+                .assignee(assigneeId != null ? UserDTO.builder().id(assigneeId).build() : null)
+                .build();
+        return new TicketEvent(type, ticket.getId(), ticket);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch released;
+        private volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            // Like a real emitter, which also ends the subscriber's thread after close()
+            if (completed) {
+                throw new IllegalStateException("Emitter already completed");
+            }
+
+            try {
+                released.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while sending", e);
+            }
+            sent.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        // Skips the connected and heartbeat comments
+        String nextEvent() throws InterruptedException {
+            while (true) {
+                String next = sent.poll(5, TimeUnit.SECONDS);
+                assertThat(next).as("event sent within 5 seconds").isNotNull();
+
+                if (!next.startsWith(":")) {
+                    return next;
+                }
+            }
+        }
+    }
+}
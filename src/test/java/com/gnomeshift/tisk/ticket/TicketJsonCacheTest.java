@@ -0,0 +1,100 @@
+package com.gnomeshift.tisk.ticket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gnomeshift.tisk.user.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TicketJsonCache Tests")
+class TicketJsonCacheTest {
+    private TicketJsonCache cache;
+    private ObjectMapper plainMapper;
+    private ObjectMapper cachingMapper;
+    private TicketDTO ticket;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TicketJsonCache(new TicketProperties(3, 2, 1024 * 1024), new SimpleMeterRegistry());
+        plainMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cachingMapper = plainMapper.copy()
+                .registerModule(new TicketJsonConfig().ticketJsonModule(cache));
+
+        ticket = TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .title("Printer is broken")
+                .description("Nothing gets printed")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .reporter(UserDTO.builder()
+                        .id(UUID.randomUUID())
+                        .email("reporter@example.com")
+                        .updatedAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                        .build())
+                .createdAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Write the same JSON as plain serialization")
+    void shouldWriteSameJsonAsPlainSerialization() throws Exception {
+        String first = cachingMapper.writeValueAsString(List.of(ticket, ticket));
+        String second = cachingMapper.writeValueAsString(List.of(ticket, ticket));
+
+        assertThat(first).isEqualTo(plainMapper.writeValueAsString(List.of(ticket, ticket)));
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reuse cached fragment while version is unchanged")
+    void shouldReuseCachedFragmentWhileVersionIsUnchanged() throws Exception {
+        cachingMapper.writeValueAsString(ticket);
+        ticket.setTitle("Changed without a version bump");
+
+        assertThat(cachingMapper.writeValueAsString(ticket)).contains("Printer is broken");
+    }
+
+    @Test
+    @DisplayName("Encode again after ticket update")
+    void shouldEncodeAgainAfterTicketUpdate() throws Exception {
+        cachingMapper.writeValueAsString(ticket);
+        ticket.setTitle("Printer is fixed");
+        ticket.setVersion(1L);
+
+        assertThat(cachingMapper.writeValueAsString(ticket)).contains("Printer is fixed");
+    }
+
+    @Test
+    @DisplayName("Encode again after reporter update")
+    void shouldEncodeAgainAfterReporterUpdate() throws Exception {
+        cachingMapper.writeValueAsString(ticket);
+        ticket.getReporter().setEmail("renamed@example.com");
+        ticket.getReporter().setUpdatedAt(LocalDateTime.of(2025, 1, 2, 10, 0));
+
+        assertThat(cachingMapper.writeValueAsString(ticket)).contains("renamed@example.com");
+    }
+
+    @Test
+    @DisplayName("Skip cache for ticket without version")
+    void shouldSkipCacheForTicketWithoutVersion() throws Exception {
+        ticket.setVersion(null);
+
+        cachingMapper.writeValueAsString(ticket);
+
+        assertThat(cache.getSize()).isZero();
+    }
+}
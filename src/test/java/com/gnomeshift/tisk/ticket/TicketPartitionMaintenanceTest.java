@@ -0,0 +1,33 @@
+package com.gnomeshift.tisk.ticket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketPartitionMaintenance Tests")
+class TicketPartitionMaintenanceTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Create partitions from current month ahead")
+    void shouldCreatePartitionsFromCurrentMonthAhead() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        new TicketPartitionMaintenance(jdbcTemplate, new TicketPartitionProperties(true, 2)).createPartitions();
+
+        verify(jdbcTemplate).queryForObject("SELECT create_ticket_partition(?)", String.class, month);
+        verify(jdbcTemplate).queryForObject("SELECT create_ticket_partition(?)", String.class, month.plusMonths(1));
+        verify(jdbcTemplate).queryForObject("SELECT create_ticket_partition(?)", String.class, month.plusMonths(2));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
@@ -1,10 +1,25 @@
 package com.gnomeshift.tisk.ticket;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gnomeshift.tisk.archive.ArchivedTicket;
+import com.gnomeshift.tisk.archive.ArchivedTicketRepository;
+import com.gnomeshift.tisk.assignment.AutoAssigner;
+import com.gnomeshift.tisk.duplicate.DuplicateCandidateDTO;
+import com.gnomeshift.tisk.duplicate.DuplicateDetector;
+import com.gnomeshift.tisk.pagination.Cursor;
+import com.gnomeshift.tisk.pagination.CursorPageDTO;
+import com.gnomeshift.tisk.pagination.PaginationProperties;
 import com.gnomeshift.tisk.user.User;
+import com.gnomeshift.tisk.user.UserDTO;
 import com.gnomeshift.tisk.user.UserRepository;
 import com.gnomeshift.tisk.user.UserRole;
 import com.gnomeshift.tisk.user.UserStatus;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,13 +27,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +65,39 @@ class TicketServiceTest {
     @Mock
     private TicketMapper ticketMapper;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(1, 2);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TicketProperties ticketProperties = new TicketProperties(3, 2, 0);
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TicketChangeRepository ticketChangeRepository;
+
+    @Mock
+    private TicketChangeLog ticketChangeLog;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
+    @Mock
+    private AutoAssigner autoAssigner;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -111,26 +172,311 @@ class TicketServiceTest {
     @DisplayName("Get all tickets Tests")
     class GetAllTicketsTests {
         @Test
-        @DisplayName("Return all tickets")
-        void shouldReturnAllTickets() {
-            when(ticketRepository.findAll()).thenReturn(List.of(testTicket));
+        @DisplayName("Return first page of tickets")
+        void shouldReturnFirstPageOfTickets() {
+            stubFindSummaries(List.of(testTicket));
+            when(ticketMapper.toDtoList(anyList())).thenReturn(List.of(testTicketDTO));
+
+            CursorPageDTO<TicketDTO> result = ticketService.getAllTickets(new TicketFilterDTO(), null, null);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.getContent().getFirst().getTitle()).isEqualTo("Test Ticket");
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Return empty page when no tickets")
+        void shouldReturnEmptyPageWhenNoTickets() {
+            stubFindSummaries(List.of());
+            when(ticketMapper.toDtoList(anyList())).thenReturn(List.of());
+
+            CursorPageDTO<TicketDTO> result = ticketService.getAllTickets(new TicketFilterDTO(), null, null);
+
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.isHasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Return next cursor when more tickets exist")
+        void shouldReturnNextCursorWhenMoreTicketsExist() {
+            Ticket olderTicket = Ticket.builder()
+                    .id(UUID.randomUUID())
+                    .createdAt(testTicket.getCreatedAt().minusMinutes(1))
+                    .build();
+
+            stubFindSummaries(List.of(testTicket, olderTicket));
+            when(ticketMapper.toDtoList(anyList())).thenReturn(List.of(testTicketDTO));
+
+            CursorPageDTO<TicketDTO> result = ticketService.getAllTickets(new TicketFilterDTO(), null, 1);
+
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(result.getSize()).isEqualTo(1);
+
+            Cursor cursor = Cursor.decode(result.getNextCursor());
+            assertThat(cursor.getId()).isEqualTo(testTicket.getId());
+            assertThat(cursor.getTimestamp()).isEqualTo(testTicket.getCreatedAt());
+        }
+
+        @Test
+        @DisplayName("Build cursor from sort field")
+        void shouldBuildCursorFromSortField() {
+            testTicket.setUpdatedAt(testTicket.getCreatedAt().plusHours(1));
+            Ticket otherTicket = Ticket.builder()
+                    .id(UUID.randomUUID())
+                    .updatedAt(testTicket.getCreatedAt())
+                    .build();
+
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setSort(TicketSortField.UPDATED_AT);
+
+            stubFindSummaries(List.of(testTicket, otherTicket));
             when(ticketMapper.toDtoList(anyList())).thenReturn(List.of(testTicketDTO));
 
-            List<TicketDTO> result = ticketService.getAllTickets();
+            CursorPageDTO<TicketDTO> result = ticketService.getAllTickets(filter, null, 1);
+
+            assertThat(Cursor.decode(result.getNextCursor()).getTimestamp()).isEqualTo(testTicket.getUpdatedAt());
+        }
+
+        @Test
+        @DisplayName("Sort by requested field and direction")
+        void shouldSortByRequestedFieldAndDirection() {
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setSort(TicketSortField.UPDATED_AT);
+            filter.setDirection(Sort.Direction.ASC);
+
+            stubFindSummaries(List.of());
+            when(ticketMapper.toDtoList(anyList())).thenReturn(List.of());
+
+            ticketService.getAllTickets(filter, null, null);
 
-            assertThat(result).hasSize(1);
-            assertThat(result.getFirst().getTitle()).isEqualTo("Test Ticket");
+            verify(ticketRepository).findSummaries(any(), eq(Sort.by(Sort.Direction.ASC, "updatedAt", "id")), anyInt());
         }
 
         @Test
-        @DisplayName("Return empty list when no tickets")
-        void shouldReturnEmptyListWhenNoTickets() {
-            when(ticketRepository.findAll()).thenReturn(List.of());
+        @DisplayName("Clamp page size to configured maximum")
+        void shouldClampPageSizeToConfiguredMaximum() {
+            stubFindSummaries(List.of());
             when(ticketMapper.toDtoList(anyList())).thenReturn(List.of());
 
-            List<TicketDTO> result = ticketService.getAllTickets();
+            ticketService.getAllTickets(new TicketFilterDTO(), null, 1000);
+
+            verify(ticketRepository).findSummaries(any(), any(), eq(3));
+        }
+
+        @Test
+        @DisplayName("Return only requested fields")
+        void shouldReturnOnlyRequestedFields() {
+            UUID assigneeId = UUID.randomUUID();
+            Tuple row = mock(Tuple.class);
+            when(row.get("title")).thenReturn("Test Ticket");
+            when(row.get("assignee_id")).thenReturn(assigneeId);
+            when(ticketRepository.findFields(any(), any(), any(), any(), anyInt())).thenReturn(List.of(row));
+
+            CursorPageDTO<Map<String, Object>> result = ticketService.getAllTickets(new TicketFilterDTO(), null, null, "title,assignee.id");
+
+            assertThat(result.getContent()).containsExactly(Map.of("title", "Test Ticket", "assignee", Map.of("id", assigneeId)));
+            verify(ticketRepository).findFields(any(), argThat(fields -> fields.getPaths().equals(List.of("title", "assignee.id"))),
+                    eq(List.of("id", "createdAt")), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Return null for missing association")
+        void shouldReturnNullForMissingAssociation() {
+            Tuple row = mock(Tuple.class);
+            when(row.get("assignee_id")).thenReturn(null);
+            when(ticketRepository.findFields(any(), any(), any(), any(), anyInt())).thenReturn(List.of(row));
+
+            CursorPageDTO<Map<String, Object>> result = ticketService.getAllTickets(new TicketFilterDTO(), null, null, "assignee.email");
+
+            assertThat(result.getContent().getFirst()).containsEntry("assignee", null).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Throw exception for unknown field")
+        void shouldThrowExceptionForUnknownField() {
+            assertThatThrownBy(() -> ticketService.getAllTickets(new TicketFilterDTO(), null, null, "title,reporter.password"))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("reporter.password");
+
+            verifyNoInteractions(ticketRepository);
+        }
+
+        @Test
+        @DisplayName("Side-load each referenced user once")
+        void shouldSideLoadEachReferencedUserOnce() {
+            TicketSummaryDTO assigned = TicketSummaryDTO.builder()
+                    .id(UUID.randomUUID())
+                    .reporterId(testUser.getId())
+                    .assigneeId(testAssignee.getId())
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            TicketSummaryDTO unassigned = TicketSummaryDTO.builder()
+                    .id(UUID.randomUUID())
+                    .reporterId(testUser.getId())
+                    .createdAt(LocalDateTime.now().minusHours(1))
+                    .build();
+            UserDTO reporter = UserDTO.builder().id(testUser.getId()).build();
+            UserDTO assignee = UserDTO.builder().id(testAssignee.getId()).build();
+            when(ticketRepository.findSummaryRows(any(), any(), anyInt())).thenReturn(List.of(assigned, unassigned));
+            when(userRepository.loadAll(Set.of(testUser.getId(), testAssignee.getId()))).thenReturn(List.of(testUser, testAssignee));
+            when(ticketMapper.toUserDtoList(List.of(testUser, testAssignee))).thenReturn(List.of(reporter, assignee));
+
+            NormalizedTicketPageDTO result = ticketService.getAllTicketsNormalized(new TicketFilterDTO(), null, 2);
+
+            assertThat(result.getContent()).containsExactly(assigned, unassigned);
+            assertThat(result.getUsers()).containsOnly(entry(testUser.getId(), reporter), entry(testAssignee.getId(), assignee));
+            assertThat(result.isHasNext()).isFalse();
+            verify(userRepository).loadAll(any());
+        }
+
+        @Test
+        @DisplayName("Build next cursor from last summary")
+        void shouldBuildNextCursorFromLastSummary() {
+            TicketSummaryDTO newer = TicketSummaryDTO.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.now()).build();
+            TicketSummaryDTO older = TicketSummaryDTO.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.now().minusHours(1)).build();
+            when(ticketRepository.findSummaryRows(any(), any(), anyInt())).thenReturn(List.of(newer, older));
+
+            NormalizedTicketPageDTO result = ticketService.getAllTicketsNormalized(new TicketFilterDTO(), null, 1);
+
+            assertThat(result.getContent()).containsExactly(newer);
+            assertThat(result.getUsers()).isEmpty();
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(Cursor.decode(result.getNextCursor()).getId()).isEqualTo(newer.getId());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Throw exception for malformed cursor")
+        void shouldThrowExceptionForMalformedCursor() {
+            assertThatThrownBy(() -> ticketService.getAllTickets(new TicketFilterDTO(), "not-a-cursor", null))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+    }
+
+    @Nested
+    @DisplayName("Get ticket changes Tests")
+    class GetChangesTests {
+        @Test
+        @DisplayName("Read from the start of the log for new client")
+        void shouldReadFromStartOfLogForNewClient() {
+            when(ticketChangeLog.horizon()).thenReturn(100L);
+            when(ticketChangeRepository.findAfter(eq(-1L), any(UUID.class), eq(100L), any()))
+                    .thenReturn(List.of(new TicketChange(testTicket.getId(), 0, false)));
+            stubFindBy(List.of(testTicket));
+            when(ticketMapper.toDtoList(List.of(testTicket))).thenReturn(List.of(testTicketDTO));
+
+            TicketChangesDTO result = ticketService.getChanges(null, null);
+
+            assertThat(result.getChanged()).containsExactly(testTicketDTO);
+            assertThat(result.getDeleted()).isEmpty();
+            assertThat(result.isHasMore()).isFalse();
+            assertThat(ChangeToken.decode(result.getToken()).getChangeSeq()).isZero();
+            assertThat(ChangeToken.decode(result.getToken()).getTicketId()).isEqualTo(testTicket.getId());
+        }
+
+        @Test
+        @DisplayName("Return deletions after token without loading tickets")
+        void shouldReturnDeletionsAfterTokenWithoutLoadingTickets() {
+            String token = new ChangeToken(7, testTicket.getId()).encode();
+            UUID deletedId = UUID.randomUUID();
+
+            when(ticketChangeRepository.findAfter(eq(7L), eq(testTicket.getId()), anyLong(), any()))
+                    .thenReturn(List.of(new TicketChange(deletedId, 8, true)));
+            when(ticketMapper.toDtoList(List.of())).thenReturn(List.of());
+
+            TicketChangesDTO result = ticketService.getChanges(token, null);
+
+            assertThat(result.getDeleted()).containsExactly(deletedId);
+            assertThat(ChangeToken.decode(result.getToken()).getChangeSeq()).isEqualTo(8);
+            verify(ticketRepository, never()).findBy(any(Specification.class), any());
+        }
+
+        @Test
+        @DisplayName("Keep token when caught up")
+        void shouldKeepTokenWhenCaughtUp() {
+            String token = new ChangeToken(7, testTicket.getId()).encode();
+
+            when(ticketChangeRepository.findAfter(eq(7L), eq(testTicket.getId()), anyLong(), any())).thenReturn(List.of());
+            when(ticketMapper.toDtoList(List.of())).thenReturn(List.of());
+
+            TicketChangesDTO result = ticketService.getChanges(token, null);
+
+            assertThat(result.getChanged()).isEmpty();
+            assertThat(result.getDeleted()).isEmpty();
+            assertThat(result.getToken()).isEqualTo(token);
+        }
+
+        @Test
+        @DisplayName("Continue from last entry when more changes remain")
+        void shouldContinueFromLastEntryWhenMoreChangesRemain() {
+            UUID remainingId = UUID.randomUUID();
+
+            // Page size resolves to the default of 1 with the extra entry signalling more
+            when(ticketChangeRepository.findAfter(anyLong(), any(UUID.class), anyLong(), any())).thenReturn(List.of(
+                    new TicketChange(testTicket.getId(), 3, false),
+                    new TicketChange(remainingId, 4, false)));
+            stubFindBy(List.of(testTicket));
+            when(ticketMapper.toDtoList(List.of(testTicket))).thenReturn(List.of(testTicketDTO));
+
+            TicketChangesDTO result = ticketService.getChanges(null, null);
+
+            ChangeToken position = ChangeToken.decode(result.getToken());
+            assertThat(result.isHasMore()).isTrue();
+            assertThat(position.getChangeSeq()).isEqualTo(3);
+            assertThat(position.getTicketId()).isEqualTo(testTicket.getId());
+        }
+
+        @Test
+        @DisplayName("Report tickets archived since their last change as deleted")
+        void shouldReportTicketsArchivedSinceTheirLastChangeAsDeleted() {
+            UUID archivedId = UUID.randomUUID();
+            when(ticketChangeRepository.findAfter(anyLong(), any(UUID.class), anyLong(), any()))
+                    .thenReturn(List.of(new TicketChange(archivedId, 3, false)));
+            stubFindBy(List.of());
+            when(ticketMapper.toDtoList(List.of())).thenReturn(List.of());
+
+            TicketChangesDTO result = ticketService.getChanges(null, null);
+
+            assertThat(result.getChanged()).isEmpty();
+            assertThat(result.getDeleted()).containsExactly(archivedId);
+        }
+
+        @Test
+        @DisplayName("Throw exception for invalid token")
+        void shouldThrowExceptionForInvalidToken() {
+            assertThatThrownBy(() -> ticketService.getChanges("not-a-token", null))
+                    .isInstanceOf(ValidationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream tickets Tests")
+    class StreamTicketsTests {
+        @Test
+        @DisplayName("Write one JSON line per ticket")
+        void shouldWriteOneJsonLinePerTicket() throws Exception {
+            when(ticketRepository.streamAll()).thenReturn(Stream.of(testTicket, testTicket));
+            when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ticketService.streamTickets(output);
+
+            String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("Test Ticket");
+        }
+
+        @Test
+        @DisplayName("Write nothing when no tickets")
+        void shouldWriteNothingWhenNoTickets() throws Exception {
+            when(ticketRepository.streamAll()).thenReturn(Stream.empty());
 
-            assertThat(result).isEmpty();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ticketService.streamTickets(output);
+
+            assertThat(output.size()).isZero();
         }
     }
 
@@ -149,6 +495,23 @@ class TicketServiceTest {
             assertThat(result.getTitle()).isEqualTo("Test Ticket");
         }
 
+        @Test
+        @DisplayName("Fall through to archive")
+        void shouldFallThroughToArchive() {
+            ArchivedTicket archived = ArchivedTicket.builder()
+                    .id(testTicket.getId())
+                    .title("Test Ticket")
+                    .status(TicketStatus.CLOSED)
+                    .build();
+            when(ticketRepository.findById(testTicket.getId())).thenReturn(Optional.empty());
+            when(archivedTicketRepository.findById(testTicket.getId())).thenReturn(Optional.of(archived));
+            when(ticketMapper.toDto(archived)).thenReturn(testTicketDTO);
+
+            TicketDTO result = ticketService.getTicketById(testTicket.getId());
+
+            assertThat(result.getTitle()).isEqualTo("Test Ticket");
+        }
+
         @Test
         @DisplayName("Throw exception when ticket not found")
         void shouldThrowExceptionWhenTicketNotFound() {
@@ -167,12 +530,14 @@ class TicketServiceTest {
         @DisplayName("Return tickets by reporter email")
         void shouldReturnTicketsByReporterEmail() {
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-            when(ticketRepository.findAllByReporter(any(User.class))).thenReturn(List.of(testTicket));
+            stubFindSummaries(List.of(testTicket));
             when(ticketMapper.toDtoList(anyList())).thenReturn(List.of(testTicketDTO));
 
-            List<TicketDTO> result = ticketService.getMyTickets("user@example.com");
+            TicketFilterDTO filter = new TicketFilterDTO();
+            CursorPageDTO<TicketDTO> result = ticketService.getMyTickets("user@example.com", filter, null, null);
 
-            assertThat(result).hasSize(1);
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(filter.getReporterId()).isEqualTo(testUser.getId());
         }
 
         @Test
@@ -180,7 +545,7 @@ class TicketServiceTest {
         void shouldThrowExceptionWhenUserNotFound() {
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> ticketService.getMyTickets("notfound@example.com"))
+            assertThatThrownBy(() -> ticketService.getMyTickets("notfound@example.com", new TicketFilterDTO(), null, null))
                     .isInstanceOf(EntityNotFoundException.class);
         }
     }
@@ -200,6 +565,45 @@ class TicketServiceTest {
 
             assertThat(result).isNotNull();
             verify(ticketRepository).save(any(Ticket.class));
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getType() == TicketEventType.CREATED && event.getTicket() == testTicketDTO));
+        }
+
+        @Test
+        @DisplayName("Return duplicate candidates and link the best one")
+        void shouldReturnDuplicateCandidatesAndLinkTheBestOne() {
+            DuplicateCandidateDTO candidate = new DuplicateCandidateDTO(UUID.randomUUID(), "Old Ticket", 0.95);
+            when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(testUser));
+            when(duplicateDetector.findCandidates("New Ticket", "New Description")).thenReturn(List.of(candidate));
+            when(duplicateDetector.autoLinkTarget(List.of(candidate))).thenReturn(Optional.of(candidate.getId()));
+            when(ticketMapper.toEntity(any(CreateTicketDTO.class))).thenReturn(testTicket);
+            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+            when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
+
+            TicketDTO result = ticketService.createTicket(createTicketDTO);
+
+            assertThat(result).isInstanceOfSatisfying(CreatedTicketDTO.class, created -> {
+                assertThat(created.getId()).isEqualTo(testTicketDTO.getId());
+                assertThat(created.getDuplicates()).containsExactly(candidate);
+            });
+            assertThat(testTicket.getDuplicateOf()).isEqualTo(candidate.getId());
+        }
+
+        @Test
+        @DisplayName("Assign picked agent before saving")
+        void shouldAssignPickedAgentBeforeSaving() {
+            AutoAssigner.Pick pick = new AutoAssigner.Pick(UUID.randomUUID(), testAssignee, 2);
+            when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(testUser));
+            when(ticketMapper.toEntity(any(CreateTicketDTO.class))).thenReturn(testTicket);
+            when(autoAssigner.pick(testTicket.getPriority(), testUser.getDepartment())).thenReturn(Optional.of(pick));
+            when(ticketRepository.save(argThat((Ticket ticket) ->
+                    ticket.getAssignee() == testAssignee && ticket.getStatus() == TicketStatus.IN_PROGRESS)))
+                    .thenReturn(testTicket);
+            when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
+
+            ticketService.createTicket(createTicketDTO);
+
+            verify(autoAssigner).bind(pick, testTicket.getId());
         }
 
         @Test
@@ -215,20 +619,91 @@ class TicketServiceTest {
     }
 
     @Nested
-    @DisplayName("Update ticket Tests")
-    class UpdateTicketTests {
+    @DisplayName("Bulk create tickets Tests")
+    class BulkCreateTicketsTests {
         @Test
-        @DisplayName("Update ticket successfully")
-        void shouldUpdateTicket() {
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        @DisplayName("Create valid tickets and report failures per item")
+        void shouldCreateValidTicketsAndReportFailuresPerItem() {
+            CreateTicketDTO unknownReporterDTO = new CreateTicketDTO("Title", "Description", TicketStatus.OPEN,
+                    TicketPriority.LOW, UUID.randomUUID());
+
+            when(userRepository.findAllById(anySet())).thenReturn(List.of(testUser));
+            when(validator.validate(any(CreateTicketDTO.class))).thenReturn(Set.of());
+            when(ticketMapper.toEntity(any(CreateTicketDTO.class)))
+                    .thenAnswer(invocation -> Ticket.builder().id(UUID.randomUUID()).build());
             when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
 
-            TicketDTO result = ticketService.updateTicket(testTicket.getId(), updateTicketDTO);
+            BulkCreateResultDTO result = ticketService.createTickets(List.of(createTicketDTO, unknownReporterDTO, createTicketDTO));
 
-            assertThat(result).isNotNull();
-            verify(ticketMapper).updateTicketFromDto(any(UpdateTicketDTO.class), any(Ticket.class));
-            verify(ticketRepository).save(any(Ticket.class));
+            assertThat(result.getCreated()).isEqualTo(2);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getResults()).extracting(BulkItemResultDTO::getStatus)
+                    .containsExactly(BulkItemStatus.CREATED, BulkItemStatus.FAILED, BulkItemStatus.CREATED);
+            assertThat(result.getResults().get(1).getError()).contains("User not found");
+            verify(userRepository, times(1)).findAllById(anySet());
+            verify(ticketRepository, times(1)).saveAll(anyList());
+            verify(entityManager).flush();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Report validation errors without inserting")
+        void shouldReportValidationErrorsWithoutInserting() {
+            ConstraintViolation<CreateTicketDTO> violation = mock(ConstraintViolation.class);
+            when(violation.getMessage()).thenReturn("Title required");
+            when(userRepository.findAllById(anySet())).thenReturn(List.of(testUser));
+            when(validator.validate(any(CreateTicketDTO.class))).thenReturn(Set.of(violation));
+
+            BulkCreateResultDTO result = ticketService.createTickets(List.of(createTicketDTO));
+
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getResults().getFirst().getError()).isEqualTo("Title required");
+            verify(ticketRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Throw exception when request exceeds maximum size")
+        void shouldThrowExceptionWhenRequestExceedsMaximumSize() {
+            List<CreateTicketDTO> createTicketDTOs = List.of(createTicketDTO, createTicketDTO, createTicketDTO, createTicketDTO);
+
+            assertThatThrownBy(() -> ticketService.createTickets(createTicketDTOs))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("at most 3");
+        }
+
+        @Test
+        @DisplayName("Throw exception for empty request")
+        void shouldThrowExceptionForEmptyRequest() {
+            assertThatThrownBy(() -> ticketService.createTickets(List.of()))
+                    .isInstanceOf(ValidationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update ticket Tests")
+    class UpdateTicketTests {
+        @Test
+        @DisplayName("Update ticket with single conditional statement")
+        void shouldUpdateTicket() {
+            updateTicketDTO.setStatus(TicketStatus.CLOSED);
+            Ticket updated = Ticket.builder().id(testTicket.getId()).version(3L).build();
+            TicketDTO updatedDTO = TicketDTO.builder().id(testTicket.getId()).version(3L).build();
+
+            when(ticketRepository.compareAndSet(eq(testTicket.getId()), eq(2L), anyMap()))
+                    .thenReturn(Optional.of(new TicketRepositoryCustom.Updated(testTicket, updated)));
+            when(ticketMapper.toDto(testTicket)).thenReturn(testTicketDTO);
+            when(ticketMapper.toDto(updated)).thenReturn(updatedDTO);
+
+            TicketDTO result = ticketService.updateTicket(testTicket.getId(), updateTicketDTO, 2L);
+
+            assertThat(result).isSameAs(updatedDTO);
+            verify(ticketRepository).compareAndSet(eq(testTicket.getId()), eq(2L), argThat(changes ->
+                    changes.get("status") == TicketStatus.CLOSED && !changes.containsKey("priority")));
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getTicket() == updatedDTO && event.getPrevious() == testTicketDTO));
+            // Neither read before nor after the update
+            verify(ticketRepository, never()).findById(any());
+            verify(ticketRepository, never()).save(any(Ticket.class));
         }
 
         @Test
@@ -236,96 +711,349 @@ class TicketServiceTest {
         void shouldUpdateReporterWhenReporterIdProvided() {
             updateTicketDTO.setReporterId(testUser.getId());
 
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+            when(ticketRepository.compareAndSet(any(UUID.class), isNull(), anyMap()))
+                    .thenReturn(Optional.of(new TicketRepositoryCustom.Updated(testTicket, testTicket)));
             when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
 
-            ticketService.updateTicket(testTicket.getId(), updateTicketDTO);
+            ticketService.updateTicket(testTicket.getId(), updateTicketDTO, null);
+
+            verify(ticketRepository).compareAndSet(any(UUID.class), isNull(), argThat(changes -> changes.get("reporter") == testUser));
+        }
+
+        @Test
+        @DisplayName("Throw exception when reporter not found")
+        void shouldThrowExceptionWhenReporterNotFound() {
+            updateTicketDTO.setReporterId(UUID.randomUUID());
+
+            when(userRepository.findById(updateTicketDTO.getReporterId())).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> ticketService.updateTicket(testTicket.getId(), updateTicketDTO, null))
+                    .isInstanceOf(EntityNotFoundException.class)
+                    .hasMessageContaining("User not found");
+            verify(ticketRepository, never()).compareAndSet(any(), any(), anyMap());
+        }
+
+        @Test
+        @DisplayName("Let other constraint violations propagate")
+        void shouldLetOtherConstraintViolationsPropagate() {
+            updateTicketDTO.setTitle("Title");
+
+            when(ticketRepository.compareAndSet(any(UUID.class), isNull(), anyMap()))
+                    .thenThrow(new DataIntegrityViolationException("chk_title"));
 
-            verify(userRepository).findById(testUser.getId());
+            assertThatThrownBy(() -> ticketService.updateTicket(testTicket.getId(), updateTicketDTO, null))
+                    .isInstanceOf(DataIntegrityViolationException.class);
         }
 
         @Test
         @DisplayName("Throw exception when ticket not found")
         void shouldThrowExceptionWhenTicketNotFound() {
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+            when(ticketRepository.compareAndSet(any(UUID.class), isNull(), anyMap())).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> ticketService.updateTicket(UUID.randomUUID(), updateTicketDTO, null))
+                    .isInstanceOf(EntityNotFoundException.class);
+            verify(ticketRepository, never()).existsById(any());
+        }
 
-            assertThatThrownBy(() -> ticketService.updateTicket(UUID.randomUUID(), updateTicketDTO))
+        @Test
+        @DisplayName("Throw conflict when version doesn't match")
+        void shouldThrowConflictWhenVersionDoesNotMatch() {
+            when(ticketRepository.compareAndSet(eq(testTicket.getId()), eq(1L), anyMap())).thenReturn(Optional.empty());
+            when(ticketRepository.existsById(testTicket.getId())).thenReturn(true);
+
+            assertThatThrownBy(() -> ticketService.updateTicket(testTicket.getId(), updateTicketDTO, 1L))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+            verify(ticketRepository, never()).findById(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Throw exception when ticket with expected version not found")
+        void shouldThrowExceptionWhenTicketWithExpectedVersionNotFound() {
+            when(ticketRepository.compareAndSet(eq(testTicket.getId()), eq(1L), anyMap())).thenReturn(Optional.empty());
+            when(ticketRepository.existsById(testTicket.getId())).thenReturn(false);
+
+            assertThatThrownBy(() -> ticketService.updateTicket(testTicket.getId(), updateTicketDTO, 1L))
                     .isInstanceOf(EntityNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("Check version without writing when nothing changes")
+        void shouldCheckVersionWithoutWritingWhenNothingChanges() {
+            testTicket.setVersion(4L);
+
+            when(ticketRepository.findById(testTicket.getId())).thenReturn(Optional.of(testTicket));
+
+            assertThatThrownBy(() -> ticketService.updateTicket(testTicket.getId(), new UpdateTicketDTO(), 3L))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+            verify(ticketRepository, never()).compareAndSet(any(), any(), anyMap());
+        }
     }
 
     @Nested
     @DisplayName("Assign ticket Tests")
     class AssignTicketTests {
         @Test
-        @DisplayName("Assign ticket to user")
+        @DisplayName("Assign ticket with single conditional statement")
         void shouldAssignTicketToUser() {
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
-            when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(testAssignee));
-            when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.compareAndAssign(testTicket.getId(), null, testAssignee))
+                    .thenReturn(Optional.of(new TicketRepositoryCustom.Updated(testTicket, testTicket)));
             when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
 
-            TicketDTO result = ticketService.assignTicket(testTicket.getId(), testAssignee.getId());
+            TicketDTO result = ticketService.assignTicket(testTicket.getId(), testAssignee.getId(), null);
 
             assertThat(result).isNotNull();
-            verify(ticketRepository).save(any(Ticket.class));
+            verify(ticketRepository, never()).save(any(Ticket.class));
+            verify(ticketRepository, never()).findById(any());
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) -> event.getType() == TicketEventType.ASSIGNED));
+        }
+
+        @Test
+        @DisplayName("Throw exception when ticket not found")
+        void shouldThrowExceptionWhenTicketNotFound() {
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.compareAndAssign(any(UUID.class), isNull(), any())).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> ticketService.assignTicket(UUID.randomUUID(), testAssignee.getId(), null))
+                    .isInstanceOf(EntityNotFoundException.class);
         }
 
         @Test
-        @DisplayName("Change status to IN_PROGRESS when assigning OPEN ticket")
-        void shouldChangeStatusToInProgressWhenAssigningOpenTicket() {
-            testTicket.setStatus(TicketStatus.OPEN);
+        @DisplayName("Throw exception when assignee not found")
+        void shouldThrowExceptionWhenAssigneeNotFound() {
+            UUID assigneeId = UUID.randomUUID();
 
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
-            when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(testAssignee));
-            when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
-                Ticket saved = invocation.getArgument(0);
-                assertThat(saved.getStatus()).isEqualTo(TicketStatus.IN_PROGRESS);
-                return saved;
-            });
-            when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
+            when(userRepository.findById(assigneeId)).thenReturn(Optional.empty());
 
-            ticketService.assignTicket(testTicket.getId(), testAssignee.getId());
+            assertThatThrownBy(() -> ticketService.assignTicket(testTicket.getId(), assigneeId, null))
+                    .isInstanceOf(EntityNotFoundException.class)
+                    .hasMessageContaining("User not found with id: " + assigneeId);
+            verify(ticketRepository, never()).compareAndAssign(any(), any(), any());
+        }
 
-            verify(ticketRepository).save(any(Ticket.class));
+        @Test
+        @DisplayName("Throw conflict when version doesn't match")
+        void shouldThrowConflictWhenVersionDoesNotMatch() {
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.compareAndAssign(any(UUID.class), eq(5L), any())).thenReturn(Optional.empty());
+            when(ticketRepository.existsById(testTicket.getId())).thenReturn(true);
+
+            assertThatThrownBy(() -> ticketService.assignTicket(testTicket.getId(), testAssignee.getId(), 5L))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Claim next ticket Tests")
+    class ClaimNextTicketTests {
+        @Test
+        @DisplayName("Assign next claimable ticket to caller")
+        void shouldAssignNextClaimableTicketToCaller() {
+            Ticket claimed = Ticket.builder().id(testTicket.getId()).status(TicketStatus.IN_PROGRESS).assignee(testAssignee).build();
+            TicketDTO claimedDTO = TicketDTO.builder().id(testTicket.getId()).status(TicketStatus.IN_PROGRESS).build();
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.lockNextClaimable()).thenReturn(Optional.of(testTicket.getId()));
+            when(ticketRepository.claim(testTicket.getId(), testAssignee))
+                    .thenReturn(Optional.of(new TicketRepositoryCustom.Updated(testTicket, claimed)));
+            when(ticketMapper.toDto(testTicket)).thenReturn(testTicketDTO);
+            when(ticketMapper.toDto(claimed)).thenReturn(claimedDTO);
+
+            Optional<TicketDTO> result = ticketService.claimNextTicket(testAssignee.getId());
+
+            assertThat(result).contains(claimedDTO);
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getType() == TicketEventType.ASSIGNED && event.getPrevious() == testTicketDTO));
         }
 
         @Test
-        @DisplayName("Not change status when ticket is not OPEN")
-        void shouldNotChangeStatusWhenTicketIsNotOpen() {
-            testTicket.setStatus(TicketStatus.CLOSED);
+        @DisplayName("Skip ticket claimed while waiting for its lock")
+        void shouldSkipTicketClaimedWhileWaitingForItsLock() {
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.lockNextClaimable())
+                    .thenReturn(Optional.of(testTicket.getId()))
+                    .thenReturn(Optional.empty());
+            when(ticketRepository.claim(testTicket.getId(), testAssignee)).thenReturn(Optional.empty());
+
+            assertThat(ticketService.claimNextTicket(testAssignee.getId())).isEmpty();
+            verify(ticketRepository).claim(testTicket.getId(), testAssignee);
+            verifyNoInteractions(eventPublisher);
+        }
 
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
-            when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(testAssignee));
-            when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
-                Ticket saved = invocation.getArgument(0);
-                assertThat(saved.getStatus()).isEqualTo(TicketStatus.CLOSED);
-                return saved;
-            });
-            when(ticketMapper.toDto(any(Ticket.class))).thenReturn(testTicketDTO);
+        @Test
+        @DisplayName("Return empty when queue is empty")
+        void shouldReturnEmptyWhenQueueIsEmpty() {
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            when(ticketRepository.lockNextClaimable()).thenReturn(Optional.empty());
 
-            ticketService.assignTicket(testTicket.getId(), testAssignee.getId());
+            assertThat(ticketService.claimNextTicket(testAssignee.getId())).isEmpty();
+            verifyNoInteractions(eventPublisher);
         }
+    }
 
+    @Nested
+    @DisplayName("Bulk update tickets Tests")
+    class BulkUpdateTicketsTests {
         @Test
-        @DisplayName("Throw exception when ticket not found")
-        void shouldThrowExceptionWhenTicketNotFound() {
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        @DisplayName("Update status of selected tickets and publish their changes")
+        void shouldUpdateStatusOfSelectedTickets() {
+            Ticket closed = changed(TicketStatus.CLOSED, null);
+            TicketDTO closedDTO = TicketDTO.builder().id(testTicket.getId()).status(TicketStatus.CLOSED).version(2L).build();
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(List.of(testTicket.getId()), null, TicketStatus.CLOSED);
+            stubSelection(List.of(testTicket.getId()));
+            when(ticketRepository.findAllByIdIn(any())).thenReturn(List.of(testTicket), List.of(closed));
+            when(ticketMapper.toDto(testTicket)).thenReturn(testTicketDTO);
+            when(ticketMapper.toDto(closed)).thenReturn(closedDTO);
+            when(ticketRepository.updateStatus(any(), eq(TicketStatus.CLOSED))).thenReturn(1);
+
+            BulkUpdateResultDTO result = ticketService.updateTicketStatuses(bulkStatusUpdateDTO);
+
+            assertThat(result.getAffected()).isEqualTo(1);
+            verify(ticketRepository).lockAllById(List.of(testTicket.getId()));
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getType() == TicketEventType.UPDATED
+                            && event.getTicket() == closedDTO
+                            && event.getPrevious() == testTicketDTO));
+        }
 
-            assertThatThrownBy(() -> ticketService.assignTicket(UUID.randomUUID(), testAssignee.getId()))
-                    .isInstanceOf(EntityNotFoundException.class);
+        @Test
+        @DisplayName("Skip events for tickets the update didn't change")
+        void shouldSkipEventsForUnchangedTickets() {
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setStatus(List.of(TicketStatus.IN_PROGRESS));
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(null, filter, TicketStatus.CLOSED);
+            stubSelection(List.of(testTicket.getId()));
+            when(ticketRepository.findAllByIdIn(any())).thenReturn(List.of(testTicket));
+            when(ticketMapper.toDto(testTicket)).thenReturn(testTicketDTO);
+            when(ticketRepository.updateStatus(any(), eq(TicketStatus.CLOSED))).thenReturn(0);
+
+            BulkUpdateResultDTO result = ticketService.updateTicketStatuses(bulkStatusUpdateDTO);
+
+            assertThat(result.getAffected()).isZero();
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Skip update when nothing matches")
+        void shouldSkipUpdateWhenNothingMatches() {
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setStatus(List.of(TicketStatus.IN_PROGRESS));
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(null, filter, TicketStatus.CLOSED);
+            when(ticketRepository.findIds(any(), eq(4))).thenReturn(List.of());
+
+            BulkUpdateResultDTO result = ticketService.updateTicketStatuses(bulkStatusUpdateDTO);
+
+            assertThat(result.getAffected()).isZero();
+            verify(ticketRepository, never()).lockAllById(any());
+            verify(ticketRepository, never()).updateStatus(any(), any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Assign selected tickets and publish their changes")
+        void shouldAssignSelectedTickets() {
+            Ticket assigned = changed(TicketStatus.IN_PROGRESS, testAssignee);
+            TicketDTO assignedDTO = TicketDTO.builder().id(testTicket.getId()).status(TicketStatus.IN_PROGRESS).version(2L).build();
+            BulkAssignDTO bulkAssignDTO = new BulkAssignDTO(List.of(testTicket.getId()), null, testAssignee.getId());
+            when(userRepository.findById(testAssignee.getId())).thenReturn(Optional.of(testAssignee));
+            stubSelection(List.of(testTicket.getId()));
+            when(ticketRepository.findAllByIdIn(any())).thenReturn(List.of(testTicket), List.of(assigned));
+            when(ticketMapper.toDto(testTicket)).thenReturn(testTicketDTO);
+            when(ticketMapper.toDto(assigned)).thenReturn(assignedDTO);
+            when(ticketRepository.assign(any(), eq(testAssignee))).thenReturn(1);
+
+            BulkUpdateResultDTO result = ticketService.assignTickets(bulkAssignDTO);
+
+            assertThat(result.getAffected()).isEqualTo(1);
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getType() == TicketEventType.ASSIGNED
+                            && event.getTicket() == assignedDTO
+                            && event.getPrevious() == testTicketDTO));
         }
 
         @Test
         @DisplayName("Throw exception when assignee not found")
         void shouldThrowExceptionWhenAssigneeNotFound() {
-            when(ticketRepository.findById(any(UUID.class))).thenReturn(Optional.of(testTicket));
+            BulkAssignDTO bulkAssignDTO = new BulkAssignDTO(List.of(testTicket.getId()), null, UUID.randomUUID());
             when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> ticketService.assignTicket(testTicket.getId(), UUID.randomUUID()))
+            assertThatThrownBy(() -> ticketService.assignTickets(bulkAssignDTO))
                     .isInstanceOf(EntityNotFoundException.class);
+            verify(ticketRepository, never()).assign(any(), any());
+        }
+
+        @Test
+        @DisplayName("Throw exception when neither ids nor filter given")
+        void shouldThrowExceptionWhenNeitherIdsNorFilterGiven() {
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(null, null, TicketStatus.CLOSED);
+
+            assertThatThrownBy(() -> ticketService.updateTicketStatuses(bulkStatusUpdateDTO))
+                    .isInstanceOf(ValidationException.class);
+        }
+
+        @Test
+        @DisplayName("Throw exception when both ids and filter given")
+        void shouldThrowExceptionWhenBothIdsAndFilterGiven() {
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(List.of(testTicket.getId()), new TicketFilterDTO(), TicketStatus.CLOSED);
+
+            assertThatThrownBy(() -> ticketService.updateTicketStatuses(bulkStatusUpdateDTO))
+                    .isInstanceOf(ValidationException.class);
+        }
+
+        @Test
+        @DisplayName("Throw exception when filter has no criteria")
+        void shouldThrowExceptionWhenFilterHasNoCriteria() {
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(null, new TicketFilterDTO(), TicketStatus.CLOSED);
+
+            assertThatThrownBy(() -> ticketService.updateTicketStatuses(bulkStatusUpdateDTO))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("criterion");
+            verifyNoInteractions(ticketRepository);
+        }
+
+        @Test
+        @DisplayName("Throw exception when filter matches too many tickets")
+        void shouldThrowExceptionWhenFilterMatchesTooManyTickets() {
+            TicketFilterDTO filter = new TicketFilterDTO();
+            filter.setPriority(List.of(TicketPriority.LOW));
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(null, filter, TicketStatus.CLOSED);
+            when(ticketRepository.findIds(any(), eq(4)))
+                    .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+            assertThatThrownBy(() -> ticketService.updateTicketStatuses(bulkStatusUpdateDTO))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("at most 3");
+            verify(ticketRepository, never()).updateStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("Throw exception when too many ids given")
+        void shouldThrowExceptionWhenTooManyIdsGiven() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            BulkStatusUpdateDTO bulkStatusUpdateDTO = new BulkStatusUpdateDTO(ids, null, TicketStatus.CLOSED);
+
+            assertThatThrownBy(() -> ticketService.updateTicketStatuses(bulkStatusUpdateDTO))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("at most 3");
+        }
+
+        private void stubSelection(List<UUID> ids) {
+            testTicket.setVersion(1L);
+            testTicketDTO.setVersion(1L);
+            when(ticketRepository.findIds(any(), eq(4))).thenReturn(ids);
+        }
+
+        private Ticket changed(TicketStatus status, User assignee) {
+            return Ticket.builder()
+                    .id(testTicket.getId())
+                    .title(testTicket.getTitle())
+                    .status(status)
+                    .priority(testTicket.getPriority())
+                    .reporter(testUser)
+                    .assignee(assignee)
+                    .version(2L)
+                    .build();
         }
     }
 
@@ -342,6 +1070,8 @@ class TicketServiceTest {
                     .doesNotThrowAnyException();
 
             verify(ticketRepository).deleteById(testTicket.getId());
+            verify(eventPublisher).publishEvent(argThat((TicketEvent event) ->
+                    event.getType() == TicketEventType.DELETED && event.getTicketId().equals(testTicket.getId())));
         }
 
         @Test
@@ -353,6 +1083,20 @@ class TicketServiceTest {
                     .isInstanceOf(EntityNotFoundException.class);
 
             verify(ticketRepository, never()).deleteById(any(UUID.class));
+            verifyNoInteractions(eventPublisher);
         }
     }
-}
\ No newline at end of file
+
+    private void stubFindSummaries(List<Ticket> tickets) {
+        when(ticketRepository.findSummaries(any(), any(), anyInt())).thenReturn(tickets);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FetchableFluentQuery<Ticket> stubFindBy(List<Ticket> tickets) {
+        FetchableFluentQuery<Ticket> query = mock(FetchableFluentQuery.class, RETURNS_SELF);
+        when(query.all()).thenReturn(tickets);
+        when(ticketRepository.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                invocation.<Function<FetchableFluentQuery<Ticket>, List<Ticket>>>getArgument(1).apply(query));
+        return query;
+    }
+}
@@ -2,6 +2,9 @@ package com.gnomeshift.tisk.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gnomeshift.tisk.auth.JwtService;
+import com.gnomeshift.tisk.etag.ETagService;
+import com.gnomeshift.tisk.idempotency.IdempotencyService;
+import com.gnomeshift.tisk.ratelimit.RateLimiter;
 import com.gnomeshift.tisk.security.SecurityConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -41,12 +45,21 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @MockitoBean
     private JwtService jwtService;
 
     @MockitoBean
     private AuthenticationProvider authenticationProvider;
 
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
     private UserDTO testUserDTO;
     private UUID testUserId;
 
@@ -66,6 +79,8 @@ class UserControllerTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+
+        when(eTagService.forUsers(any())).thenReturn("users-etag");
     }
 
     @Nested
@@ -92,6 +107,17 @@ class UserControllerTest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Return not modified when ETag matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            mockMvc.perform(get("/api/users")
+                            .header("If-None-Match", "\"users-etag\""))
+                    .andExpect(status().isNotModified());
+
+            verify(userService, never()).getAllUsers();
+        }
+
         @Test
         @WithMockUser(roles = "USER")
         @DisplayName("Return forbidden for regular user")
@@ -150,6 +176,8 @@ class UserControllerTest {
             createUserDTO.setRole(UserRole.USER);
 
             when(userService.createUser(any(CreateUserDTO.class))).thenReturn(testUserDTO);
+            when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                    .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
 
             mockMvc.perform(post("/api/users")
                             .with(csrf())
@@ -1,6 +1,11 @@
 package com.gnomeshift.tisk.user;
 
+import com.gnomeshift.tisk.etag.ChangeCounters;
+import com.gnomeshift.tisk.fields.FieldSelection;
+import com.gnomeshift.tisk.ticket.TicketChangeLog;
+import com.gnomeshift.tisk.ticket.TicketRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +20,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +42,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ChangeCounters changeCounters;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketChangeLog ticketChangeLog;
+
     @InjectMocks
     private UserService userService;
 
@@ -112,6 +127,31 @@ class UserServiceTest {
 
             assertThat(result).isEmpty();
         }
+
+        @Test
+        @DisplayName("Return only requested fields")
+        void shouldReturnOnlyRequestedFields() {
+            Tuple row = mock(Tuple.class);
+            when(row.get("email")).thenReturn("test@example.com");
+            when(row.get("role")).thenReturn(UserRole.USER);
+            when(userRepository.findFields(any(FieldSelection.class))).thenReturn(List.of(row));
+
+            List<Map<String, Object>> result = userService.getAllUsers("role, email");
+
+            // Canonical order, not request order
+            assertThat(result).containsExactly(Map.of("email", "test@example.com", "role", UserRole.USER));
+            assertThat(result.getFirst().keySet()).containsExactly("email", "role");
+        }
+
+        @Test
+        @DisplayName("Throw exception for unknown field")
+        void shouldThrowExceptionForUnknownField() {
+            assertThatThrownBy(() -> userService.getAllUsers("email,password"))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("password");
+
+            verifyNoInteractions(userRepository);
+        }
     }
 
     @Nested
@@ -267,6 +307,19 @@ class UserServiceTest {
             verify(userRepository).deleteById(testUser.getId());
         }
 
+        @Test
+        @DisplayName("Record tickets losing their reporter or assignee as changed")
+        void shouldRecordTicketsLosingTheirUserAsChanged() {
+            List<UUID> ticketIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+            when(userRepository.existsById(testUser.getId())).thenReturn(true);
+            when(ticketRepository.evictReferencing(testUser.getId())).thenReturn(ticketIds);
+
+            userService.deleteUser(testUser.getId());
+
+            verify(ticketChangeLog).recordChanged(ticketIds);
+            verify(userRepository).deleteById(testUser.getId());
+        }
+
         @Test
         @DisplayName("Throw exception when user not found")
         void shouldThrowExceptionWhenUserNotFound() {
@@ -276,6 +329,7 @@ class UserServiceTest {
                     .isInstanceOf(EntityNotFoundException.class);
 
             verify(userRepository, never()).deleteById(any(UUID.class));
+            verifyNoInteractions(ticketRepository, ticketChangeLog);
         }
     }
 